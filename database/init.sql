@@ -49,7 +49,7 @@ CREATE TABLE IF NOT EXISTS db.tickets (
   title       VARCHAR(999)    NOT NULL DEFAULT 'New Ticket',
   description VARCHAR(999)    NOT NULL DEFAULT 'Description of the ticket',
   status      db.status       NOT NULL DEFAULT 'OPEN',
-  due_date    DATE            NOT NULL CHECK (due_date >= CURRENT_DATE), -- Check if the introduced date is in the future
+  due_date    DATE            NOT NULL, -- Has to be in the future, see check_ticket_due_date
   location    VARCHAR(999)     NOT NULL,
   media_type  db.media_type   NOT NULL DEFAULT 'PHOTO', -- Default value if not specified
   media_id    INTEGER         REFERENCES db.media(media_id)
@@ -79,6 +79,198 @@ CREATE TABLE IF NOT EXISTS db.video_photo (
 );
 
 
+-- Track when a ticket was finished, used to move old finished tickets to the archive
+ALTER TABLE db.tickets
+ADD COLUMN IF NOT EXISTS finished_at TIMESTAMP;
+
+UPDATE db.tickets SET finished_at = now() WHERE status = 'FINISHED' AND finished_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_tickets_finished_at
+ON db.tickets (finished_at) WHERE status = 'FINISHED';
+
+-- Archive for finished tickets past the retention window, filled by the ticket service
+CREATE TABLE IF NOT EXISTS db.tickets_archive (
+  ticket_id   INTEGER         PRIMARY KEY,
+  assigned_to INTEGER         REFERENCES db.users(user_id)
+                   ON DELETE RESTRICT,
+  created_by  INTEGER         NOT NULL
+                   REFERENCES db.users(user_id)
+                   ON DELETE RESTRICT,
+  title       VARCHAR(999)    NOT NULL,
+  description VARCHAR(999)    NOT NULL,
+  status      VARCHAR         NOT NULL,
+  due_date    DATE            NOT NULL,
+  location    VARCHAR(999)    NOT NULL,
+  media_type  VARCHAR         NOT NULL,
+  media_id    INTEGER         REFERENCES db.media(media_id)
+                   ON DELETE RESTRICT,
+  finished_at TIMESTAMP,
+  archived_at TIMESTAMP       NOT NULL DEFAULT now()
+);
+
+
+-- Index for due date lookups, range filters and the calendar view
+CREATE INDEX IF NOT EXISTS idx_tickets_due_date
+ON db.tickets (due_date);
+
+
+-- Indexes for the ticket list filters, which match on one or several values per column
+CREATE INDEX IF NOT EXISTS idx_tickets_assigned_to_status
+ON db.tickets (assigned_to, status);
+
+CREATE INDEX IF NOT EXISTS idx_tickets_created_by
+ON db.tickets (created_by);
+
+CREATE INDEX IF NOT EXISTS idx_tickets_location
+ON db.tickets (location);
+
+
+-- Durable queue for asynchronous ticket creation (POST /tickets?async=true), drained by the ticket service
+CREATE TABLE IF NOT EXISTS db.ticket_ingest_queue (
+  job_id       BIGSERIAL       PRIMARY KEY,
+  payload      TEXT            NOT NULL,
+  status       VARCHAR(16)     NOT NULL DEFAULT 'PENDING',
+  ticket_id    INTEGER,
+  error        VARCHAR(999),
+  attempts     INTEGER         NOT NULL DEFAULT 0,
+  created_at   TIMESTAMP       NOT NULL DEFAULT now(),
+  claimed_at   TIMESTAMP,
+  processed_at TIMESTAMP
+);
+
+-- Workers only ever look at jobs that still need processing
+CREATE INDEX IF NOT EXISTS idx_ticket_ingest_queue_pending
+  ON db.ticket_ingest_queue (job_id)
+  WHERE status IN ('PENDING', 'PROCESSING');
+
+
+-- Near-duplicate link, set by the ticket service when a new ticket matches an open one
+ALTER TABLE db.tickets
+ADD COLUMN IF NOT EXISTS duplicate_of INTEGER REFERENCES db.tickets(ticket_id) ON DELETE SET NULL;
+
+ALTER TABLE db.tickets_archive
+ADD COLUMN IF NOT EXISTS duplicate_of INTEGER;
+
+CREATE INDEX IF NOT EXISTS idx_tickets_duplicate_of
+ON db.tickets (duplicate_of) WHERE duplicate_of IS NOT NULL;
+
+-- Due dates have to lie in the future when a ticket is created or its due date is changed.
+-- A CHECK constraint would also reject every other update of an overdue ticket, e.g. clearing
+-- duplicate_of when the archive deletes the original.
+ALTER TABLE db.tickets DROP CONSTRAINT IF EXISTS tickets_due_date_check;
+
+CREATE OR REPLACE FUNCTION db.check_ticket_due_date() RETURNS trigger AS $$
+BEGIN
+  IF TG_OP = 'UPDATE' THEN
+    IF NEW.due_date IS NOT DISTINCT FROM OLD.due_date THEN
+      RETURN NEW;
+    END IF;
+  END IF;
+  IF NEW.due_date < CURRENT_DATE THEN
+    RAISE EXCEPTION 'Due date % is in the past', NEW.due_date USING ERRCODE = 'check_violation';
+  END IF;
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS tickets_due_date ON db.tickets;
+CREATE TRIGGER tickets_due_date
+BEFORE INSERT OR UPDATE OF due_date ON db.tickets
+FOR EACH ROW EXECUTE FUNCTION db.check_ticket_due_date();
+
+
+-- Claimable tickets for POST /tickets/claim, in the order workers get them
+CREATE INDEX IF NOT EXISTS idx_tickets_claimable
+ON db.tickets (due_date, ticket_id)
+WHERE status = 'OPEN' AND assigned_to IS NULL AND duplicate_of IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_tickets_claimable_location
+ON db.tickets (location, due_date, ticket_id)
+WHERE status = 'OPEN' AND assigned_to IS NULL AND duplicate_of IS NULL;
+
+
+-- Creation time of a ticket, the start of its time to resolution. Unknown for tickets created before this column.
+ALTER TABLE db.tickets
+ADD COLUMN IF NOT EXISTS created_at TIMESTAMP;
+
+ALTER TABLE db.tickets
+ALTER COLUMN created_at SET DEFAULT now();
+
+ALTER TABLE db.tickets_archive
+ADD COLUMN IF NOT EXISTS created_at TIMESTAMP;
+
+-- Time-to-resolution histograms per location, assignee and media type, merged by every ticket service replica
+CREATE TABLE IF NOT EXISTS db.ticket_resolution_histograms (
+  dimension  VARCHAR(32)     NOT NULL,
+  value      VARCHAR(999)    NOT NULL,
+  histogram  BYTEA           NOT NULL,
+  updated_at TIMESTAMP       NOT NULL DEFAULT now(),
+  PRIMARY KEY (dimension, value)
+);
+
+
+-- Delta sync for GET /tickets/changes. change_version is the id of the last transaction that wrote the row,
+-- which only grows; clients pass back the oldest transaction still running at their last sync.
+ALTER TABLE db.tickets
+ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_tickets_change_version
+ON db.tickets (change_version);
+
+CREATE INDEX IF NOT EXISTS idx_tickets_assigned_to_change_version
+ON db.tickets (assigned_to, change_version);
+
+-- Tickets that were deleted (e.g. archived) or taken away from their assignee
+CREATE TABLE IF NOT EXISTS db.ticket_tombstones (
+  ticket_id      INTEGER         NOT NULL,
+  assigned_to    INTEGER,
+  deleted        BOOLEAN         NOT NULL,
+  change_version BIGINT          NOT NULL,
+  created_at     TIMESTAMP       NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_ticket_tombstones_change_version
+ON db.ticket_tombstones (change_version);
+
+-- Highest change_version of the tombstones removed so far; older sync versions need a full sync
+CREATE TABLE IF NOT EXISTS db.ticket_sync_horizon (
+  id      INTEGER         PRIMARY KEY CHECK (id = 1),
+  version BIGINT          NOT NULL
+);
+
+INSERT INTO db.ticket_sync_horizon (id, version) VALUES (1, 0) ON CONFLICT DO NOTHING;
+
+CREATE OR REPLACE FUNCTION db.set_ticket_change_version() RETURNS trigger AS $$
+BEGIN
+  NEW.change_version := pg_current_xact_id()::text::bigint;
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION db.record_ticket_tombstone() RETURNS trigger AS $$
+BEGIN
+  IF TG_OP = 'DELETE' THEN
+    INSERT INTO db.ticket_tombstones (ticket_id, assigned_to, deleted, change_version)
+    VALUES (OLD.ticket_id, OLD.assigned_to, true, pg_current_xact_id()::text::bigint);
+  ELSIF OLD.assigned_to IS NOT NULL AND OLD.assigned_to IS DISTINCT FROM NEW.assigned_to THEN
+    INSERT INTO db.ticket_tombstones (ticket_id, assigned_to, deleted, change_version)
+    VALUES (OLD.ticket_id, OLD.assigned_to, false, NEW.change_version);
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS tickets_change_version ON db.tickets;
+CREATE TRIGGER tickets_change_version
+BEFORE INSERT OR UPDATE ON db.tickets
+FOR EACH ROW EXECUTE FUNCTION db.set_ticket_change_version();
+
+DROP TRIGGER IF EXISTS tickets_tombstone ON db.tickets;
+CREATE TRIGGER tickets_tombstone
+AFTER UPDATE OF assigned_to OR DELETE ON db.tickets
+FOR EACH ROW EXECUTE FUNCTION db.record_ticket_tombstone();
+
+
 -- 1. Insert users without ticket references
 INSERT INTO db.users (name, role, password_hash)
 VALUES
@@ -0,0 +1,158 @@
+-- Schema for an additional ticket shard (tickets.sharding.shard-urls in the ticket service).
+-- Users, media and the ingest queue stay on the primary database, so their ids are not
+-- foreign keys here; the ticket service checks them before writing.
+
+SET search_path TO db;
+
+CREATE SCHEMA IF NOT EXISTS db AUTHORIZATION spoved;
+
+GRANT ALL PRIVILEGES ON SCHEMA db TO spoved;
+ALTER DEFAULT PRIVILEGES IN SCHEMA db GRANT ALL ON TABLES TO spoved;
+ALTER DEFAULT PRIVILEGES IN SCHEMA db GRANT ALL ON SEQUENCES TO spoved;
+
+
+-- Ticket ids are drawn with a step of the shard count, the ticket service sets the sequence up on startup
+CREATE TABLE IF NOT EXISTS db.tickets (
+  ticket_id    SERIAL          PRIMARY KEY,
+  assigned_to  INTEGER,
+  created_by   INTEGER         NOT NULL,
+  title        VARCHAR(999)    NOT NULL DEFAULT 'New Ticket',
+  description  VARCHAR(999)    NOT NULL DEFAULT 'Description of the ticket',
+  status       VARCHAR         NOT NULL DEFAULT 'OPEN',
+  due_date     DATE            NOT NULL,
+  location     VARCHAR(999)    NOT NULL,
+  media_type   VARCHAR         NOT NULL DEFAULT 'PHOTO',
+  media_id     INTEGER,
+  finished_at  TIMESTAMP,
+  duplicate_of INTEGER         REFERENCES db.tickets(ticket_id) ON DELETE SET NULL,
+  created_at   TIMESTAMP       DEFAULT now(),
+  change_version BIGINT        NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS db.tickets_archive (
+  ticket_id    INTEGER         PRIMARY KEY,
+  assigned_to  INTEGER,
+  created_by   INTEGER         NOT NULL,
+  title        VARCHAR(999)    NOT NULL,
+  description  VARCHAR(999)    NOT NULL,
+  status       VARCHAR         NOT NULL,
+  due_date     DATE            NOT NULL,
+  location     VARCHAR(999)    NOT NULL,
+  media_type   VARCHAR         NOT NULL,
+  media_id     INTEGER,
+  finished_at  TIMESTAMP,
+  archived_at  TIMESTAMP       NOT NULL DEFAULT now(),
+  duplicate_of INTEGER,
+  created_at   TIMESTAMP
+);
+
+
+-- Same indexes as on the primary database, see init.sql
+CREATE INDEX IF NOT EXISTS idx_tickets_finished_at
+ON db.tickets (finished_at) WHERE status = 'FINISHED';
+
+CREATE INDEX IF NOT EXISTS idx_tickets_due_date
+ON db.tickets (due_date);
+
+CREATE INDEX IF NOT EXISTS idx_tickets_assigned_to_status
+ON db.tickets (assigned_to, status);
+
+CREATE INDEX IF NOT EXISTS idx_tickets_created_by
+ON db.tickets (created_by);
+
+CREATE INDEX IF NOT EXISTS idx_tickets_location
+ON db.tickets (location);
+
+CREATE INDEX IF NOT EXISTS idx_tickets_duplicate_of
+ON db.tickets (duplicate_of) WHERE duplicate_of IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_tickets_claimable
+ON db.tickets (due_date, ticket_id)
+WHERE status = 'OPEN' AND assigned_to IS NULL AND duplicate_of IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_tickets_claimable_location
+ON db.tickets (location, due_date, ticket_id)
+WHERE status = 'OPEN' AND assigned_to IS NULL AND duplicate_of IS NULL;
+
+
+-- Delta sync for GET /tickets/changes, see init.sql. Versions are transaction ids of this database.
+CREATE INDEX IF NOT EXISTS idx_tickets_change_version
+ON db.tickets (change_version);
+
+CREATE INDEX IF NOT EXISTS idx_tickets_assigned_to_change_version
+ON db.tickets (assigned_to, change_version);
+
+-- Tickets that were deleted (e.g. archived) or taken away from their assignee
+CREATE TABLE IF NOT EXISTS db.ticket_tombstones (
+  ticket_id      INTEGER         NOT NULL,
+  assigned_to    INTEGER,
+  deleted        BOOLEAN         NOT NULL,
+  change_version BIGINT          NOT NULL,
+  created_at     TIMESTAMP       NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_ticket_tombstones_change_version
+ON db.ticket_tombstones (change_version);
+
+-- Highest change_version of the tombstones removed so far; older sync versions need a full sync
+CREATE TABLE IF NOT EXISTS db.ticket_sync_horizon (
+  id      INTEGER         PRIMARY KEY CHECK (id = 1),
+  version BIGINT          NOT NULL
+);
+
+INSERT INTO db.ticket_sync_horizon (id, version) VALUES (1, 0) ON CONFLICT DO NOTHING;
+
+CREATE OR REPLACE FUNCTION db.set_ticket_change_version() RETURNS trigger AS $$
+BEGIN
+  NEW.change_version := pg_current_xact_id()::text::bigint;
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION db.record_ticket_tombstone() RETURNS trigger AS $$
+BEGIN
+  IF TG_OP = 'DELETE' THEN
+    INSERT INTO db.ticket_tombstones (ticket_id, assigned_to, deleted, change_version)
+    VALUES (OLD.ticket_id, OLD.assigned_to, true, pg_current_xact_id()::text::bigint);
+  ELSIF OLD.assigned_to IS NOT NULL AND OLD.assigned_to IS DISTINCT FROM NEW.assigned_to THEN
+    INSERT INTO db.ticket_tombstones (ticket_id, assigned_to, deleted, change_version)
+    VALUES (OLD.ticket_id, OLD.assigned_to, false, NEW.change_version);
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS tickets_change_version ON db.tickets;
+CREATE TRIGGER tickets_change_version
+BEFORE INSERT OR UPDATE ON db.tickets
+FOR EACH ROW EXECUTE FUNCTION db.set_ticket_change_version();
+
+DROP TRIGGER IF EXISTS tickets_tombstone ON db.tickets;
+CREATE TRIGGER tickets_tombstone
+AFTER UPDATE OF assigned_to OR DELETE ON db.tickets
+FOR EACH ROW EXECUTE FUNCTION db.record_ticket_tombstone();
+
+
+-- Due dates have to lie in the future when a ticket is created or its due date is changed.
+-- A CHECK constraint would also reject every other update of an overdue ticket, e.g. clearing
+-- duplicate_of when the archive deletes the original.
+ALTER TABLE db.tickets DROP CONSTRAINT IF EXISTS tickets_due_date_check;
+
+CREATE OR REPLACE FUNCTION db.check_ticket_due_date() RETURNS trigger AS $$
+BEGIN
+  IF TG_OP = 'UPDATE' THEN
+    IF NEW.due_date IS NOT DISTINCT FROM OLD.due_date THEN
+      RETURN NEW;
+    END IF;
+  END IF;
+  IF NEW.due_date < CURRENT_DATE THEN
+    RAISE EXCEPTION 'Due date % is in the past', NEW.due_date USING ERRCODE = 'check_violation';
+  END IF;
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS tickets_due_date ON db.tickets;
+CREATE TRIGGER tickets_due_date
+BEFORE INSERT OR UPDATE OF due_date ON db.tickets
+FOR EACH ROW EXECUTE FUNCTION db.check_ticket_due_date();
@@ -7,35 +7,71 @@ import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.multipart.MultipartFile;
 
+import de.tum.aet.devops25.teamspoved.dto.MediaMetadata;
 import de.tum.aet.devops25.teamspoved.service.MediaService;
 import de.tum.aet.devops25.teamspoved.model.MediaEntity;
 import de.tum.aet.devops25.teamspoved.model.MediaTypeEnum;
+import de.tum.aet.devops25.teamspoved.util.IdempotencyStore;
+import de.tum.aet.devops25.teamspoved.util.JwtFilter.AuthenticatedUser;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 @CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000", "http://localhost:8000", "http://localhost:8082", "http://localhost:8083", "http://localhost:8081"})
 @RestController
 @RequestMapping("/media")
 public class MediaController {
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final MediaService mediaService;
+    private final IdempotencyStore idempotencyStore;
 
-    public MediaController(MediaService mediaService) {
+    public MediaController(MediaService mediaService, IdempotencyStore idempotencyStore) {
         this.mediaService = mediaService;
+        this.idempotencyStore = idempotencyStore;
     }
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<MediaEntity> createMedia(
             @RequestParam("file") MultipartFile file,
             @RequestParam("mediaType") MediaTypeEnum mediaType,
-            @RequestParam("blobType") String blobType) {
+            @RequestParam("blobType") String blobType,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         try {
-            MediaEntity media = mediaService.createMedia(file, mediaType, blobType);
-            return ResponseEntity.ok(media);
+            if (idempotencyKey == null) {
+                MediaEntity media = mediaService.createMedia(file, mediaType, blobType);
+                return ResponseEntity.ok(media);
+            }
+            // Same key with different content is rejected, so the payload has to be part of the fingerprint
+            List<Object> fingerprint = List.of(mediaType, blobType, file.getSize(), Arrays.hashCode(file.getBytes()));
+            // Only the id is stored, the content would keep every upload of the last day in memory
+            AtomicReference<MediaEntity> created = new AtomicReference<>();
+            IdempotencyStore.Result<Integer> result = idempotencyStore.execute(
+                    "POST /media:" + keyScope() + ":" + idempotencyKey, fingerprint, () -> {
+                        created.set(mediaService.createMedia(file, mediaType, blobType));
+                        return created.get().getMediaId();
+                    });
+            MediaEntity media = result.replayed() ? mediaService.getMediaById(result.value()) : created.get();
+            return ResponseEntity.ok()
+                    .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                    .body(media);
+        } catch (IdempotencyStore.KeyReuseException e) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Failed to create media: " + e.getMessage());
         }
     }
 
+    /**
+     * Idempotency keys are chosen by clients, so each user gets their own, and nobody can replay
+     * another user's upload by guessing the key. The user comes from the verified token.
+     */
+    private static String keyScope() {
+        return AuthenticatedUser.current().map(user -> String.valueOf(user.userId())).orElse("anonymous");
+    }
+
     @GetMapping("/{mediaId}")
     public ResponseEntity<MediaEntity> getMediaById(@PathVariable Integer mediaId) {
         try {
@@ -57,6 +93,14 @@ public class MediaController {
         }
     }
 
+    /**
+     * Metadata of several media in one request, e.g. for all attachments of a ticket list.
+     */
+    @GetMapping("/metadata")
+    public ResponseEntity<List<MediaMetadata>> getMetadata(@RequestParam List<Integer> ids) {
+        return ResponseEntity.ok(mediaService.getMetadata(ids));
+    }
+
     @PutMapping("/{mediaId}/analyzed")
     public ResponseEntity<MediaEntity> updateAnalyzed(@PathVariable Integer mediaId, @RequestBody Boolean analyzed) {
         MediaEntity mediaEntity = mediaService.updateAnalyzed(mediaId, analyzed);
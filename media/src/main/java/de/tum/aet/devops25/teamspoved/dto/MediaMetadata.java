@@ -0,0 +1,17 @@
+package de.tum.aet.devops25.teamspoved.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import de.tum.aet.devops25.teamspoved.model.MediaTypeEnum;
+
+/**
+ * A media entry without its content, for services that only display or link it.
+ */
+public record MediaMetadata(
+    @JsonProperty("mediaId") Integer mediaId,
+    @JsonProperty("mediaType") MediaTypeEnum mediaType,
+    @JsonProperty("blobType") String blobType,
+    @JsonProperty("analyzed") boolean analyzed,
+    @JsonProperty("result") String result,
+    @JsonProperty("reason") String reason
+) {}
@@ -1,11 +1,21 @@
 package de.tum.aet.devops25.teamspoved.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import de.tum.aet.devops25.teamspoved.dto.MediaMetadata;
 import de.tum.aet.devops25.teamspoved.model.MediaEntity;
 
 @Repository
 public interface MediaRepository extends JpaRepository<MediaEntity, Integer> {
-    
-}
\ No newline at end of file
+
+    // Selects the columns explicitly so the content is never loaded
+    @Query("SELECT new de.tum.aet.devops25.teamspoved.dto.MediaMetadata(m.mediaId, m.mediaType, m.blobType, m.analyzed, m.result, m.reason) " +
+           "FROM MediaEntity m WHERE m.mediaId IN :mediaIds")
+    List<MediaMetadata> findMetadataByMediaIdIn(@Param("mediaIds") Collection<Integer> mediaIds);
+}
@@ -1,11 +1,13 @@
 package de.tum.aet.devops25.teamspoved.service;
 
 import org.springframework.stereotype.Service;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 
+import de.tum.aet.devops25.teamspoved.dto.MediaMetadata;
 import de.tum.aet.devops25.teamspoved.model.MediaEntity;
 import de.tum.aet.devops25.teamspoved.repository.MediaRepository;
 import de.tum.aet.devops25.teamspoved.model.MediaTypeEnum;
@@ -18,6 +20,7 @@ public class MediaService {
     private final Counter createMediaCounter;
     private final Counter getMediaByIdCounter;
     private final Counter getAllMediaCounter;
+    private final Counter getMetadataCounter;
     private final Counter updateAnalyzedCounter;
     private final Counter updateResultCounter;
     private final Counter updateReasonCounter;
@@ -28,6 +31,7 @@ public class MediaService {
         this.createMediaCounter = meterRegistry.counter("media_create_requests_total");
         this.getMediaByIdCounter = meterRegistry.counter("media_get_by_id_requests_total");
         this.getAllMediaCounter = meterRegistry.counter("media_get_all_requests_total");
+        this.getMetadataCounter = meterRegistry.counter("media_get_metadata_requests_total");
         this.updateAnalyzedCounter = meterRegistry.counter("media_update_analyzed_requests_total");
         this.updateResultCounter = meterRegistry.counter("media_update_result_requests_total");
         this.updateReasonCounter = meterRegistry.counter("media_update_reason_requests_total");
@@ -62,6 +66,17 @@ public class MediaService {
         return mediaRepository.findAll();
     }
 
+    /**
+     * Metadata of the given media, without content. Unknown ids are left out.
+     */
+    public List<MediaMetadata> getMetadata(Collection<Integer> mediaIds) {
+        getMetadataCounter.increment();
+        if (mediaIds.isEmpty()) {
+            return List.of();
+        }
+        return mediaRepository.findMetadataByMediaIdIn(mediaIds);
+    }
+
     public MediaEntity updateAnalyzed(Integer mediaId, boolean analyzed) {
         updateAnalyzedCounter.increment();
         MediaEntity media = mediaRepository.findById(mediaId).orElseThrow(() -> {
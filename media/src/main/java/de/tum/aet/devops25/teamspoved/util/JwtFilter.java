@@ -1,7 +1,9 @@
 package de.tum.aet.devops25.teamspoved.util;
 
 import java.io.IOException;
+import java.security.Principal;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -46,7 +48,7 @@ public class JwtFilter extends OncePerRequestFilter {
                 List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
 
                 Authentication auth = new UsernamePasswordAuthenticationToken(
-                    username, null, authorities
+                    new AuthenticatedUser(userId, username), null, authorities
                 );
 
                 SecurityContextHolder.getContext().setAuthentication(auth);
@@ -59,5 +61,26 @@ public class JwtFilter extends OncePerRequestFilter {
         chain.doFilter(req, res);
     }
 
-    public record AuthenticatedUser(Long userId, String username) {}
+    /**
+     * Principal of a request with a verified token. The user service signed the token for this
+     * user, so its id can be trusted without asking the user service again.
+     */
+    public record AuthenticatedUser(Long userId, String username) implements Principal {
+
+        @Override
+        public String getName() {
+            return username;
+        }
+
+        /**
+         * The user of the current request, or empty if it had no token.
+         */
+        public static Optional<AuthenticatedUser> current() {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user) {
+                return Optional.of(user);
+            }
+            return Optional.empty();
+        }
+    }
 }
\ No newline at end of file
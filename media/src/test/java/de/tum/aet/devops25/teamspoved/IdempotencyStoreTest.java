@@ -0,0 +1,133 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.util.IdempotencyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyStoreTest {
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private IdempotencyStore store(int maxEntries) {
+        return new IdempotencyStore(clock, Duration.ofHours(1), maxEntries, new SimpleMeterRegistry());
+    }
+
+    private String run(IdempotencyStore store, String key) {
+        return store.execute(key, "payload", () -> "result-" + executions.incrementAndGet()).value();
+    }
+
+    @Test
+    public void testRetryIsReplayed() {
+        IdempotencyStore store = store(10);
+        IdempotencyStore.Result<String> first = store.execute("key", "payload", () -> "result-" + executions.incrementAndGet());
+        IdempotencyStore.Result<String> retry = store.execute("key", "payload", () -> "result-" + executions.incrementAndGet());
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals("result-1", retry.value());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testKeyExpiresAfterTtl() {
+        IdempotencyStore store = store(10);
+        run(store, "key");
+        clock.advance(Duration.ofMinutes(59));
+        assertEquals("result-1", run(store, "key"));
+
+        clock.advance(Duration.ofMinutes(1));
+        assertEquals("result-2", run(store, "key"));
+    }
+
+    @Test
+    public void testOldestKeyIsEvictedAtMaxEntries() {
+        IdempotencyStore store = store(2);
+        run(store, "a");
+        run(store, "b");
+        run(store, "c");
+
+        assertEquals(2, store.size());
+        assertEquals("result-3", run(store, "c"));
+        assertEquals("result-4", run(store, "a"));
+    }
+
+    @Test
+    public void testConcurrentRetryWaitsForFirstResult() throws Exception {
+        IdempotencyStore store = store(10);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<IdempotencyStore.Result<String>> first = CompletableFuture.supplyAsync(() -> store.execute("key", "payload", () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "result-" + executions.incrementAndGet();
+        }));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        CompletableFuture<IdempotencyStore.Result<String>> retry = CompletableFuture.supplyAsync(
+                () -> store.execute("key", "payload", () -> "result-" + executions.incrementAndGet()));
+
+        Thread.sleep(100);
+        assertFalse(retry.isDone());
+        release.countDown();
+
+        assertEquals("result-1", first.get(1, TimeUnit.SECONDS).value());
+        assertEquals(new IdempotencyStore.Result<>("result-1", true), retry.get(1, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testFailedRequestCanBeRetried() {
+        IdempotencyStore store = store(10);
+        assertThrows(IllegalStateException.class, () -> store.execute("key", "payload", () -> {
+            throw new IllegalStateException("Database unavailable");
+        }));
+
+        assertEquals(0, store.size());
+        assertEquals("result-1", run(store, "key"));
+    }
+
+    @Test
+    public void testKeyReuseForDifferentPayloadIsRejected() {
+        IdempotencyStore store = store(10);
+        run(store, "key");
+        assertThrows(IdempotencyStore.KeyReuseException.class, () -> store.execute("key", "other payload", () -> "other"));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2030-01-10T08:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
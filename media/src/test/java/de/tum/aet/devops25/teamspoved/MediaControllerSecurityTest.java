@@ -3,6 +3,7 @@ package de.tum.aet.devops25.teamspoved;
 import de.tum.aet.devops25.teamspoved.controller.MediaController;
 import de.tum.aet.devops25.teamspoved.model.*;
 import de.tum.aet.devops25.teamspoved.service.MediaService;
+import de.tum.aet.devops25.teamspoved.util.IdempotencyStore;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,6 +27,9 @@ public class MediaControllerSecurityTest {
     @MockBean
     private MediaService mediaService;
 
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
     private MediaEntity testMedia;
 
     @BeforeEach
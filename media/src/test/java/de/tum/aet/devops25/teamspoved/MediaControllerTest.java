@@ -2,8 +2,12 @@ package de.tum.aet.devops25.teamspoved;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.tum.aet.devops25.teamspoved.controller.MediaController;
+import de.tum.aet.devops25.teamspoved.dto.MediaMetadata;
 import de.tum.aet.devops25.teamspoved.model.*;
 import de.tum.aet.devops25.teamspoved.service.MediaService;
+import de.tum.aet.devops25.teamspoved.util.IdempotencyStore;
+import de.tum.aet.devops25.teamspoved.util.JwtFilter.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +16,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -19,6 +25,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -36,8 +43,16 @@ public class MediaControllerTest {
     @MockBean
     private MediaService mediaService;
 
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
     private MediaEntity testMedia;
 
+    @AfterEach
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
     @BeforeEach
     public void setup() {
         testMedia = new MediaEntity();
@@ -69,6 +84,25 @@ public class MediaControllerTest {
                 .andExpect(jsonPath("$.reason", is(testMedia.getReason())));    
     }
 
+    @Test
+    public void testIdempotencyKeyIsScopedToUser() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "test.wav", MediaType.APPLICATION_OCTET_STREAM_VALUE, "test".getBytes());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(7L, "sam"), null, List.of()));
+        when(idempotencyStore.<Integer>execute(eq("POST /media:7:retry-1"), any(), any()))
+                .thenReturn(new IdempotencyStore.Result<>(testMedia.getMediaId(), true));
+        when(mediaService.getMediaById(testMedia.getMediaId())).thenReturn(testMedia);
+
+        mockMvc.perform(multipart("/media")
+                .file(file)
+                .param("mediaType", MediaTypeEnum.AUDIO.toString())
+                .param("blobType", "audio/wav")
+                .header("Idempotency-Key", "retry-1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.mediaId", is(testMedia.getMediaId())));
+    }
+
     @Test
     public void testGetMediaById() throws Exception {
         when(mediaService.getMediaById(testMedia.getMediaId())).thenReturn(testMedia);
@@ -96,6 +130,18 @@ public class MediaControllerTest {
                 .andExpect(jsonPath("$[0].mediaId", is(testMedia.getMediaId())));
     }
 
+    @Test
+    public void testGetMetadata() throws Exception {
+        MediaMetadata metadata = new MediaMetadata(1, MediaTypeEnum.AUDIO, "audio/wav", false, "No result available", "No reasoning available");
+        when(mediaService.getMetadata(List.of(1, 2))).thenReturn(List.of(metadata));
+        mockMvc.perform(get("/media/metadata").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].mediaId", is(1)))
+                .andExpect(jsonPath("$[0].blobType", is("audio/wav")))
+                .andExpect(jsonPath("$[0].content").doesNotExist());
+    }
+
     @Test
     public void testUpdateAnalyzed() throws Exception {
         testMedia.setAnalyzed(true);
@@ -0,0 +1,85 @@
+package de.tum.aet.devops25.teamspoved.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import de.tum.aet.devops25.teamspoved.dto.UserSummary;
+import de.tum.aet.devops25.teamspoved.grpc.GetUsersRequest;
+import de.tum.aet.devops25.teamspoved.grpc.UserLookupGrpc;
+import de.tum.aet.devops25.teamspoved.grpc.UsersExistRequest;
+import net.devh.boot.grpc.client.inject.GrpcClient;
+
+/**
+ * User service client over the internal gRPC API. All calls share one multiplexed HTTP/2
+ * channel ({@code grpc.client.user.*}) and a whole batch of ids is checked in one call.
+ * Existence checks are hedged, see {@link RequestHedger}.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "services.user.transport", havingValue = "grpc", matchIfMissing = true)
+public class GrpcUserServiceClient implements UserServiceClient {
+
+    @GrpcClient("user")
+    private UserLookupGrpc.UserLookupBlockingStub userLookup;
+
+    @Value("${services.user.deadline-ms:2000}")
+    private long deadlineMs;
+
+    private final RequestHedger hedger;
+
+    public GrpcUserServiceClient(RequestHedger hedger) {
+        this.hedger = hedger;
+    }
+
+    @Override
+    public boolean userExists(Integer userId) {
+        if (userId == null) {
+            return false;
+        }
+        return !findExistingUsers(List.of(userId)).isEmpty();
+    }
+
+    @Override
+    public Set<Integer> findExistingUsers(Collection<Integer> userIds) {
+        List<Integer> ids = userIds.stream().filter(id -> id != null).distinct().toList();
+        if (ids.isEmpty()) {
+            return new HashSet<>();
+        }
+        UsersExistRequest request = UsersExistRequest.newBuilder().addAllUserIds(ids).build();
+        return new HashSet<>(hedger.call(attempt -> stub().usersExist(request).getExistingUserIdsList()));
+    }
+
+    @Override
+    public List<UserSummary> findUsersByIds(Collection<Integer> userIds) {
+        List<Integer> ids = userIds.stream().filter(id -> id != null).distinct().toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return getUsers(GetUsersRequest.newBuilder().addAllUserIds(ids).build());
+    }
+
+    @Override
+    public List<UserSummary> findUsersByRole(String role) {
+        return getUsers(GetUsersRequest.newBuilder().setRole(role).build());
+    }
+
+    private List<UserSummary> getUsers(GetUsersRequest request) {
+        List<UserSummary> users = new ArrayList<>();
+        stub().getUsers(request)
+                .forEachRemaining(user -> users.add(new UserSummary(user.getUserId(), user.getName(), user.getRole())));
+        return users;
+    }
+
+    private UserLookupGrpc.UserLookupBlockingStub stub() {
+        return userLookup.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS);
+    }
+}
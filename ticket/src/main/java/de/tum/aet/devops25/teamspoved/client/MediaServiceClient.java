@@ -0,0 +1,41 @@
+package de.tum.aet.devops25.teamspoved.client;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import de.tum.aet.devops25.teamspoved.dto.MediaSummary;
+
+/**
+ * Calls from the ticket service to the media service, spread over its replicas, see {@link ServiceBalancer}.
+ */
+@Component
+@Profile("!reactive")
+public class MediaServiceClient {
+    private final RestTemplate restTemplate;
+    private final ServiceBalancer mediaService;
+
+    public MediaServiceClient(RestTemplate restTemplate, @Qualifier("mediaServiceEndpoints") ServiceBalancer mediaService) {
+        this.restTemplate = restTemplate;
+        this.mediaService = mediaService;
+    }
+
+    /**
+     * Returns the metadata of the given media in one request; ids of media that do not exist are left out.
+     */
+    public List<MediaSummary> findMediaByIds(Collection<Integer> mediaIds) {
+        String ids = mediaIds.stream().filter(Objects::nonNull).distinct().map(String::valueOf).collect(Collectors.joining(","));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        MediaSummary[] media = mediaService.call(baseUrl -> restTemplate.getForObject(baseUrl + "/media/metadata?ids=" + ids, MediaSummary[].class));
+        return media == null ? List.of() : Arrays.asList(media);
+    }
+}
@@ -0,0 +1,175 @@
+package de.tum.aet.devops25.teamspoved.client;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hedges idempotent calls to another service: if the first attempt has not answered within the
+ * configured percentile of recent latencies, the same call is sent a second time, and whichever
+ * answers first wins. The other attempt is cancelled by interrupting its virtual thread, which
+ * closes its socket. A single slow replica then costs about the hedge delay instead of its full
+ * latency.
+ *
+ * The delay is the {@link Settings#percentile} of the latencies of the last {@link Settings#window},
+ * kept between {@link Settings#minDelay} and {@link Settings#maxDelay}. Every call earns
+ * {@link Settings#budget} tokens and every hedge costs one token, so hedges add at most that
+ * fraction of extra requests even if the whole backend is slow.
+ *
+ * Only calls whose attempt function is safe to run twice may be hedged. The attempt number
+ * (0 or 1) is passed to it, so the caller may send the second attempt elsewhere.
+ */
+public class RequestHedger {
+    private static final int MIN_SAMPLES = 20;
+    private static final long MAX_TOKENS = 10_000;
+    private static final long TOKEN = 1_000;
+
+    private final Settings settings;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    // Latencies in microseconds
+    private final Recorder recorder = new Recorder(2);
+    // Hedge budget in thousandths of a hedge
+    private final AtomicLong tokens = new AtomicLong(MAX_TOKENS);
+
+    private volatile long delayNanos;
+    private volatile long windowStart = System.nanoTime();
+
+    private final Counter requestCounter;
+    private final Counter hedgeCounter;
+    private final Counter winCounter;
+    private final Counter budgetExhaustedCounter;
+
+    public RequestHedger(String service, Settings settings, MeterRegistry registry) {
+        this.settings = settings;
+        this.delayNanos = settings.maxDelay().toNanos();
+        this.requestCounter = Counter.builder("ticket_service.hedging.requests.total")
+                .description("Hedgeable calls to another service")
+                .tag("service", service)
+                .register(registry);
+        this.hedgeCounter = Counter.builder("ticket_service.hedging.hedges.total")
+                .description("Second attempts sent because the first one was slow")
+                .tag("service", service)
+                .register(registry);
+        this.winCounter = Counter.builder("ticket_service.hedging.wins.total")
+                .description("Calls answered by the second attempt")
+                .tag("service", service)
+                .register(registry);
+        this.budgetExhaustedCounter = Counter.builder("ticket_service.hedging.budget_exhausted.total")
+                .description("Slow calls that were not hedged because the hedge budget was used up")
+                .tag("service", service)
+                .register(registry);
+        Gauge.builder("ticket_service.hedging.delay", this, hedger -> hedger.delayNanos / 1_000_000.0)
+                .description("Current hedge delay in milliseconds")
+                .tag("service", service)
+                .register(registry);
+    }
+
+    /**
+     * Runs the attempt, and a second one if the first is slow. Fails only if every attempt that was sent failed.
+     */
+    public <T> T call(IntFunction<T> attempt) {
+        if (!settings.enabled()) {
+            return attempt.apply(0);
+        }
+        requestCounter.increment();
+        tokens.getAndUpdate(current -> Math.min(MAX_TOKENS, current + Math.round(settings.budget() * TOKEN)));
+
+        long start = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger running = new AtomicInteger(1);
+        List<Future<?>> attempts = new CopyOnWriteArrayList<>();
+        attempts.add(executor.submit(() -> run(attempt, 0, result, running, start)));
+        try {
+            try {
+                return result.get(delayNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (tokens.getAndUpdate(current -> current >= TOKEN ? current - TOKEN : current) >= TOKEN) {
+                    hedgeCounter.increment();
+                    running.incrementAndGet();
+                    attempts.add(executor.submit(() -> run(attempt, 1, result, running, start)));
+                } else {
+                    budgetExhaustedCounter.increment();
+                }
+            }
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a hedged call", e);
+        } finally {
+            attempts.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Current hedge delay, derived from the latencies of the previous window.
+     */
+    public Duration delay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    private <T> void run(IntFunction<T> attempt, int number, CompletableFuture<T> result, AtomicInteger running, long start) {
+        try {
+            T value = attempt.apply(number);
+            if (result.complete(value)) {
+                record(System.nanoTime() - start);
+                if (number > 0) {
+                    winCounter.increment();
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            // A failed attempt only fails the call if the other one cannot answer anymore
+            if (running.decrementAndGet() == 0) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void record(long latencyNanos) {
+        recorder.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        long now = System.nanoTime();
+        long started = windowStart;
+        if (now - started >= settings.window().toNanos() && updateWindow(started, now)) {
+            Histogram window = recorder.getIntervalHistogram();
+            if (window.getTotalCount() >= MIN_SAMPLES) {
+                long delay = TimeUnit.MICROSECONDS.toNanos(window.getValueAtPercentile(settings.percentile()));
+                delayNanos = Math.clamp(delay, settings.minDelay().toNanos(), settings.maxDelay().toNanos());
+            }
+        }
+    }
+
+    private synchronized boolean updateWindow(long expected, long now) {
+        if (windowStart != expected) {
+            return false;
+        }
+        windowStart = now;
+        return true;
+    }
+
+    /**
+     * @param percentile latency percentile of the previous window after which a call is hedged, e.g. 95
+     * @param budget     hedges allowed per call, e.g. 0.1 for at most 10% extra requests
+     */
+    public record Settings(boolean enabled, double percentile, Duration minDelay, Duration maxDelay, double budget, Duration window) {}
+}
@@ -0,0 +1,86 @@
+package de.tum.aet.devops25.teamspoved.client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import de.tum.aet.devops25.teamspoved.dto.UserSummary;
+
+/**
+ * User service client over the public REST API, one request per user. Requests are spread over
+ * the user service replicas, see {@link ServiceBalancer}, and existence checks are hedged, see
+ * {@link RequestHedger}.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "services.user.transport", havingValue = "rest")
+public class RestUserServiceClient implements UserServiceClient {
+    private final RestTemplate restTemplate;
+    private final RequestHedger hedger;
+    private final ServiceBalancer userService;
+
+    public RestUserServiceClient(RestTemplate restTemplate, RequestHedger hedger,
+                                 @Qualifier("userServiceEndpoints") ServiceBalancer userService) {
+        this.restTemplate = restTemplate;
+        this.hedger = hedger;
+        this.userService = userService;
+    }
+
+    @Override
+    public boolean userExists(Integer userId) {
+        return hedger.call(attempt -> {
+            try {
+                // Just check if user exists without storing the full object
+                userService.call(baseUrl -> restTemplate.getForObject(baseUrl + "/users/" + userId, Object.class));
+                return true;
+            } catch (HttpClientErrorException.NotFound e) {
+                // Any other error fails this attempt, so the hedge can still answer
+                return false;
+            }
+        });
+    }
+
+    @Override
+    public Set<Integer> findExistingUsers(Collection<Integer> userIds) {
+        return userIds.stream()
+                .distinct()
+                .filter(this::userExists)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public List<UserSummary> findUsersByIds(Collection<Integer> userIds) {
+        List<UserSummary> users = new ArrayList<>();
+        for (Integer userId : new LinkedHashSet<>(userIds)) {
+            if (userId == null) {
+                continue;
+            }
+            try {
+                UserSummary user = userService.call(baseUrl -> restTemplate.getForObject(baseUrl + "/users/" + userId, UserSummary.class));
+                if (user != null) {
+                    users.add(user);
+                }
+            } catch (HttpClientErrorException.NotFound e) {
+                // Unknown users are left out
+            }
+        }
+        return users;
+    }
+
+    @Override
+    public List<UserSummary> findUsersByRole(String role) {
+        UserSummary[] users = userService.call(baseUrl -> restTemplate.getForObject(baseUrl + "/users?role=" + role, UserSummary[].class));
+        return users == null ? List.of() : Arrays.asList(users);
+    }
+}
@@ -0,0 +1,251 @@
+package de.tum.aet.devops25.teamspoved.client;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Client-side load balancing over the replicas of another service, so requests spread evenly
+ * even though keep-alive connections through a single service address stick to one replica.
+ *
+ * Every request goes to the less busy of two randomly picked replicas (power of two choices),
+ * measured by the requests currently in flight. A replica that fails
+ * {@link Settings#failuresToEject} requests in a row with an I/O error or a 5xx response is left
+ * out for {@link Settings#ejectionTime}; if all of them are ejected, all are used again.
+ *
+ * The replicas are the configured base URLs. With {@link Settings#dnsDiscovery}, the host of every
+ * URL is resolved to all of its addresses every {@link Settings#refreshInterval}, e.g. for a
+ * headless Kubernetes service with one address per pod.
+ */
+public class ServiceBalancer implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ServiceBalancer.class);
+
+    private final String service;
+    private final List<String> urls;
+    private final Settings settings;
+    private final MeterRegistry registry;
+    private final ScheduledExecutorService refresher;
+
+    private volatile List<Endpoint> endpoints = List.of();
+
+    public ServiceBalancer(String service, List<String> urls, Settings settings, MeterRegistry registry) {
+        if (urls.stream().allMatch(String::isBlank)) {
+            throw new IllegalArgumentException("No endpoints configured for the " + service + " service");
+        }
+        this.service = service;
+        this.urls = urls.stream().filter(url -> !url.isBlank()).map(String::strip).toList();
+        this.settings = settings;
+        this.registry = registry;
+        refresh();
+        if (settings.dnsDiscovery()) {
+            this.refresher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name(service + "-discovery").daemon().factory());
+            long interval = settings.refreshInterval().toMillis();
+            this.refresher.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.refresher = null;
+        }
+    }
+
+    /**
+     * Sends the request to one replica. The function gets the replica's base URL, without a trailing slash.
+     */
+    public <T> T call(Function<String, T> request) {
+        Endpoint endpoint = pick();
+        endpoint.outstanding.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            T result = request.apply(endpoint.baseUrl);
+            endpoint.succeeded(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            if (isEndpointFailure(e)) {
+                endpoint.failed(System.nanoTime() - start);
+            } else {
+                // The replica answered, e.g. 404 for an unknown user
+                endpoint.succeeded(System.nanoTime() - start);
+            }
+            throw e;
+        } finally {
+            endpoint.outstanding.decrementAndGet();
+        }
+    }
+
+    /**
+     * Base URLs of the replicas that currently get requests.
+     */
+    public List<String> activeEndpoints() {
+        long now = System.nanoTime();
+        return endpoints.stream().filter(endpoint -> !endpoint.isEjected(now)).map(endpoint -> endpoint.baseUrl).toList();
+    }
+
+    @Override
+    public void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    private Endpoint pick() {
+        List<Endpoint> all = endpoints;
+        long now = System.nanoTime();
+        List<Endpoint> healthy = all.stream().filter(endpoint -> !endpoint.isEjected(now)).toList();
+        List<Endpoint> candidates = healthy.isEmpty() ? all : healthy;
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        Endpoint a = candidates.get(first);
+        Endpoint b = candidates.get(second);
+        return b.outstanding.get() < a.outstanding.get() ? b : a;
+    }
+
+    private static boolean isEndpointFailure(RuntimeException e) {
+        return e instanceof ResourceAccessException || e instanceof HttpServerErrorException;
+    }
+
+    private synchronized void refresh() {
+        Map<String, Endpoint> previous = new HashMap<>();
+        endpoints.forEach(endpoint -> previous.put(endpoint.baseUrl, endpoint));
+        Set<String> known = new HashSet<>(previous.keySet());
+
+        Map<String, Endpoint> current = new LinkedHashMap<>();
+        for (String url : urls) {
+            for (String baseUrl : resolve(url)) {
+                current.computeIfAbsent(baseUrl, key -> {
+                    Endpoint existing = previous.remove(key);
+                    return existing != null ? existing : new Endpoint(key);
+                });
+            }
+        }
+        if (current.isEmpty() && !known.isEmpty()) {
+            // Keep the last known replicas rather than having none
+            log.warn("No endpoints found for the {} service, keeping {}", service, known);
+            return;
+        }
+        if (current.isEmpty()) {
+            // Not resolvable yet, so go through the configured addresses until discovery succeeds
+            urls.forEach(url -> current.computeIfAbsent(trimSlash(url), Endpoint::new));
+        }
+        previous.values().forEach(Endpoint::remove);
+        endpoints = List.copyOf(current.values());
+        if (!current.keySet().equals(known)) {
+            log.info("Endpoints of the {} service: {}", service, current.keySet());
+        }
+    }
+
+    private List<String> resolve(String url) {
+        String baseUrl = trimSlash(url);
+        if (!settings.dnsDiscovery()) {
+            return List.of(baseUrl);
+        }
+        URI uri = URI.create(baseUrl);
+        try {
+            List<String> resolved = new ArrayList<>();
+            for (InetAddress address : InetAddress.getAllByName(uri.getHost())) {
+                String host = address.getHostAddress().contains(":") ? "[" + address.getHostAddress() + "]" : address.getHostAddress();
+                resolved.add(uri.getScheme() + "://" + host + (uri.getPort() == -1 ? "" : ":" + uri.getPort())
+                        + (uri.getRawPath() == null ? "" : uri.getRawPath()));
+            }
+            return resolved;
+        } catch (UnknownHostException e) {
+            log.warn("Could not resolve {} for the {} service: {}", uri.getHost(), service, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static String trimSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private class Endpoint {
+        private final String baseUrl;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        // Ejected while System.nanoTime() is before this
+        private volatile long ejectedUntil = System.nanoTime();
+        private final Timer successTimer;
+        private final Timer failureTimer;
+        private final Gauge outstandingGauge;
+
+        Endpoint(String baseUrl) {
+            this.baseUrl = baseUrl;
+            String host = URI.create(baseUrl).getAuthority();
+            this.successTimer = timer(host, "success");
+            this.failureTimer = timer(host, "failure");
+            this.outstandingGauge = Gauge.builder("ticket_service.endpoint.requests.active", outstanding, AtomicInteger::get)
+                    .description("Requests in flight to one replica of another service")
+                    .tag("service", service)
+                    .tag("endpoint", host)
+                    .register(registry);
+        }
+
+        private Timer timer(String host, String outcome) {
+            return Timer.builder("ticket_service.endpoint.requests")
+                    .description("Latency of the requests to one replica of another service")
+                    .tag("service", service)
+                    .tag("endpoint", host)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+
+        boolean isEjected(long now) {
+            return now - ejectedUntil < 0;
+        }
+
+        void succeeded(long nanos) {
+            consecutiveFailures.set(0);
+            successTimer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        void failed(long nanos) {
+            failureTimer.record(nanos, TimeUnit.NANOSECONDS);
+            if (consecutiveFailures.incrementAndGet() >= settings.failuresToEject()) {
+                consecutiveFailures.set(0);
+                ejectedUntil = System.nanoTime() + settings.ejectionTime().toNanos();
+                log.warn("Ejected {} of the {} service for {} after {} failures in a row",
+                        baseUrl, service, settings.ejectionTime(), settings.failuresToEject());
+            }
+        }
+
+        void remove() {
+            for (Meter meter : List.<Meter>of(successTimer, failureTimer, outstandingGauge)) {
+                registry.remove(meter);
+            }
+        }
+    }
+
+    /**
+     * @param dnsDiscovery    resolve the host of every URL to all of its addresses
+     * @param failuresToEject I/O errors or 5xx responses in a row after which a replica is left out
+     */
+    public record Settings(boolean dnsDiscovery, Duration refreshInterval, int failuresToEject, Duration ejectionTime) {}
+}
@@ -0,0 +1,28 @@
+package de.tum.aet.devops25.teamspoved.client;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import de.tum.aet.devops25.teamspoved.dto.UserSummary;
+
+/**
+ * Calls from the ticket service to the user service. The transport is chosen with
+ * {@code services.user.transport}: {@code grpc} (default) or {@code rest}.
+ */
+public interface UserServiceClient {
+
+    boolean userExists(Integer userId);
+
+    /**
+     * Returns the subset of the given ids that belong to existing users.
+     */
+    Set<Integer> findExistingUsers(Collection<Integer> userIds);
+
+    /**
+     * Returns the users with the given ids; ids of users that do not exist are left out.
+     */
+    List<UserSummary> findUsersByIds(Collection<Integer> userIds);
+
+    List<UserSummary> findUsersByRole(String role);
+}
@@ -1,9 +1,19 @@
 package de.tum.aet.devops25.teamspoved.config;
 
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
+import de.tum.aet.devops25.teamspoved.client.RequestHedger;
+import de.tum.aet.devops25.teamspoved.client.ServiceBalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 public class AppConfig {
 
@@ -11,4 +21,51 @@ public class AppConfig {
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
-}
\ No newline at end of file
+
+    /**
+     * Hedging of user lookups ({@code services.user.hedging.*}), shared by both user service transports.
+     */
+    @Bean
+    public RequestHedger userServiceHedger(
+            @Value("${services.user.hedging.enabled:true}") boolean enabled,
+            @Value("${services.user.hedging.percentile:95}") double percentile,
+            @Value("${services.user.hedging.min-delay:PT0.005S}") Duration minDelay,
+            @Value("${services.user.hedging.max-delay:PT0.5S}") Duration maxDelay,
+            @Value("${services.user.hedging.budget:0.1}") double budget,
+            @Value("${services.user.hedging.window:PT10S}") Duration window,
+            MeterRegistry registry) {
+        return new RequestHedger("user", new RequestHedger.Settings(enabled, percentile, minDelay, maxDelay, budget, window), registry);
+    }
+
+    @Bean
+    public ServiceBalancer.Settings serviceBalancerSettings(
+            @Value("${services.balancing.discovery:static}") String discovery,
+            @Value("${services.balancing.refresh-interval:PT30S}") Duration refreshInterval,
+            @Value("${services.balancing.failures-to-eject:3}") int failuresToEject,
+            @Value("${services.balancing.ejection-time:PT30S}") Duration ejectionTime) {
+        if (!discovery.equals("static") && !discovery.equals("dns")) {
+            throw new IllegalArgumentException("services.balancing.discovery must be static or dns, not " + discovery);
+        }
+        return new ServiceBalancer.Settings(discovery.equals("dns"), refreshInterval, failuresToEject, ejectionTime);
+    }
+
+    /**
+     * Replicas of the user service for the REST client, {@code services.user.url} may list several.
+     * The gRPC client balances on its own, see {@code grpc.client.user.default-load-balancing-policy}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "services.user.transport", havingValue = "rest")
+    public ServiceBalancer userServiceEndpoints(@Value("${services.user.url:http://user:8082}") List<String> urls,
+                                                ServiceBalancer.Settings settings, MeterRegistry registry) {
+        return new ServiceBalancer("user", urls, settings, registry);
+    }
+
+    /**
+     * Replicas of the media service, {@code services.media.url} may list several.
+     */
+    @Bean
+    public ServiceBalancer mediaServiceEndpoints(@Value("${services.media.url:http://media:8083}") List<String> urls,
+                                                 ServiceBalancer.Settings settings, MeterRegistry registry) {
+        return new ServiceBalancer("media", urls, settings, registry);
+    }
+}
@@ -0,0 +1,84 @@
+package de.tum.aet.devops25.teamspoved.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import de.tum.aet.devops25.teamspoved.util.ReactiveJwtFilter;
+import io.r2dbc.pool.PoolingConnectionFactoryProvider;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+/**
+ * Web server, database client and security for the reactive read deployment, which is
+ * enabled with the {@code reactive} profile (see application-reactive.properties).
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig {
+
+    // Tomcat is on the classpath for the servlet deployment, make sure the reactive one runs on Netty
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    /**
+     * One client per ticket shard, in shard order (see {@code TicketShards}). Shard 0 is {@code spring.r2dbc.url},
+     * the others are the {@code tickets.sharding.shard-urls} of the servlet deployment with {@code jdbc:} replaced by R2DBC.
+     */
+    @Bean
+    public List<DatabaseClient> shardDatabaseClients(
+            DatabaseClient databaseClient,
+            @Value("${tickets.sharding.shard-urls:}") List<String> shardUrls,
+            @Value("${spring.r2dbc.username}") String username,
+            @Value("${spring.r2dbc.password}") String password,
+            @Value("${spring.r2dbc.pool.max-size:10}") int poolSize) {
+        List<DatabaseClient> clients = new ArrayList<>();
+        clients.add(databaseClient);
+        for (String url : shardUrls) {
+            if (!url.isBlank()) {
+                ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url.trim().replaceFirst("^jdbc:", "r2dbc:pool:"))
+                        .mutate()
+                        .option(ConnectionFactoryOptions.USER, username)
+                        .option(ConnectionFactoryOptions.PASSWORD, password)
+                        .option(PoolingConnectionFactoryProvider.MAX_SIZE, poolSize)
+                        .build();
+                clients.add(DatabaseClient.create(ConnectionFactories.get(options)));
+            }
+        }
+        return clients;
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        // Same rules as SecurityConfig
+        return http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .authorizeExchange(exchange -> exchange
+                .pathMatchers("/**").permitAll()
+                .anyExchange().authenticated()
+            )
+            .addFilterAt(new ReactiveJwtFilter(), SecurityWebFiltersOrder.AUTHENTICATION)
+            .build();
+    }
+}
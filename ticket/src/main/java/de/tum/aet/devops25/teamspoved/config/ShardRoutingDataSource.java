@@ -0,0 +1,16 @@
+package de.tum.aet.devops25.teamspoved.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import de.tum.aet.devops25.teamspoved.repository.TicketShards;
+
+/**
+ * Hands out connections of the shard selected with {@link TicketShards#on}.
+ */
+class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TicketShards.current();
+    }
+}
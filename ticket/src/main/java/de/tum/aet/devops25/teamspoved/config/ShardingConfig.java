@@ -0,0 +1,149 @@
+package de.tum.aet.devops25.teamspoved.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import de.tum.aet.devops25.teamspoved.repository.TicketShards;
+
+/**
+ * Spreads tickets over several Postgres databases. Shard 0 is {@code spring.datasource.url}, which
+ * also keeps every other table; {@code tickets.sharding.shard-urls} lists the additional shards,
+ * which only need the ticket tables from {@code database/shard-init.sql}.
+ *
+ * JPA and JdbcTemplate both use a routing data source that picks the shard selected with
+ * {@link TicketShards#on}. It is wrapped in a lazy proxy, so a transaction only fetches its
+ * connection on the first statement, after the service has selected the shard.
+ *
+ * The number of shards is fixed for the lifetime of the data: both the shard of a location and
+ * the shard of an id depend on it. Startup fails if a shard's ticket sequence was already set up
+ * for another count.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnExpression("!'${tickets.sharding.shard-urls:}'.isBlank()")
+public class ShardingConfig {
+    private static final Logger log = LoggerFactory.getLogger(ShardingConfig.class);
+    // Session lock held while a replica sets up a shard's ticket sequence
+    private static final long TICKET_ID_LOCK = 0x7469636b6574L;
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Value("${spring.datasource.url}") String primaryUrl,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${tickets.sharding.shard-urls}") List<String> shardUrls,
+            @Value("${tickets.sharding.pool-size:10}") int poolSize,
+            @Value("${tickets.sharding.legacy-max-id:0}") int legacyMaxId) {
+        List<String> urls = new ArrayList<>();
+        urls.add(primaryUrl);
+        shardUrls.stream().filter(url -> !url.isBlank()).forEach(urls::add);
+
+        Map<Object, Object> shards = new HashMap<>();
+        for (int shard = 0; shard < urls.size(); shard++) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName("org.postgresql.Driver")
+                    .url(urls.get(shard))
+                    .username(username)
+                    .password(password)
+                    .build();
+            dataSource.setPoolName("tickets-shard-" + shard);
+            dataSource.setMaximumPoolSize(poolSize);
+            checkLegacyTickets(dataSource, shard, urls.size(), legacyMaxId);
+            configureTicketIds(dataSource, shard, urls.size(), legacyMaxId);
+            shards.put(shard, dataSource);
+        }
+
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(shards);
+        routing.setDefaultTargetDataSource(shards.get(0));
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Refuses to start if a ticket would be looked for on the wrong shard. Tickets created on the primary
+     * database since sharding have ids {@code id} with {@code (id - 1) % shardCount == 0}, so any other
+     * id above {@code tickets.sharding.legacy-max-id} there is from before sharding. Additional shards
+     * must not have tickets up to that id.
+     */
+    private static void checkLegacyTickets(DataSource dataSource, int shard, int shardCount, int legacyMaxId) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        String ticketIds = "(SELECT ticket_id FROM db.tickets UNION ALL SELECT ticket_id FROM db.tickets_archive) ids";
+        if (shard == 0) {
+            Integer legacy = jdbcTemplate.queryForObject("SELECT MAX(ticket_id) FROM " + ticketIds +
+                    " WHERE ticket_id > ? AND (ticket_id - 1) % ? <> 0", Integer.class, legacyMaxId, shardCount);
+            if (legacy != null) {
+                throw new IllegalStateException("Ticket " + legacy + " on the primary database was created before sharding, "
+                        + "set tickets.sharding.legacy-max-id to at least " + legacy);
+            }
+        } else {
+            Integer misplaced = jdbcTemplate.queryForObject("SELECT MIN(ticket_id) FROM " + ticketIds +
+                    " WHERE ticket_id <= ?", Integer.class, legacyMaxId);
+            if (misplaced != null) {
+                throw new IllegalStateException("Ticket " + misplaced + " on shard " + shard
+                        + " is not above tickets.sharding.legacy-max-id (" + legacyMaxId + ")");
+            }
+        }
+    }
+
+    /**
+     * Makes the shard's ticket sequence only hand out ids {@code id} with {@code (id - 1) % shardCount == shard},
+     * continuing above every id that already exists. Only done once, while the sequence still has a step of 1.
+     * Replicas starting together take an advisory lock, so only the first one restarts the sequence.
+     */
+    private static void configureTicketIds(DataSource dataSource, int shard, int shardCount, int legacyMaxId) {
+        try (Connection connection = dataSource.getConnection()) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            jdbcTemplate.execute("SELECT pg_advisory_lock(" + TICKET_ID_LOCK + ")");
+            try {
+                configureTicketIds(jdbcTemplate, shard, shardCount, legacyMaxId);
+            } finally {
+                jdbcTemplate.execute("SELECT pg_advisory_unlock(" + TICKET_ID_LOCK + ")");
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not set up the ticket ids of shard " + shard, e);
+        }
+    }
+
+    private static void configureTicketIds(JdbcTemplate jdbcTemplate, int shard, int shardCount, int legacyMaxId) {
+        Long increment = jdbcTemplate.queryForObject(
+                "SELECT increment_by FROM pg_sequences WHERE schemaname = 'db' AND sequencename = 'tickets_ticket_id_seq'", Long.class);
+        if (increment != null && increment == shardCount) {
+            return;
+        }
+        if (increment != null && increment != 1) {
+            throw new IllegalStateException("Shard " + shard + " was set up for " + increment + " shards, not " + shardCount
+                    + "; the number of shards cannot change once tickets were created");
+        }
+        Long highest = jdbcTemplate.queryForObject("SELECT GREATEST(" +
+                "(SELECT COALESCE(MAX(ticket_id), 0) FROM db.tickets), " +
+                "(SELECT COALESCE(MAX(ticket_id), 0) FROM db.tickets_archive), " +
+                "(SELECT last_value FROM db.tickets_ticket_id_seq), ?)", Long.class, legacyMaxId);
+        long next = highest + 1 + Math.floorMod(shard - highest, shardCount);
+        jdbcTemplate.execute("ALTER SEQUENCE db.tickets_ticket_id_seq INCREMENT BY " + shardCount + " RESTART WITH " + next);
+        log.info("Ticket ids on shard {} now start at {} with a step of {}", shard, next, shardCount);
+    }
+}
@@ -0,0 +1,55 @@
+package de.tum.aet.devops25.teamspoved.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+import de.tum.aet.devops25.teamspoved.repository.ReactiveTicketRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only ticket endpoints of the reactive deployment (profile {@code reactive}).
+ *
+ * Accepts the same filters as {@link TicketController}. The list is streamed as it is read
+ * from the database, as a JSON array or, with {@code Accept: application/x-ndjson}, as one
+ * ticket per line. Sparse fieldsets and all writes are only served by the servlet deployment.
+ */
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000", "http://localhost:8000", "http://localhost:8082", "http://localhost:8083", "http://localhost:8081"})
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTicketController {
+    private final ReactiveTicketRepository ticketRepository;
+
+    public ReactiveTicketController(ReactiveTicketRepository ticketRepository) {
+        this.ticketRepository = ticketRepository;
+    }
+
+    @GetMapping(value = "/tickets", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<TicketEntity> getTickets(
+            @ModelAttribute TicketFilter filter
+    ) {
+        return ticketRepository.findFilteredTickets(filter);
+    }
+
+    @GetMapping("/tickets/{ticketId}")
+    public Mono<ResponseEntity<TicketEntity>> getTicketById(
+            @PathVariable Integer ticketId,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        Mono<TicketEntity> ticket = ticketRepository.findById(ticketId);
+        if (includeArchived) {
+            ticket = ticket.switchIfEmpty(ticketRepository.findArchivedById(ticketId));
+        }
+        return ticket
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,34 @@
+package de.tum.aet.devops25.teamspoved.controller;
+
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import de.tum.aet.devops25.teamspoved.dto.ResolutionDimension;
+import de.tum.aet.devops25.teamspoved.service.TicketResolutionAnalytics;
+
+/**
+ * Aggregated ticket statistics, answered from in-memory sketches instead of scanning the tickets.
+ */
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000", "http://localhost:8000", "http://localhost:8082", "http://localhost:8083", "http://localhost:8081"})
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TicketAnalyticsController {
+    private final TicketResolutionAnalytics resolutionAnalytics;
+
+    public TicketAnalyticsController(TicketResolutionAnalytics resolutionAnalytics) {
+        this.resolutionAnalytics = resolutionAnalytics;
+    }
+
+    @GetMapping("/tickets/analytics/resolution")
+    public ResponseEntity<?> getResolutionTimes(@RequestParam(defaultValue = "all") String by) {
+        return ResolutionDimension.fromName(by)
+                .<ResponseEntity<?>>map(dimension -> ResponseEntity.ok(resolutionAnalytics.getStats(dimension)))
+                .orElseGet(() -> ResponseEntity.badRequest().body(Map.of("error", "Unknown dimension: " + by)));
+    }
+}
@@ -0,0 +1,104 @@
+package de.tum.aet.devops25.teamspoved.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import de.tum.aet.devops25.teamspoved.dto.ImportResult;
+import de.tum.aet.devops25.teamspoved.dto.TicketFileFormat;
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.model.Status;
+import de.tum.aet.devops25.teamspoved.service.TicketExportService;
+import de.tum.aet.devops25.teamspoved.service.TicketImportService;
+
+/**
+ * Bulk access to tickets for reporting, backups and migrations. Exports and imports are
+ * streamed row by row instead of being built in memory like the {@code GET /tickets} response.
+ */
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000", "http://localhost:8000", "http://localhost:8082", "http://localhost:8083", "http://localhost:8081"})
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TicketBulkController {
+    private final TicketExportService ticketExportService;
+    private final TicketImportService ticketImportService;
+
+    public TicketBulkController(TicketExportService ticketExportService, TicketImportService ticketImportService) {
+        this.ticketExportService = ticketExportService;
+        this.ticketImportService = ticketImportService;
+    }
+
+    @GetMapping("/tickets/export")
+    public ResponseEntity<StreamingResponseBody> exportTickets(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) List<Integer> assignedTo,
+            @RequestParam(required = false) List<Integer> createdBy,
+            @RequestParam(required = false) List<Status> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(required = false) List<String> location,
+            @RequestParam(required = false) List<String> mediaType,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        TicketFileFormat exportFormat = TicketFileFormat.fromName(format)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown format: " + format));
+        TicketFilter filter = new TicketFilter(assignedTo, createdBy, status, dueDate, dueFrom, dueTo, location, mediaType, includeArchived);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024)) {
+                    ticketExportService.export(filter, exportFormat, compressed);
+                }
+            } else {
+                ticketExportService.export(filter, exportFormat, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat.contentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tickets." + exportFormat.extension()).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Creates tickets from an NDJSON or CSV upload, see {@link TicketImportService}. Rows that fail
+     * validation are skipped and listed in the response; the other rows are imported.
+     */
+    @PostMapping(value = "/tickets/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<ImportResult> importTickets(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body
+    ) throws IOException {
+        TicketFileFormat format = TicketFileFormat.fromContentType(contentType)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE));
+        InputStream in = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, 64 * 1024) : body;
+        return ResponseEntity.ok(ticketImportService.importTickets(in, format));
+    }
+}
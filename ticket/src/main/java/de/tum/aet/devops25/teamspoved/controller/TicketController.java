@@ -4,85 +4,239 @@
 
 package de.tum.aet.devops25.teamspoved.controller;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.tum.aet.devops25.teamspoved.dto.CalendarDay;
 import de.tum.aet.devops25.teamspoved.dto.CreateTicketRequest;
+import de.tum.aet.devops25.teamspoved.dto.TicketChanges;
+import de.tum.aet.devops25.teamspoved.dto.TicketField;
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.dto.TicketPage;
+import de.tum.aet.devops25.teamspoved.dto.TicketView;
 import de.tum.aet.devops25.teamspoved.dto.UpdateTicketRequest;
+import de.tum.aet.devops25.teamspoved.dto.WorkerLoad;
 import de.tum.aet.devops25.teamspoved.model.Status;
 import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+import de.tum.aet.devops25.teamspoved.service.StatusUpdateBuffer;
+import de.tum.aet.devops25.teamspoved.service.TicketQueryCache;
+import de.tum.aet.devops25.teamspoved.service.TicketReferenceValidator;
 import de.tum.aet.devops25.teamspoved.service.TicketService;
+import de.tum.aet.devops25.teamspoved.util.IdempotencyStore;
+import de.tum.aet.devops25.teamspoved.util.JwtFilter.AuthenticatedUser;
 import jakarta.validation.Valid;
 
 @CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000", "http://localhost:8000", "http://localhost:8082", "http://localhost:8083", "http://localhost:8081"})
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class TicketController {
+    private static final String LEAST_LOADED = "least-loaded";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final TicketService ticketService;
+    private final IdempotencyStore idempotencyStore;
+    private final TicketQueryCache ticketQueryCache;
+    private final ObjectMapper objectMapper;
 
-    public TicketController(TicketService ticketService) {
+    public TicketController(TicketService ticketService, IdempotencyStore idempotencyStore, TicketQueryCache ticketQueryCache, ObjectMapper objectMapper) {
         this.ticketService = ticketService;
+        this.idempotencyStore = idempotencyStore;
+        this.ticketQueryCache = ticketQueryCache;
+        this.objectMapper = objectMapper;
     }
 
     // Ticket endpoints
     @GetMapping("/tickets")
-    public ResponseEntity<List<TicketEntity>> getTickets(
-            @RequestParam(required = false) Integer assignedTo,
-            @RequestParam(required = false) Integer createdBy,
-            @RequestParam(required = false) Status status,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) java.time.LocalDate dueDate,
-            @RequestParam(required = false) String location,
-            @RequestParam(required = false) String mediaType
+    public ResponseEntity<?> getTickets(
+            @ModelAttribute TicketFilter filter,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) String view
+    ) throws JsonProcessingException {
+        Optional<Set<TicketField>> selectedFields;
+        try {
+            selectedFields = resolveFields(fields, view);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        TicketQueryCache.Key cacheKey = new TicketQueryCache.Key(filter, selectedFields.orElse(null));
+        byte[] body = ticketQueryCache.get(cacheKey);
+        if (body == null) {
+            long stamp = ticketQueryCache.stamp();
+            Object tickets = selectedFields.isPresent()
+                    ? ticketService.getFilteredTicketFields(filter, selectedFields.get())
+                    : ticketService.getFilteredTickets(filter);
+            body = objectMapper.writeValueAsBytes(tickets);
+            ticketQueryCache.put(cacheKey, stamp, body);
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Resolves the requested sparse fieldset. Explicit {@code fields} take precedence over a named
+     * {@code view}; an empty result means the full ticket is requested.
+     */
+    private static Optional<Set<TicketField>> resolveFields(List<String> fields, String view) {
+        if (fields != null && !fields.isEmpty()) {
+            Set<TicketField> selected = EnumSet.of(TicketField.TICKET_ID);
+            for (String property : fields) {
+                selected.add(TicketField.fromProperty(property)
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown field: " + property)));
+            }
+            return Optional.of(selected);
+        }
+        if (view == null) {
+            return Optional.empty();
+        }
+        TicketView ticketView = TicketView.fromName(view)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown view: " + view));
+        return ticketView == TicketView.FULL ? Optional.empty() : Optional.of(ticketView.fields());
+    }
+
+    @GetMapping("/tickets/count")
+    public ResponseEntity<Map<String, Long>> countTickets(
+            @ModelAttribute TicketFilter filter
+    ) {
+        return ResponseEntity.ok(Map.of("count", ticketService.countTickets(filter)));
+    }
+
+    @GetMapping("/tickets/page")
+    public ResponseEntity<TicketPage> getTicketPage(
+            @ModelAttribute TicketFilter filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size
     ) {
-        List<TicketEntity> tickets = ticketService.getFilteredTickets(assignedTo, createdBy, status, dueDate, location, mediaType);
-        return ResponseEntity.ok(tickets);
+        try {
+            return ResponseEntity.ok(ticketService.getTicketPage(filter, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/tickets/calendar")
+    public ResponseEntity<List<CalendarDay>> getCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) java.time.LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) java.time.LocalDate to,
+            @ModelAttribute TicketFilter filter
+    ) {
+        try {
+            return ResponseEntity.ok(ticketService.getCalendar(filter.forCalendar(from, to)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/tickets/changes")
+    public ResponseEntity<TicketChanges> getTicketChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) List<Integer> assignedTo
+    ) {
+        try {
+            return ResponseEntity.ok(ticketService.getTicketChanges(since, assignedTo == null ? List.of() : assignedTo));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (TicketService.SyncVersionExpiredException e) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
     }
 
     @GetMapping("/tickets/{ticketId}")
-    public ResponseEntity<TicketEntity> getTicketById(@PathVariable Integer ticketId) {
-        return ticketService.getTicketById(ticketId)
+    public ResponseEntity<TicketEntity> getTicketById(
+            @PathVariable Integer ticketId,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        Optional<TicketEntity> ticket = ticketService.getTicketById(ticketId);
+        if (ticket.isEmpty() && includeArchived) {
+            ticket = ticketService.getArchivedTicketById(ticketId);
+        }
+        return ticket
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping("/tickets")
-    public ResponseEntity<TicketEntity> createTicket(@Valid @RequestBody CreateTicketRequest request) {
+    public ResponseEntity<TicketEntity> createTicket(
+            @Valid @RequestBody CreateTicketRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         try {
-            TicketEntity newTicket = ticketService.createTicket(request);
-            return ResponseEntity.ok(newTicket);
+            if (idempotencyKey == null) {
+                TicketEntity newTicket = ticketService.createTicket(request);
+                return ResponseEntity.ok(newTicket);
+            }
+            IdempotencyStore.Result<TicketEntity> result = idempotencyStore.execute(
+                    "POST /tickets:" + keyScope() + ":" + idempotencyKey, request, () -> ticketService.createTicket(request));
+            return ResponseEntity.ok()
+                    .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                    .body(result.value());
+        } catch (IdempotencyStore.KeyReuseException e) {
+            return ResponseEntity.unprocessableEntity().build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
+        } catch (TicketReferenceValidator.ValidationTimeoutException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         }
     }
 
+    /**
+     * Idempotency keys are chosen by clients, so each user gets their own, and nobody can replay
+     * another user's ticket by guessing the key. The user comes from the verified token.
+     */
+    private static String keyScope() {
+        return AuthenticatedUser.current().map(user -> String.valueOf(user.userId())).orElse("anonymous");
+    }
+
     @PutMapping("/tickets/{ticketId}/status")
     public ResponseEntity<TicketEntity> updateTicketStatus(
             @PathVariable Integer ticketId,
             @RequestParam Status status) {
-        return ticketService.updateTicketStatus(ticketId, status)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        try {
+            return ticketService.updateTicketStatus(ticketId, status)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (StatusUpdateBuffer.WriteTimeoutException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
     }
 
     @PutMapping("/tickets/{ticketId}/assign")
     public ResponseEntity<TicketEntity> assignTicket(
             @PathVariable Integer ticketId,
-            @RequestParam Integer userId) {
+            @RequestParam(required = false) Integer userId,
+            @RequestParam(required = false) String strategy) {
         try {
-            return ticketService.assignTicket(ticketId, userId)
+            Optional<TicketEntity> assigned;
+            if (LEAST_LOADED.equals(strategy)) {
+                assigned = ticketService.assignTicketToLeastLoaded(ticketId);
+            } else if (userId != null && strategy == null) {
+                assigned = ticketService.assignTicket(ticketId, userId);
+            } else {
+                return ResponseEntity.badRequest().build();
+            }
+            return assigned
                     .map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
         } catch (IllegalArgumentException e) {
@@ -90,12 +244,46 @@ public class TicketController {
         }
     }
 
+    /**
+     * Assigns the next open ticket, by due date, to the calling worker. 204 if there is none left.
+     * The worker is the user of the verified token; a {@code userId} for anyone else is rejected.
+     */
+    @PostMapping("/tickets/claim")
+    public ResponseEntity<TicketEntity> claimTicket(
+            @RequestParam(required = false) Integer userId,
+            @RequestParam(required = false) String location) {
+        Optional<AuthenticatedUser> user = AuthenticatedUser.current();
+        if (user.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        Integer workerId = Math.toIntExact(user.get().userId());
+        if (userId != null && !userId.equals(workerId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ticketService.claimNextTicket(workerId, location)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.noContent().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/workers/load")
+    public ResponseEntity<List<WorkerLoad>> getWorkerLoads() {
+        return ResponseEntity.ok(ticketService.getWorkerLoads());
+    }
+
     @PutMapping("/tickets/{ticketId}/update")
     public ResponseEntity<TicketEntity> updateTicket(
             @PathVariable Integer ticketId,
             @Valid @RequestBody UpdateTicketRequest request) {
-        return ticketService.updateTicket(ticketId, request)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        try {
+            return ticketService.updateTicket(ticketId, request)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
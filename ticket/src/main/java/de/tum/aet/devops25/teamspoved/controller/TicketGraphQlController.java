@@ -0,0 +1,113 @@
+package de.tum.aet.devops25.teamspoved.controller;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.dataloader.DataLoader;
+import org.springframework.context.annotation.Profile;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.GraphQlExceptionHandler;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Controller;
+
+import de.tum.aet.devops25.teamspoved.client.MediaServiceClient;
+import de.tum.aet.devops25.teamspoved.client.UserServiceClient;
+import de.tum.aet.devops25.teamspoved.dto.MediaSummary;
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.dto.UserSummary;
+import de.tum.aet.devops25.teamspoved.model.Status;
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+import de.tum.aet.devops25.teamspoved.service.TicketService;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import reactor.core.publisher.Mono;
+
+/**
+ * GraphQL API for reading tickets together with their users and media (schema in
+ * src/main/resources/graphql), so a ticket list is rendered with a single round trip.
+ *
+ * Users and media are resolved through one DataLoader per downstream service. The loads of all
+ * fields of a request are collected and sent as one deduplicated batch: one call to the user
+ * service for every assignee and creator, one call to the media service for every attachment.
+ * If a service fails, only the affected fields are null and carry an error.
+ */
+@Controller
+@Profile("!reactive")
+public class TicketGraphQlController {
+    private final TicketService ticketService;
+
+    public TicketGraphQlController(TicketService ticketService, UserServiceClient userServiceClient,
+                                   MediaServiceClient mediaServiceClient, BatchLoaderRegistry batchLoaderRegistry) {
+        this.ticketService = ticketService;
+        batchLoaderRegistry.forTypePair(Integer.class, UserSummary.class)
+                .registerMappedBatchLoader((userIds, environment) -> Mono.fromCallable(
+                        () -> byId(userServiceClient.findUsersByIds(userIds), UserSummary::userId)));
+        batchLoaderRegistry.forTypePair(Integer.class, MediaSummary.class)
+                .registerMappedBatchLoader((mediaIds, environment) -> Mono.fromCallable(
+                        () -> byId(mediaServiceClient.findMediaByIds(mediaIds), MediaSummary::mediaId)));
+    }
+
+    @QueryMapping
+    public List<TicketEntity> tickets(
+            @Argument List<Integer> assignedTo,
+            @Argument List<Integer> createdBy,
+            @Argument List<Status> status,
+            @Argument String dueDate,
+            @Argument String dueFrom,
+            @Argument String dueTo,
+            @Argument List<String> location,
+            @Argument List<String> mediaType,
+            @Argument Boolean includeArchived) {
+        TicketFilter filter = new TicketFilter(assignedTo, createdBy, status, parseDate(dueDate), parseDate(dueFrom), parseDate(dueTo),
+                location, mediaType, Boolean.TRUE.equals(includeArchived));
+        return ticketService.getFilteredTickets(filter);
+    }
+
+    @QueryMapping
+    public TicketEntity ticket(@Argument Integer ticketId) {
+        return ticketService.getTicketById(ticketId).orElse(null);
+    }
+
+    @SchemaMapping(typeName = "Ticket")
+    public CompletableFuture<UserSummary> assignee(TicketEntity ticket, DataLoader<Integer, UserSummary> users) {
+        return load(users, ticket.getAssignedTo());
+    }
+
+    @SchemaMapping(typeName = "Ticket")
+    public CompletableFuture<UserSummary> creator(TicketEntity ticket, DataLoader<Integer, UserSummary> users) {
+        return load(users, ticket.getCreatedBy());
+    }
+
+    @SchemaMapping(typeName = "Ticket")
+    public CompletableFuture<MediaSummary> media(TicketEntity ticket, DataLoader<Integer, MediaSummary> media) {
+        return load(media, ticket.getMediaId());
+    }
+
+    @GraphQlExceptionHandler({IllegalArgumentException.class, DateTimeParseException.class})
+    public GraphQLError handleInvalidArgument(RuntimeException e) {
+        return GraphqlErrorBuilder.newError()
+                .errorType(ErrorType.BAD_REQUEST)
+                .message(e.getMessage())
+                .build();
+    }
+
+    private static <V> CompletableFuture<V> load(DataLoader<Integer, V> loader, Integer id) {
+        return id == null ? CompletableFuture.completedFuture(null) : loader.load(id);
+    }
+
+    private static <V> Map<Integer, V> byId(List<V> values, Function<V, Integer> id) {
+        return values.stream().collect(Collectors.toMap(id, Function.identity(), (first, second) -> first));
+    }
+
+    private static LocalDate parseDate(String date) {
+        return date == null ? null : LocalDate.parse(date);
+    }
+}
@@ -0,0 +1,63 @@
+package de.tum.aet.devops25.teamspoved.controller;
+
+import java.net.URI;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import de.tum.aet.devops25.teamspoved.dto.CreateTicketRequest;
+import de.tum.aet.devops25.teamspoved.dto.IngestJobResponse;
+import de.tum.aet.devops25.teamspoved.model.TicketIngestJobEntity;
+import de.tum.aet.devops25.teamspoved.service.TicketIngestService;
+
+/**
+ * Asynchronous ticket creation. {@code POST /tickets?async=true} answers with 202 as soon as
+ * the request is queued; clients poll the returned status URL for the created ticket id.
+ * The status of a created ticket is kept for {@code tickets.ingest.done-retention}.
+ */
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000", "http://localhost:8000", "http://localhost:8082", "http://localhost:8083", "http://localhost:8081"})
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TicketIngestController {
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final TicketIngestService ticketIngestService;
+
+    public TicketIngestController(TicketIngestService ticketIngestService) {
+        this.ticketIngestService = ticketIngestService;
+    }
+
+    @PostMapping(value = "/tickets", params = "async=true")
+    public ResponseEntity<?> enqueueTicket(@RequestBody CreateTicketRequest request) {
+        try {
+            TicketIngestJobEntity job = ticketIngestService.enqueue(request);
+            IngestJobResponse response = IngestJobResponse.from(job);
+            return ResponseEntity.accepted()
+                    .location(URI.create(response.statusUrl()))
+                    .body(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (TicketIngestService.QueueFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/tickets/ingest/{jobId}")
+    public ResponseEntity<IngestJobResponse> getIngestJob(@PathVariable Long jobId) {
+        return ticketIngestService.getJob(jobId)
+                .map(IngestJobResponse::from)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
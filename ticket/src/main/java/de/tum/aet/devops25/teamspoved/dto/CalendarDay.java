@@ -0,0 +1,12 @@
+package de.tum.aet.devops25.teamspoved.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.LocalDate;
+
+public record CalendarDay(
+    @JsonProperty("date") LocalDate date,
+    @JsonProperty("total") long total,
+    @JsonProperty("open") long open,
+    @JsonProperty("inProgress") long inProgress,
+    @JsonProperty("finished") long finished
+) {}
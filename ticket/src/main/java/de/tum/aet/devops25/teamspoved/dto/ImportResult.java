@@ -0,0 +1,20 @@
+package de.tum.aet.devops25.teamspoved.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Outcome of a bulk import. {@code errors} lists the first rejected rows only,
+ * {@code failed} counts all of them.
+ */
+public record ImportResult(
+    @JsonProperty("imported") long imported,
+    @JsonProperty("failed") long failed,
+    @JsonProperty("errors") List<RowError> errors
+) {
+    public record RowError(
+        @JsonProperty("row") long row,
+        @JsonProperty("error") String error
+    ) {}
+}
@@ -0,0 +1,19 @@
+package de.tum.aet.devops25.teamspoved.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import de.tum.aet.devops25.teamspoved.model.IngestStatus;
+import de.tum.aet.devops25.teamspoved.model.TicketIngestJobEntity;
+
+public record IngestJobResponse(
+    @JsonProperty("jobId") Long jobId,
+    @JsonProperty("status") IngestStatus status,
+    @JsonProperty("ticketId") Integer ticketId,
+    @JsonProperty("error") String error,
+    @JsonProperty("statusUrl") String statusUrl
+) {
+    public static IngestJobResponse from(TicketIngestJobEntity job) {
+        return new IngestJobResponse(job.getJobId(), job.getStatus(), job.getTicketId(), job.getError(),
+                "/tickets/ingest/" + job.getJobId());
+    }
+}
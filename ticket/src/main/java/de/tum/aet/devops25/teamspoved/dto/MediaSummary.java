@@ -0,0 +1,15 @@
+package de.tum.aet.devops25.teamspoved.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Metadata of a ticket attachment as returned by the media service, without the content.
+ */
+public record MediaSummary(
+    @JsonProperty("mediaId") Integer mediaId,
+    @JsonProperty("mediaType") String mediaType,
+    @JsonProperty("blobType") String blobType,
+    @JsonProperty("analyzed") Boolean analyzed,
+    @JsonProperty("result") String result,
+    @JsonProperty("reason") String reason
+) {}
@@ -0,0 +1,28 @@
+package de.tum.aet.devops25.teamspoved.dto;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Ticket attributes the time-to-resolution analytics are grouped by, selected through {@code by=}.
+ */
+public enum ResolutionDimension {
+    ALL("all"),
+    LOCATION("location"),
+    ASSIGNEE("assignee"),
+    MEDIA_TYPE("mediaType");
+
+    private final String name;
+
+    ResolutionDimension(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public static Optional<ResolutionDimension> fromName(String name) {
+        return Arrays.stream(values()).filter(dimension -> dimension.name.equals(name)).findFirst();
+    }
+}
@@ -0,0 +1,16 @@
+package de.tum.aet.devops25.teamspoved.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Time from creation to FINISHED of the tickets with one value of a {@link ResolutionDimension},
+ * in seconds. {@code value} is null for {@link ResolutionDimension#ALL}.
+ */
+public record ResolutionStats(
+    @JsonProperty("value") String value,
+    @JsonProperty("count") long count,
+    @JsonProperty("p50Seconds") long p50Seconds,
+    @JsonProperty("p90Seconds") long p90Seconds,
+    @JsonProperty("p99Seconds") long p99Seconds,
+    @JsonProperty("maxSeconds") long maxSeconds
+) {}
@@ -0,0 +1,17 @@
+package de.tum.aet.devops25.teamspoved.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+
+/**
+ * Tickets created or changed since a sync version, and the ids of tickets the client has to drop.
+ * The version is passed back as {@code since} with the next sync.
+ */
+public record TicketChanges(
+    @JsonProperty("version") String version,
+    @JsonProperty("tickets") List<TicketEntity> tickets,
+    @JsonProperty("removed") List<Integer> removed
+) {}
@@ -0,0 +1,43 @@
+package de.tum.aet.devops25.teamspoved.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Ticket attributes that can be requested individually through {@code fields=}.
+ * Each field knows its JSON property, its column in {@code db.tickets} and the Java type it is read as.
+ */
+public enum TicketField {
+    TICKET_ID("ticketId", "ticket_id", Integer.class),
+    ASSIGNED_TO("assignedTo", "assigned_to", Integer.class),
+    CREATED_BY("createdBy", "created_by", Integer.class),
+    TITLE("title", "title", String.class),
+    DESCRIPTION("description", "description", String.class),
+    STATUS("status", "status", String.class),
+    DUE_DATE("dueDate", "due_date", LocalDate.class),
+    LOCATION("location", "location", String.class),
+    MEDIA_TYPE("mediaType", "media_type", String.class),
+    MEDIA_ID("mediaId", "media_id", Integer.class),
+    FINISHED_AT("finishedAt", "finished_at", LocalDateTime.class),
+    DUPLICATE_OF("duplicateOf", "duplicate_of", Integer.class);
+
+    private final String property;
+    private final String column;
+    private final Class<?> type;
+
+    TicketField(String property, String column, Class<?> type) {
+        this.property = property;
+        this.column = column;
+        this.type = type;
+    }
+
+    public String property() { return property; }
+    public String column() { return column; }
+    public Class<?> type() { return type; }
+
+    public static Optional<TicketField> fromProperty(String property) {
+        return Arrays.stream(values()).filter(field -> field.property.equals(property)).findFirst();
+    }
+}
@@ -0,0 +1,38 @@
+package de.tum.aet.devops25.teamspoved.dto;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.springframework.http.MediaType;
+
+/**
+ * File formats for bulk ticket export and import, selected through {@code format=}.
+ */
+public enum TicketFileFormat {
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON),
+    CSV("csv", MediaType.parseMediaType("text/csv"));
+
+    private final String name;
+    private final MediaType contentType;
+
+    TicketFileFormat(String name, MediaType contentType) {
+        this.name = name;
+        this.contentType = contentType;
+    }
+
+    public String extension() {
+        return name;
+    }
+
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    public static Optional<TicketFileFormat> fromName(String name) {
+        return Arrays.stream(values()).filter(format -> format.name.equalsIgnoreCase(name)).findFirst();
+    }
+
+    public static Optional<TicketFileFormat> fromContentType(MediaType mediaType) {
+        return Arrays.stream(values()).filter(format -> format.contentType.isCompatibleWith(mediaType)).findFirst();
+    }
+}
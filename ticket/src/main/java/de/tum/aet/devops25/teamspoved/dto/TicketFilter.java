@@ -0,0 +1,71 @@
+package de.tum.aet.devops25.teamspoved.dto;
+
+import de.tum.aet.devops25.teamspoved.model.Status;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Filter criteria for ticket queries. An empty list or a {@code null} date matches every ticket,
+ * a list with several values matches tickets having any of them.
+ * {@code dueFrom} and {@code dueTo} are inclusive bounds on the due date.
+ * Archived tickets are only included if {@code includeArchived} is set.
+ *
+ * Lists are normalized (sorted, without duplicates), so two filters selecting the same
+ * tickets are equal regardless of the order in which the values were passed.
+ *
+ * Controllers bind it from the query parameters of the same names with {@code @ModelAttribute}.
+ */
+public record TicketFilter(
+    List<Integer> assignedTo,
+    List<Integer> createdBy,
+    List<Status> status,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDate,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+    List<String> location,
+    List<String> mediaType,
+    boolean includeArchived
+) {
+    public TicketFilter {
+        assignedTo = normalize(assignedTo);
+        createdBy = normalize(createdBy);
+        status = normalize(status);
+        location = normalize(location);
+        mediaType = normalize(mediaType);
+    }
+
+    /**
+     * The tickets of this filter due from {@code from} to {@code to}, in every status, as the calendar counts them.
+     */
+    public TicketFilter forCalendar(LocalDate from, LocalDate to) {
+        return new TicketFilter(assignedTo, createdBy, null, null, from, to, location, mediaType, includeArchived);
+    }
+
+    /**
+     * Whether a ticket with the given attributes is selected by this filter. Mirrors the WHERE
+     * clause built for the database query.
+     */
+    public boolean matches(TicketSnapshot ticket) {
+        return matchesAny(assignedTo, ticket.assignedTo())
+                && matchesAny(createdBy, ticket.createdBy())
+                && matchesAny(status, ticket.status())
+                && matchesAny(location, ticket.location())
+                && matchesAny(mediaType, ticket.mediaType() == null ? null : ticket.mediaType().name())
+                && (dueDate == null || dueDate.equals(ticket.dueDate()))
+                && (dueFrom == null || (ticket.dueDate() != null && !ticket.dueDate().isBefore(dueFrom)))
+                && (dueTo == null || (ticket.dueDate() != null && !ticket.dueDate().isAfter(dueTo)));
+    }
+
+    private static <T> boolean matchesAny(List<T> values, T value) {
+        return values.isEmpty() || (value != null && values.contains(value));
+    }
+
+    private static <T extends Comparable<? super T>> List<T> normalize(List<T> values) {
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream().filter(Objects::nonNull).distinct().sorted().toList();
+    }
+}
@@ -0,0 +1,17 @@
+package de.tum.aet.devops25.teamspoved.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+
+/**
+ * One page of a filtered ticket list, ordered by ticket id, with the number of all matching tickets.
+ */
+public record TicketPage(
+    @JsonProperty("page") int page,
+    @JsonProperty("size") int size,
+    @JsonProperty("total") long total,
+    @JsonProperty("tickets") List<TicketEntity> tickets
+) {}
@@ -0,0 +1,24 @@
+package de.tum.aet.devops25.teamspoved.dto;
+
+import java.time.LocalDate;
+
+import de.tum.aet.devops25.teamspoved.model.MediaTypeEnum;
+import de.tum.aet.devops25.teamspoved.model.Status;
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+
+/**
+ * The attributes of a ticket that {@link TicketFilter} selects on, captured before or after a write.
+ */
+public record TicketSnapshot(
+    Integer assignedTo,
+    Integer createdBy,
+    Status status,
+    LocalDate dueDate,
+    String location,
+    MediaTypeEnum mediaType
+) {
+    public static TicketSnapshot of(TicketEntity ticket) {
+        return new TicketSnapshot(ticket.getAssignedTo(), ticket.getCreatedBy(), ticket.getStatus(),
+                ticket.getDueDate(), ticket.getLocation(), ticket.getMediaType());
+    }
+}
@@ -0,0 +1,31 @@
+package de.tum.aet.devops25.teamspoved.dto;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Named field sets for ticket list responses, selected through {@code view=}.
+ */
+public enum TicketView {
+    SUMMARY("summary", EnumSet.of(TicketField.TICKET_ID, TicketField.TITLE, TicketField.STATUS,
+            TicketField.DUE_DATE, TicketField.ASSIGNED_TO, TicketField.LOCATION)),
+    FULL("full", EnumSet.allOf(TicketField.class));
+
+    private final String name;
+    private final Set<TicketField> fields;
+
+    TicketView(String name, Set<TicketField> fields) {
+        this.name = name;
+        this.fields = fields;
+    }
+
+    public Set<TicketField> fields() {
+        return EnumSet.copyOf(fields);
+    }
+
+    public static Optional<TicketView> fromName(String name) {
+        return Arrays.stream(values()).filter(view -> view.name.equals(name)).findFirst();
+    }
+}
@@ -0,0 +1,9 @@
+package de.tum.aet.devops25.teamspoved.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record UserSummary(
+    @JsonProperty("userId") Integer userId,
+    @JsonProperty("name") String name,
+    @JsonProperty("role") String role
+) {}
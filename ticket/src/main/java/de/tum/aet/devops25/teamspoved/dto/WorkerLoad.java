@@ -0,0 +1,14 @@
+package de.tum.aet.devops25.teamspoved.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record WorkerLoad(
+    @JsonProperty("userId") Integer userId,
+    @JsonProperty("openTickets") long openTickets,
+    @JsonProperty("inProgressTickets") long inProgressTickets
+) {
+    @JsonProperty("totalTickets")
+    public long totalTickets() {
+        return openTickets + inProgressTickets;
+    }
+}
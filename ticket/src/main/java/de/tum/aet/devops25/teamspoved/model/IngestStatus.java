@@ -0,0 +1,8 @@
+package de.tum.aet.devops25.teamspoved.model;
+
+public enum IngestStatus {
+    PENDING,
+    PROCESSING,
+    DONE,
+    FAILED
+}
@@ -1,7 +1,9 @@
 package de.tum.aet.devops25.teamspoved.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Generated;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "tickets", schema = "db")
@@ -40,6 +42,18 @@ public class TicketEntity {
     @Column(name="media_id", nullable = true)
     private Integer mediaId;
 
+    @Column(name = "finished_at", nullable = true)
+    private LocalDateTime finishedAt;
+
+    // Set when the ticket was created as a near-duplicate of this open ticket, see DuplicateTicketIndex
+    @Column(name = "duplicate_of", nullable = true)
+    private Integer duplicateOf;
+
+    // Set by the database on insert; null for tickets created before the column existed
+    @Generated
+    @Column(name = "created_at", nullable = true, updatable = false)
+    private LocalDateTime createdAt;
+
     // Getters and setters
     public Integer getTicketId() { return ticketId; }
     public void setTicketId(Integer ticketId) { this.ticketId = ticketId; }
@@ -61,6 +75,12 @@ public class TicketEntity {
     public void setMediaType(MediaTypeEnum mediaType) { this.mediaType = mediaType; }
     public Integer getMediaId() { return mediaId; }
     public void setMediaId(Integer mediaId) { this.mediaId = mediaId; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+    public Integer getDuplicateOf() { return duplicateOf; }
+    public void setDuplicateOf(Integer duplicateOf) { this.duplicateOf = duplicateOf; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
     @Override
     public String toString() {
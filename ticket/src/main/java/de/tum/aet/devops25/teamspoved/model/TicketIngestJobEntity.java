@@ -0,0 +1,62 @@
+package de.tum.aet.devops25.teamspoved.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A create ticket request that was accepted with {@code POST /tickets?async=true}
+ * and is waiting to be written by the ingest worker.
+ */
+@Entity
+@Table(name = "ticket_ingest_queue", schema = "db")
+public class TicketIngestJobEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private IngestStatus status = IngestStatus.PENDING;
+
+    @Column(name = "ticket_id", nullable = true)
+    private Integer ticketId;
+
+    @Column(nullable = true, length = 999)
+    private String error;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "claimed_at", nullable = true)
+    private LocalDateTime claimedAt;
+
+    @Column(name = "processed_at", nullable = true)
+    private LocalDateTime processedAt;
+
+    // Getters and setters
+    public Long getJobId() { return jobId; }
+    public void setJobId(Long jobId) { this.jobId = jobId; }
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+    public IngestStatus getStatus() { return status; }
+    public void setStatus(IngestStatus status) { this.status = status; }
+    public Integer getTicketId() { return ticketId; }
+    public void setTicketId(Integer ticketId) { this.ticketId = ticketId; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getClaimedAt() { return claimedAt; }
+    public void setClaimedAt(LocalDateTime claimedAt) { this.claimedAt = claimedAt; }
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+}
@@ -0,0 +1,98 @@
+package de.tum.aet.devops25.teamspoved.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.model.MediaTypeEnum;
+import de.tum.aet.devops25.teamspoved.model.Status;
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking ticket reads over R2DBC for the reactive deployment (profile {@code reactive}).
+ *
+ * Rows are fetched from a server-side cursor in chunks of {@code tickets.reactive.fetch-size},
+ * so a slow client only holds back the next chunk instead of buffering the whole result.
+ * With several shards, the lists of all shards that may hold matches are merged by id as they
+ * arrive, and single tickets are read from the shard given by their id (see {@link TicketShards}).
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTicketRepository {
+    private final List<DatabaseClient> databaseClients;
+    private final TicketShards shards;
+
+    @Value("${tickets.reactive.fetch-size:256}")
+    private int fetchSize;
+
+    public ReactiveTicketRepository(@Qualifier("shardDatabaseClients") List<DatabaseClient> databaseClients, TicketShards shards) {
+        this.databaseClients = databaseClients;
+        this.shards = shards;
+    }
+
+    public Flux<TicketEntity> findFilteredTickets(TicketFilter filter) {
+        TicketQuery query = TicketQuery.r2dbc(filter);
+        String sql = "SELECT " + TicketQuery.TICKET_COLUMNS + " FROM " + query.from() + query.where() + " ORDER BY t.ticket_id";
+        List<Flux<TicketEntity>> results = new ArrayList<>();
+        for (int shard = 0; shard < shards.count(); shard++) {
+            if (shards.mayHold(shard, filter.location())) {
+                results.add(execute(shard, sql, query.args()).map(ReactiveTicketRepository::mapTicket).all());
+            }
+        }
+        if (results.size() == 1) {
+            return results.get(0);
+        }
+        @SuppressWarnings("unchecked")
+        Flux<TicketEntity>[] sources = results.toArray(new Flux[0]);
+        return Flux.mergeComparing(Comparator.comparing(TicketEntity::getTicketId), sources);
+    }
+
+    public Mono<TicketEntity> findById(Integer ticketId) {
+        String sql = "SELECT " + TicketQuery.TICKET_COLUMNS + " FROM db.tickets WHERE ticket_id = $1";
+        return execute(shards.forTicket(ticketId), sql, List.of(ticketId)).map(ReactiveTicketRepository::mapTicket).one();
+    }
+
+    public Mono<TicketEntity> findArchivedById(Integer ticketId) {
+        String sql = "SELECT " + TicketQuery.TICKET_COLUMNS + " FROM db.tickets_archive WHERE ticket_id = $1";
+        return execute(shards.forTicket(ticketId), sql, List.of(ticketId)).map(ReactiveTicketRepository::mapTicket).one();
+    }
+
+    private DatabaseClient.GenericExecuteSpec execute(int shard, String sql, List<Object> args) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClients.get(shard).sql(sql)
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)));
+        for (int i = 0; i < args.size(); i++) {
+            spec = spec.bind(i, args.get(i));
+        }
+        return spec;
+    }
+
+    private static TicketEntity mapTicket(Readable row) {
+        TicketEntity ticket = new TicketEntity();
+        ticket.setTicketId(row.get("ticket_id", Integer.class));
+        ticket.setAssignedTo(row.get("assigned_to", Integer.class));
+        ticket.setCreatedBy(row.get("created_by", Integer.class));
+        ticket.setTitle(row.get("title", String.class));
+        ticket.setDescription(row.get("description", String.class));
+        ticket.setStatus(Status.valueOf(row.get("status", String.class)));
+        ticket.setDueDate(row.get("due_date", LocalDate.class));
+        ticket.setLocation(row.get("location", String.class));
+        ticket.setMediaType(MediaTypeEnum.valueOf(row.get("media_type", String.class)));
+        ticket.setMediaId(row.get("media_id", Integer.class));
+        ticket.setFinishedAt(row.get("finished_at", LocalDateTime.class));
+        ticket.setDuplicateOf(row.get("duplicate_of", Integer.class));
+        ticket.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        return ticket;
+    }
+}
@@ -0,0 +1,29 @@
+package de.tum.aet.devops25.teamspoved.repository;
+
+import de.tum.aet.devops25.teamspoved.model.TicketIngestJobEntity;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TicketIngestJobRepository extends JpaRepository<TicketIngestJobEntity, Long> {
+    // Jobs left in PROCESSING by a worker that died are picked up again once they are stale
+    @Query(value = "SELECT job_id FROM db.ticket_ingest_queue " +
+            "WHERE status = 'PENDING' OR (status = 'PROCESSING' AND claimed_at < :staleBefore) " +
+            "ORDER BY job_id LIMIT :batchSize FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> lockClaimableJobIds(@Param("staleBefore") LocalDateTime staleBefore, @Param("batchSize") int batchSize);
+
+    // Stops counting at the limit, so checking for a full queue stays cheap however long it is
+    @Query(value = "SELECT count(*) FROM (SELECT 1 FROM db.ticket_ingest_queue WHERE status = 'PENDING' LIMIT :limit) pending",
+            nativeQuery = true)
+    long countPendingUpTo(@Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM db.ticket_ingest_queue WHERE job_id IN (SELECT job_id FROM db.ticket_ingest_queue " +
+            "WHERE status = 'DONE' AND processed_at < :before LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteDoneBefore(@Param("before") LocalDateTime before, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,96 @@
+package de.tum.aet.devops25.teamspoved.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.model.Status;
+
+/**
+ * FROM and WHERE clause of a filtered ticket query together with its bind values.
+ *
+ * Only the criteria that are set end up in the WHERE clause, so Postgres can use the
+ * matching indexes, and the archive table is only touched when it is explicitly requested.
+ * JDBC and R2DBC only differ in their bind markers, so both read paths share this class.
+ */
+final class TicketQuery {
+    static final String TICKET_COLUMNS = "ticket_id, assigned_to, created_by, title, description, status, " +
+            "due_date, location, media_type, media_id, finished_at, duplicate_of, created_at";
+
+    private final IntFunction<String> bindMarker;
+    private final List<Object> args = new ArrayList<>();
+    private final String from;
+    private final String where;
+
+    private TicketQuery(TicketFilter filter, IntFunction<String> bindMarker) {
+        this.bindMarker = bindMarker;
+        this.from = source(filter);
+        this.where = where(filter);
+    }
+
+    static TicketQuery jdbc(TicketFilter filter) {
+        return new TicketQuery(filter, index -> "?");
+    }
+
+    static TicketQuery r2dbc(TicketFilter filter) {
+        return new TicketQuery(filter, index -> "$" + index);
+    }
+
+    String from() {
+        return from;
+    }
+
+    String where() {
+        return where;
+    }
+
+    List<Object> args() {
+        return args;
+    }
+
+    private static String source(TicketFilter filter) {
+        return filter.includeArchived()
+                ? "(SELECT " + TICKET_COLUMNS + " FROM db.tickets UNION ALL SELECT " + TICKET_COLUMNS + " FROM db.tickets_archive) t"
+                : "db.tickets t";
+    }
+
+    private String where(TicketFilter filter) {
+        List<String> conditions = new ArrayList<>();
+        addAnyCondition(conditions, "t.assigned_to", filter.assignedTo(), Integer[]::new);
+        addAnyCondition(conditions, "t.created_by", filter.createdBy(), Integer[]::new);
+        addAnyCondition(conditions, "t.status", filter.status().stream().map(Status::name).toList(), String[]::new);
+        addCondition(conditions, "t.due_date = ", filter.dueDate());
+        addCondition(conditions, "t.due_date >= ", filter.dueFrom());
+        addCondition(conditions, "t.due_date <= ", filter.dueTo());
+        addAnyCondition(conditions, "t.location", filter.location(), String[]::new);
+        addAnyCondition(conditions, "t.media_type", filter.mediaType(), String[]::new);
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private void addCondition(List<String> conditions, String condition, Object value) {
+        if (value != null) {
+            conditions.add(condition + bind(value));
+        }
+    }
+
+    /**
+     * Matches any of the given values. Several values are bound as a single array parameter,
+     * which keeps the statement text stable and lets Postgres use the column index.
+     */
+    private <T> void addAnyCondition(List<String> conditions, String column, List<T> values, IntFunction<T[]> arrayFactory) {
+        if (values.isEmpty()) {
+            return;
+        }
+        if (values.size() == 1) {
+            conditions.add(column + " = " + bind(values.get(0)));
+        } else {
+            conditions.add(column + " = ANY(" + bind(values.toArray(arrayFactory.apply(values.size()))) + ")");
+        }
+    }
+
+    private String bind(Object value) {
+        args.add(value);
+        return bindMarker.apply(args.size());
+    }
+}
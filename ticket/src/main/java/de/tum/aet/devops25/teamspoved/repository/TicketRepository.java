@@ -2,26 +2,61 @@ package de.tum.aet.devops25.teamspoved.repository;
 
 import de.tum.aet.devops25.teamspoved.model.Status;
 import de.tum.aet.devops25.teamspoved.model.TicketEntity;
-import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface TicketRepository extends JpaRepository<TicketEntity, Integer> {
-    @Query("SELECT t FROM TicketEntity t WHERE " +
-            "(:assignedTo IS NULL OR t.assignedTo = :assignedTo) AND " +
-            "(:createdBy IS NULL OR t.createdBy = :createdBy) AND " +
-            "(:status IS NULL OR t.status = :status) AND " +
-            "(:dueDate IS NULL OR t.dueDate = :dueDate) AND " +
-            "(:location IS NULL OR t.location = :location) AND " +
-            "(:mediaType IS NULL OR t.mediaType = :mediaType)")
-    List<TicketEntity> findFilteredTickets(
-            @Param("assignedTo") Integer assignedTo,
-            @Param("createdBy") Integer createdBy,
-            @Param("status") Status status,
-            @Param("dueDate") LocalDate dueDate,
-            @Param("location") String location,
-            @Param("mediaType") String mediaType
-    );
+public interface TicketRepository extends JpaRepository<TicketEntity, Integer>, TicketRepositoryCustom {
+    @Query("SELECT t.assignedTo AS assignedTo, t.status AS status, COUNT(t) AS total FROM TicketEntity t " +
+            "WHERE t.assignedTo IS NOT NULL AND t.status <> de.tum.aet.devops25.teamspoved.model.Status.FINISHED " +
+            "GROUP BY t.assignedTo, t.status")
+    List<AssigneeStatusCount> countActiveTicketsByAssignee();
+
+    // Archival of finished tickets, see TicketArchiver
+    @Query(value = "SELECT ticket_id FROM db.tickets " +
+            "WHERE status = 'FINISHED' AND finished_at < :cutoff " +
+            "ORDER BY finished_at LIMIT :batchSize FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Integer> lockFinishedTicketIdsBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = "INSERT INTO db.tickets_archive (" + TicketRepositoryCustomImpl.TICKET_COLUMNS + ") " +
+            "SELECT " + TicketRepositoryCustomImpl.TICKET_COLUMNS + " FROM db.tickets WHERE ticket_id IN (:ticketIds)",
+            nativeQuery = true)
+    int copyToArchive(@Param("ticketIds") List<Integer> ticketIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM db.tickets WHERE ticket_id IN (:ticketIds)", nativeQuery = true)
+    int deleteArchived(@Param("ticketIds") List<Integer> ticketIds);
+
+    // Claiming of the next open ticket by a worker, see TicketService#claimNextTicket.
+    // Tickets locked by a concurrent claim are skipped instead of waited for.
+    @Query(value = "SELECT ticket_id FROM db.tickets " +
+            "WHERE status = 'OPEN' AND assigned_to IS NULL AND duplicate_of IS NULL " +
+            "ORDER BY due_date, ticket_id LIMIT 1 FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    Optional<Integer> lockNextClaimableTicketId();
+
+    @Query(value = "SELECT ticket_id FROM db.tickets " +
+            "WHERE status = 'OPEN' AND assigned_to IS NULL AND duplicate_of IS NULL AND location = :location " +
+            "ORDER BY due_date, ticket_id LIMIT 1 FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    Optional<Integer> lockNextClaimableTicketIdAt(@Param("location") String location);
+
+    // Loading of the near-duplicate index, see DuplicateTicketIndex
+    @Query("SELECT t FROM TicketEntity t WHERE t.ticketId > :afterId " +
+            "AND t.status <> de.tum.aet.devops25.teamspoved.model.Status.FINISHED AND t.duplicateOf IS NULL " +
+            "ORDER BY t.ticketId")
+    List<TicketEntity> findIndexableTicketsAfter(@Param("afterId") int afterId, Pageable page);
+
+    interface AssigneeStatusCount {
+        Integer getAssignedTo();
+        Status getStatus();
+        Long getTotal();
+    }
 }
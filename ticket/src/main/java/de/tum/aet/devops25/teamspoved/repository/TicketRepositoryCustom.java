@@ -0,0 +1,81 @@
+package de.tum.aet.devops25.teamspoved.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import de.tum.aet.devops25.teamspoved.dto.CalendarDay;
+import de.tum.aet.devops25.teamspoved.dto.TicketField;
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.dto.TicketSnapshot;
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+
+public interface TicketRepositoryCustom {
+    List<TicketEntity> findFilteredTickets(TicketFilter filter);
+
+    /**
+     * Like {@link #findFilteredTickets}, but only returns {@code limit} tickets after skipping {@code offset}, ordered by id.
+     */
+    List<TicketEntity> findFilteredTickets(TicketFilter filter, long offset, int limit);
+
+    long countFilteredTickets(TicketFilter filter);
+
+    /**
+     * Like {@link #findFilteredTickets}, but only selects the given columns. Each row is returned
+     * as a map from the field's JSON property to its value, in the declaration order of {@link TicketField}.
+     */
+    List<Map<String, Object>> findFilteredTicketFields(TicketFilter filter, Set<TicketField> fields);
+
+    /**
+     * Like {@link #findFilteredTickets}, but reads the rows lazily through a cursor fetching
+     * {@code fetchSize} rows at a time. Must be called inside a transaction, and the stream
+     * must be closed to release the connection.
+     */
+    Stream<TicketEntity> streamFilteredTickets(TicketFilter filter, int fetchSize);
+
+    /**
+     * The filterable attributes of every ticket that is not archived, read through a cursor.
+     * Must be called inside a transaction, and the stream must be closed to release the connection.
+     */
+    Stream<TicketAttributes> streamTicketAttributes(int fetchSize);
+
+    Optional<TicketEntity> findArchivedTicketById(Integer ticketId);
+
+    /**
+     * Number of tickets per due date and status for all tickets matching the filter,
+     * ordered by date. Days without tickets are omitted.
+     */
+    List<CalendarDay> countTicketsPerDueDate(TicketFilter filter);
+
+    /**
+     * The oldest transaction that is still running. Every change that is not visible yet gets a
+     * {@code change_version} at or above it, so it is the version a client syncs from next.
+     */
+    long currentSyncVersion();
+
+    /**
+     * Highest version of the tombstones removed so far; clients that last synced at or before it need a full sync.
+     */
+    long syncHorizon();
+
+    /**
+     * Tickets written at or after the given version, assigned to one of the users if any are given, ordered by id.
+     */
+    List<TicketEntity> findTicketsChangedSince(long version, List<Integer> assignedTo);
+
+    /**
+     * Tickets that were deleted at or after the given version or, if users are given, taken away from
+     * them, and that are not part of the selection any more. Ordered by id.
+     */
+    List<Integer> findTicketsRemovedSince(long version, List<Integer> assignedTo);
+
+    /**
+     * Deletes tombstones older than the given number of days, by the database clock, and raises
+     * the {@link #syncHorizon} accordingly.
+     */
+    void pruneTombstones(int retentionDays);
+
+    record TicketAttributes(int ticketId, TicketSnapshot snapshot) {}
+}
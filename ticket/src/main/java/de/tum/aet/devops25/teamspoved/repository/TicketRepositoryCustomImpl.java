@@ -0,0 +1,198 @@
+package de.tum.aet.devops25.teamspoved.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import de.tum.aet.devops25.teamspoved.dto.CalendarDay;
+import de.tum.aet.devops25.teamspoved.dto.TicketField;
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.dto.TicketSnapshot;
+import de.tum.aet.devops25.teamspoved.model.MediaTypeEnum;
+import de.tum.aet.devops25.teamspoved.model.Status;
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+
+/**
+ * Ticket queries whose SQL depends on the given filter, see {@link TicketQuery}.
+ */
+public class TicketRepositoryCustomImpl implements TicketRepositoryCustom {
+    static final String TICKET_COLUMNS = TicketQuery.TICKET_COLUMNS;
+
+    static final RowMapper<TicketEntity> TICKET_ROW_MAPPER = TicketRepositoryCustomImpl::mapTicket;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TicketRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<TicketEntity> findFilteredTickets(TicketFilter filter) {
+        TicketQuery query = TicketQuery.jdbc(filter);
+        String sql = "SELECT " + TICKET_COLUMNS + " FROM " + query.from() + query.where() + " ORDER BY t.ticket_id";
+        return jdbcTemplate.query(sql, TICKET_ROW_MAPPER, query.args().toArray());
+    }
+
+    @Override
+    public List<TicketEntity> findFilteredTickets(TicketFilter filter, long offset, int limit) {
+        TicketQuery query = TicketQuery.jdbc(filter);
+        String sql = "SELECT " + TICKET_COLUMNS + " FROM " + query.from() + query.where() + " ORDER BY t.ticket_id LIMIT ? OFFSET ?";
+        List<Object> args = new ArrayList<>(query.args());
+        args.add(limit);
+        args.add(offset);
+        return jdbcTemplate.query(sql, TICKET_ROW_MAPPER, args.toArray());
+    }
+
+    @Override
+    public long countFilteredTickets(TicketFilter filter) {
+        TicketQuery query = TicketQuery.jdbc(filter);
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + query.from() + query.where(), Long.class, query.args().toArray());
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public List<Map<String, Object>> findFilteredTicketFields(TicketFilter filter, Set<TicketField> fields) {
+        List<TicketField> columns = EnumSet.copyOf(fields).stream().toList();
+        String select = columns.stream().map(field -> "t." + field.column()).collect(Collectors.joining(", "));
+        TicketQuery query = TicketQuery.jdbc(filter);
+        String sql = "SELECT " + select + " FROM " + query.from() + query.where() + " ORDER BY t.ticket_id";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TicketField field : columns) {
+                row.put(field.property(), rs.getObject(field.column(), field.type()));
+            }
+            return row;
+        }, query.args().toArray());
+    }
+
+    @Override
+    public List<CalendarDay> countTicketsPerDueDate(TicketFilter filter) {
+        TicketQuery query = TicketQuery.jdbc(filter);
+        String sql = "SELECT t.due_date, COUNT(*) AS total, " +
+                "COUNT(*) FILTER (WHERE t.status = 'OPEN') AS open, " +
+                "COUNT(*) FILTER (WHERE t.status = 'IN_PROGRESS') AS in_progress, " +
+                "COUNT(*) FILTER (WHERE t.status = 'FINISHED') AS finished " +
+                "FROM " + query.from() + query.where() +
+                " GROUP BY t.due_date ORDER BY t.due_date";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new CalendarDay(
+                rs.getObject("due_date", LocalDate.class),
+                rs.getLong("total"),
+                rs.getLong("open"),
+                rs.getLong("in_progress"),
+                rs.getLong("finished")), query.args().toArray());
+    }
+
+    @Override
+    public Stream<TicketEntity> streamFilteredTickets(TicketFilter filter, int fetchSize) {
+        TicketQuery query = TicketQuery.jdbc(filter);
+        String sql = "SELECT " + TICKET_COLUMNS + " FROM " + query.from() + query.where() + " ORDER BY t.ticket_id";
+        // Postgres only uses a cursor for a fetch size inside a transaction, otherwise it reads the whole result
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            new ArgumentPreparedStatementSetter(query.args().toArray()).setValues(statement);
+            return statement;
+        }, TICKET_ROW_MAPPER);
+    }
+
+    @Override
+    public Stream<TicketAttributes> streamTicketAttributes(int fetchSize) {
+        String sql = "SELECT ticket_id, assigned_to, created_by, status, due_date, location, media_type FROM db.tickets";
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (rs, rowNum) -> new TicketAttributes(rs.getInt("ticket_id"), new TicketSnapshot(
+                rs.getObject("assigned_to", Integer.class),
+                rs.getObject("created_by", Integer.class),
+                Status.valueOf(rs.getString("status")),
+                rs.getObject("due_date", LocalDate.class),
+                rs.getString("location"),
+                MediaTypeEnum.valueOf(rs.getString("media_type")))));
+    }
+
+    @Override
+    public Optional<TicketEntity> findArchivedTicketById(Integer ticketId) {
+        return jdbcTemplate.query("SELECT " + TICKET_COLUMNS + " FROM db.tickets_archive WHERE ticket_id = ?",
+                TICKET_ROW_MAPPER, ticketId).stream().findFirst();
+    }
+
+    @Override
+    public long currentSyncVersion() {
+        return jdbcTemplate.queryForObject("SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", Long.class);
+    }
+
+    @Override
+    public long syncHorizon() {
+        Long horizon = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(version), 0) FROM db.ticket_sync_horizon", Long.class);
+        return horizon == null ? 0 : horizon;
+    }
+
+    @Override
+    public List<TicketEntity> findTicketsChangedSince(long version, List<Integer> assignedTo) {
+        if (assignedTo.isEmpty()) {
+            return jdbcTemplate.query("SELECT " + TICKET_COLUMNS + " FROM db.tickets WHERE change_version >= ? ORDER BY ticket_id",
+                    TICKET_ROW_MAPPER, version);
+        }
+        return jdbcTemplate.query("SELECT " + TICKET_COLUMNS + " FROM db.tickets WHERE assigned_to = ANY(?) AND change_version >= ? ORDER BY ticket_id",
+                TICKET_ROW_MAPPER, assignedTo.toArray(Integer[]::new), version);
+    }
+
+    @Override
+    public List<Integer> findTicketsRemovedSince(long version, List<Integer> assignedTo) {
+        if (assignedTo.isEmpty()) {
+            return jdbcTemplate.queryForList("SELECT DISTINCT tb.ticket_id FROM db.ticket_tombstones tb " +
+                    "WHERE tb.change_version >= ? AND tb.deleted " +
+                    "AND NOT EXISTS (SELECT 1 FROM db.tickets t WHERE t.ticket_id = tb.ticket_id) " +
+                    "ORDER BY tb.ticket_id", Integer.class, version);
+        }
+        // A ticket may have come back to one of the users after the tombstone, so the current row decides
+        Integer[] assignees = assignedTo.toArray(Integer[]::new);
+        return jdbcTemplate.queryForList("SELECT DISTINCT tb.ticket_id FROM db.ticket_tombstones tb " +
+                "LEFT JOIN db.tickets t ON t.ticket_id = tb.ticket_id " +
+                "WHERE tb.change_version >= ? AND tb.assigned_to = ANY(?) " +
+                "AND (t.ticket_id IS NULL OR t.assigned_to IS NULL OR NOT t.assigned_to = ANY(?)) " +
+                "ORDER BY tb.ticket_id", Integer.class, version, assignees, assignees);
+    }
+
+    @Override
+    public void pruneTombstones(int retentionDays) {
+        jdbcTemplate.update("WITH pruned AS (DELETE FROM db.ticket_tombstones " +
+                "WHERE created_at < now() - make_interval(days => ?) RETURNING change_version) " +
+                "UPDATE db.ticket_sync_horizon SET version = GREATEST(version, (SELECT COALESCE(MAX(change_version), 0) FROM pruned)) " +
+                "WHERE id = 1", retentionDays);
+    }
+
+    private static TicketEntity mapTicket(ResultSet rs, int rowNum) throws SQLException {
+        TicketEntity ticket = new TicketEntity();
+        ticket.setTicketId(rs.getInt("ticket_id"));
+        ticket.setAssignedTo(rs.getObject("assigned_to", Integer.class));
+        ticket.setCreatedBy(rs.getObject("created_by", Integer.class));
+        ticket.setTitle(rs.getString("title"));
+        ticket.setDescription(rs.getString("description"));
+        ticket.setStatus(Status.valueOf(rs.getString("status")));
+        ticket.setDueDate(rs.getObject("due_date", LocalDate.class));
+        ticket.setLocation(rs.getString("location"));
+        ticket.setMediaType(MediaTypeEnum.valueOf(rs.getString("media_type")));
+        ticket.setMediaId(rs.getObject("media_id", Integer.class));
+        ticket.setFinishedAt(rs.getObject("finished_at", LocalDateTime.class));
+        ticket.setDuplicateOf(rs.getObject("duplicate_of", Integer.class));
+        ticket.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        return ticket;
+    }
+}
@@ -0,0 +1,147 @@
+package de.tum.aet.devops25.teamspoved.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Placement of tickets on the configured databases (shards), see {@code ShardingConfig}.
+ *
+ * A new ticket is stored on the shard derived from its location. Every shard draws ticket ids
+ * from its own sequence with a step of the shard count, so the shard of an existing ticket
+ * follows from its id alone. Repository calls go to the shard selected with {@link #on}; queries
+ * that are not bound to one ticket run on every shard in parallel with {@link #scatter}.
+ * Both placements depend on the shard count, so it is fixed for the lifetime of the data.
+ *
+ * Without sharding there is a single shard, 0, and all calls run directly.
+ */
+@Component
+public class TicketShards {
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private final int count;
+    private final int legacyMaxId;
+    private final ExecutorService executor;
+
+    public TicketShards(
+            @Value("${tickets.sharding.shard-urls:}") List<String> shardUrls,
+            @Value("${tickets.sharding.legacy-max-id:0}") int legacyMaxId) {
+        this.count = 1 + (int) shardUrls.stream().filter(url -> !url.isBlank()).count();
+        this.legacyMaxId = legacyMaxId;
+        this.executor = count > 1 ? Executors.newVirtualThreadPerTaskExecutor() : null;
+    }
+
+    /**
+     * The shard that repository calls on this thread go to. Shard 0 also holds all non-ticket tables.
+     */
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard == null ? 0 : shard;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int forLocation(String location) {
+        return count == 1 || location == null ? 0 : Math.floorMod(location.hashCode(), count);
+    }
+
+    /**
+     * Tickets up to {@code tickets.sharding.legacy-max-id} were created before sharding and stay on shard 0.
+     */
+    public int forTicket(Integer ticketId) {
+        return count == 1 || ticketId <= legacyMaxId ? 0 : Math.floorMod(ticketId - 1, count);
+    }
+
+    /**
+     * Whether the ticket can be at the location. Its shard is fixed by its id, so a ticket cannot
+     * move to a location of another shard, where location filters would no longer look for it.
+     */
+    public boolean canMove(Integer ticketId, String location) {
+        return count == 1 || ticketId <= legacyMaxId || forLocation(location) == forTicket(ticketId);
+    }
+
+    /**
+     * Whether the shard can hold tickets at any of the given locations; an empty list matches every location.
+     */
+    public boolean mayHold(int shard, List<String> locations) {
+        return locations.isEmpty() || (shard == 0 && legacyMaxId > 0)
+                || locations.stream().anyMatch(location -> forLocation(location) == shard);
+    }
+
+    /**
+     * Runs the action with its repository calls going to the given shard. A transaction has to
+     * start inside the action, one that is already running stays on its shard.
+     */
+    public <T> T on(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs the query on every shard in parallel and returns the results in shard order.
+     */
+    public <T> List<T> scatter(IntFunction<T> query) {
+        if (count == 1) {
+            List<T> result = new ArrayList<>(1);
+            result.add(query.apply(0));
+            return result;
+        }
+        List<Future<T>> futures = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            int target = shard;
+            futures.add(executor.submit(() -> on(target, () -> query.apply(target))));
+        }
+        List<T> results = new ArrayList<>(count);
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while querying the shards", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Like {@link #scatter}, but concatenates the lists returned by each shard.
+     */
+    public <T> List<T> gather(IntFunction<List<T>> query) {
+        List<T> all = new ArrayList<>();
+        scatter(query).forEach(all::addAll);
+        return all;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
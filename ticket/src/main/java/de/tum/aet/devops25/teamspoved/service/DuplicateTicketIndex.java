@@ -0,0 +1,175 @@
+package de.tum.aet.devops25.teamspoved.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory near-duplicate index over the title, description and location of active tickets.
+ *
+ * Every ticket is reduced to a MinHash signature of its character shingles, whose agreement
+ * with another signature estimates the Jaccard similarity of the two texts. The signatures are
+ * split into bands that are hashed into buckets (locality sensitive hashing), so a lookup only
+ * compares against tickets that share at least one band instead of scanning the whole index.
+ * With {@value #BANDS} bands of {@value #ROWS} rows, pairs above a similarity of 0.8 are found
+ * with a probability of more than 99.9%.
+ *
+ * The index is filled by {@link TicketService} on startup and kept current on every write.
+ */
+@Component
+@Profile("!reactive")
+public class DuplicateTicketIndex {
+    static final int BANDS = 16;
+    static final int ROWS = 4;
+    static final int NUM_HASHES = BANDS * ROWS;
+    private static final int SHINGLE_LENGTH = 4;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final double threshold;
+    private final Map<Integer, int[]> signatures = new HashMap<>();
+    private final Map<Long, List<Integer>> buckets = new HashMap<>();
+    private final Map<Integer, Integer> highestIndexedIds = new HashMap<>();
+
+    public DuplicateTicketIndex(@Value("${tickets.duplicates.threshold:0.8}") double threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Computes the MinHash signature of a ticket's text. Case, punctuation and whitespace are ignored.
+     */
+    public static int[] signature(String title, String description, String location) {
+        String text = normalize(title) + " " + normalize(description) + " " + normalize(location);
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, text.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            int end = Math.min(text.length(), start + SHINGLE_LENGTH);
+            int shingleHash = 0;
+            for (int i = start; i < end; i++) {
+                shingleHash = 31 * shingleHash + text.charAt(i);
+            }
+            // Derive all hash functions from two halves of one well-mixed hash (Kirsch-Mitzenmacher)
+            long mixed = mix(shingleHash);
+            int h1 = (int) mixed;
+            int h2 = (int) (mixed >>> 32) | 1;
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int value = h1 + i * h2;
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimated Jaccard similarity of the shingle sets behind two signatures.
+     */
+    static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    /**
+     * Returns the indexed tickets at or above the similarity threshold, most similar first.
+     */
+    public synchronized List<Integer> findSimilar(int[] signature) {
+        Set<Integer> candidates = new LinkedHashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            List<Integer> bucket = buckets.get(bandKey(signature, band));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        List<Integer> similar = new ArrayList<>();
+        Map<Integer, Double> scores = new HashMap<>();
+        for (Integer ticketId : candidates) {
+            double score = similarity(signature, signatures.get(ticketId));
+            if (score >= threshold) {
+                similar.add(ticketId);
+                scores.put(ticketId, score);
+            }
+        }
+        similar.sort(Comparator.comparing(scores::get, Comparator.reverseOrder()));
+        return similar;
+    }
+
+    public synchronized void add(Integer ticketId, int[] signature) {
+        remove(ticketId);
+        signatures.put(ticketId, signature);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bandKey(signature, band), key -> new ArrayList<>(1)).add(ticketId);
+        }
+    }
+
+    public synchronized void remove(Integer ticketId) {
+        int[] signature = signatures.remove(ticketId);
+        if (signature == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(signature, band);
+            List<Integer> bucket = buckets.get(key);
+            bucket.remove(ticketId);
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    public synchronized boolean contains(Integer ticketId) {
+        return signatures.containsKey(ticketId);
+    }
+
+    /**
+     * The highest ticket id loaded from the given shard so far. Loading only newer tickets keeps refreshes incremental.
+     */
+    public synchronized int highestIndexedId(int shard) {
+        return highestIndexedIds.getOrDefault(shard, 0);
+    }
+
+    public synchronized void advanceTo(int shard, int ticketId) {
+        highestIndexedIds.merge(shard, ticketId, Math::max);
+    }
+
+    public synchronized int size() {
+        return signatures.size();
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        int hash = 1;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            hash = 31 * hash + signature[i];
+        }
+        return ((long) band << 32) | (hash & 0xffffffffL);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : SEPARATORS.matcher(text.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
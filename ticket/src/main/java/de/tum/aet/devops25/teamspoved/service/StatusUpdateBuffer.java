@@ -0,0 +1,198 @@
+package de.tum.aet.devops25.teamspoved.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.tum.aet.devops25.teamspoved.model.Status;
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Write-behind buffer for ticket status updates, enabled with {@code tickets.status-write-behind.enabled}.
+ *
+ * Updates are kept per ticket, so a later update replaces one that was not written yet. A single
+ * thread writes everything buffered once per flush interval in one transaction per shard (group
+ * commit). Callers wait for the commit of the flush that contains their update, so an acknowledged
+ * update is exactly as durable as a direct one; the database log is the journal, nothing that was
+ * acknowledged only lives in memory. Reads only see the update once it is written, so nothing
+ * that may still fail is ever shown.
+ */
+public class StatusUpdateBuffer {
+    private static final Logger log = LoggerFactory.getLogger(StatusUpdateBuffer.class);
+
+    private final Function<Map<Integer, Status>, Map<Integer, TicketEntity>> writer;
+    private final int maxBatchSize;
+    private final Duration timeout;
+    private final ScheduledExecutorService flusher;
+
+    // Guarded by this; in-flight updates are being written by the flusher
+    private final LinkedHashMap<Integer, Pending> pending = new LinkedHashMap<>();
+    private final Map<Integer, Status> inFlight = new HashMap<>();
+    private boolean closed;
+
+    private final Counter coalescedCounter;
+    private final Counter flushCounter;
+
+    /**
+     * @param writer stores the given statuses and returns the updated tickets; tickets that do not exist are left out
+     * @param timeout how long {@link #submit} waits for the write
+     */
+    public StatusUpdateBuffer(Function<Map<Integer, Status>, Map<Integer, TicketEntity>> writer, Duration flushInterval,
+                       int maxBatchSize, Duration timeout, MeterRegistry registry) {
+        this.writer = writer;
+        this.maxBatchSize = maxBatchSize;
+        this.timeout = timeout;
+        this.coalescedCounter = Counter.builder("ticket_service.status_buffer.coalesced.total")
+                .description("Status updates replaced by a later update of the same ticket before being written")
+                .register(registry);
+        this.flushCounter = Counter.builder("ticket_service.status_buffer.flushes.total")
+                .description("Batches of buffered status updates written to the database")
+                .register(registry);
+        Gauge.builder("ticket_service.status_buffer.pending", this, StatusUpdateBuffer::size)
+                .description("Status updates waiting to be written")
+                .register(registry);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("ticket-status-flush").daemon().factory());
+        this.flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Buffers the update and waits until it is written. Returns the updated ticket, or empty if it does not exist.
+     *
+     * @throws IllegalStateException if the buffer is closed
+     * @throws WriteTimeoutException if the update was not written within the timeout; it may still be written later
+     */
+    public Optional<TicketEntity> submit(Integer ticketId, Status status) {
+        CompletableFuture<Optional<TicketEntity>> result = new CompletableFuture<>();
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Status updates are no longer accepted, the buffer is closed");
+            }
+            Pending entry = pending.get(ticketId);
+            if (entry == null) {
+                entry = new Pending();
+                pending.put(ticketId, entry);
+            } else {
+                coalescedCounter.increment();
+            }
+            entry.status = status;
+            entry.waiters.add(result);
+        }
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new WriteTimeoutException("Status update of ticket " + ticketId + " was not written within " + timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the status update to be written", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return pending.isEmpty() && inFlight.isEmpty();
+    }
+
+    public synchronized int size() {
+        return pending.size() + inFlight.size();
+    }
+
+    /**
+     * Stops the flusher after writing everything that is still buffered. Later updates are rejected.
+     */
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void flush() {
+        Map<Integer, Pending> batch;
+        while (!(batch = takeBatch()).isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private synchronized Map<Integer, Pending> takeBatch() {
+        Map<Integer, Pending> batch = new LinkedHashMap<>();
+        Iterator<Map.Entry<Integer, Pending>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext() && batch.size() < maxBatchSize) {
+            Map.Entry<Integer, Pending> entry = iterator.next();
+            batch.put(entry.getKey(), entry.getValue());
+            inFlight.put(entry.getKey(), entry.getValue().status);
+            iterator.remove();
+        }
+        return batch;
+    }
+
+    private void write(Map<Integer, Pending> batch) {
+        Map<Integer, Status> statuses = new LinkedHashMap<>();
+        batch.forEach((ticketId, entry) -> statuses.put(ticketId, entry.status));
+        try {
+            Map<Integer, TicketEntity> written = writer.apply(statuses);
+            flushCounter.increment();
+            batch.forEach((ticketId, entry) -> entry.complete(Optional.ofNullable(written.get(ticketId))));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.values().forEach(entry -> entry.fail(e));
+            } else {
+                // One failing ticket (e.g. a due date in the past) must not fail the updates of all others
+                log.warn("Writing {} buffered status updates failed, retrying individually: {}", batch.size(), e.getMessage());
+                batch.forEach((ticketId, entry) -> write(Map.of(ticketId, entry)));
+            }
+        } finally {
+            synchronized (this) {
+                inFlight.keySet().removeAll(batch.keySet());
+            }
+        }
+    }
+
+    public static class WriteTimeoutException extends RuntimeException {
+        public WriteTimeoutException(String message) {
+            super(message);
+        }
+    }
+
+    private static class Pending {
+        private Status status;
+        private final List<CompletableFuture<Optional<TicketEntity>>> waiters = new ArrayList<>(1);
+
+        void complete(Optional<TicketEntity> ticket) {
+            waiters.forEach(waiter -> waiter.complete(ticket));
+        }
+
+        void fail(RuntimeException e) {
+            waiters.forEach(waiter -> waiter.completeExceptionally(e));
+        }
+    }
+}
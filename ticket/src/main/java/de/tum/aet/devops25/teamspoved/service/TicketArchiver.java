@@ -0,0 +1,99 @@
+package de.tum.aet.devops25.teamspoved.service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import de.tum.aet.devops25.teamspoved.repository.TicketRepository;
+import de.tum.aet.devops25.teamspoved.repository.TicketShards;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Moves FINISHED tickets that are older than the retention window from {@code db.tickets}
+ * to {@code db.tickets_archive}, so that the table and indexes behind the regular ticket
+ * queries only cover the working set.
+ *
+ * Every batch runs in its own short transaction and locks its rows with SKIP LOCKED,
+ * so several replicas can archive concurrently without blocking each other or user writes.
+ * Every shard archives into its own archive table.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "tickets.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TicketArchiver {
+    private static final Logger log = LoggerFactory.getLogger(TicketArchiver.class);
+
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TicketShards shards;
+    private final TicketQueryCache ticketQueryCache;
+    private final TicketBitmapIndex bitmapIndex;
+    private final Clock clock;
+    private final Counter archivedCounter;
+
+    @Value("${tickets.archive.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${tickets.archive.batch-size:500}")
+    private int batchSize;
+
+    public TicketArchiver(TicketRepository ticketRepository, TransactionTemplate transactionTemplate, TicketShards shards,
+                          TicketQueryCache ticketQueryCache, TicketBitmapIndex bitmapIndex, Clock clock, MeterRegistry registry) {
+        this.ticketRepository = ticketRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.shards = shards;
+        this.ticketQueryCache = ticketQueryCache;
+        this.bitmapIndex = bitmapIndex;
+        this.clock = clock;
+        this.archivedCounter = Counter.builder("ticket_service.archive.tickets.total")
+                .description("Total number of finished tickets moved to the archive")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${tickets.archive.interval-ms:600000}", initialDelayString = "${tickets.archive.initial-delay-ms:60000}")
+    public void archiveFinishedTickets() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minusDays(retentionDays);
+        int total = 0;
+        for (int shard = 0; shard < shards.count(); shard++) {
+            int moved;
+            do {
+                moved = shards.on(shard, () -> archiveBatch(cutoff));
+                total += moved;
+            } while (moved == batchSize);
+        }
+
+        if (total > 0) {
+            log.info("Archived {} tickets finished before {}", total, cutoff);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Integer> archived = transactionTemplate.execute(status -> {
+            List<Integer> ticketIds = ticketRepository.lockFinishedTicketIdsBefore(cutoff, batchSize);
+            if (ticketIds.isEmpty()) {
+                return ticketIds;
+            }
+            ticketRepository.copyToArchive(ticketIds);
+            ticketRepository.deleteArchived(ticketIds);
+            return ticketIds;
+        });
+        if (!archived.isEmpty()) {
+            // Archived tickets drop out of every list that does not include the archive
+            ticketQueryCache.invalidateAll();
+            bitmapIndex.removeAll(archived);
+        }
+        archivedCounter.increment(archived.size());
+        return archived.size();
+    }
+}
@@ -0,0 +1,399 @@
+package de.tum.aet.devops25.teamspoved.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.dto.TicketSnapshot;
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+import de.tum.aet.devops25.teamspoved.repository.TicketRepository;
+import de.tum.aet.devops25.teamspoved.repository.TicketRepositoryCustom.TicketAttributes;
+import de.tum.aet.devops25.teamspoved.repository.TicketShards;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory secondary index over the filterable attributes of all tickets that are not archived.
+ *
+ * Every attribute value (status, assignee, creator, media type, location, due date) has a
+ * compressed bitmap of the ids of the tickets that have it, so any {@link TicketFilter} is
+ * answered with bitmap ORs within and ANDs across attributes, and counts and pages come from
+ * the result without touching the database. Roaring bitmaps need a few bytes per ticket and value.
+ *
+ * {@link TicketService} applies its own writes after they commit. The index is loaded from the
+ * database on startup and then refreshed periodically with the tickets written since, by their
+ * {@code change_version}, which picks up writes of other replicas. Until the first load finished,
+ * or after {@link #invalidate}, queries fall back to the database.
+ */
+@Component
+@Profile("!reactive")
+public class TicketBitmapIndex {
+    private static final Logger log = LoggerFactory.getLogger(TicketBitmapIndex.class);
+
+    private final TicketRepository ticketRepository;
+    private final TicketShards shards;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int fetchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock
+    private Bitmaps bitmaps = new Bitmaps();
+    private boolean ready;
+    private long invalidations;
+    // Per shard, the version the next refresh reads from
+    private long[] versions;
+    private List<TicketAttributes> changesWhileLoading;
+
+    public TicketBitmapIndex(TicketRepository ticketRepository, TicketShards shards, PlatformTransactionManager transactionManager,
+                             @Value("${tickets.bitmap-index.enabled:true}") boolean enabled,
+                             @Value("${tickets.bitmap-index.fetch-size:5000}") int fetchSize,
+                             MeterRegistry registry) {
+        this.ticketRepository = ticketRepository;
+        this.shards = shards;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.fetchSize = fetchSize;
+        Gauge.builder("ticket_service.bitmap_index.tickets", this, TicketBitmapIndex::size)
+                .description("Number of tickets in the in-memory filter index")
+                .register(registry);
+    }
+
+    /**
+     * Ids of the tickets matching the filter, or empty if the index cannot answer it
+     * (archived tickets are requested, or the index is not loaded).
+     */
+    public Optional<RoaringBitmap> query(TicketFilter filter) {
+        if (filter.includeArchived()) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return Optional.empty();
+            }
+            Bitmaps index = bitmaps;
+            RoaringBitmap result = index.all.clone();
+            and(result, index.byAssignee, filter.assignedTo());
+            and(result, index.byCreator, filter.createdBy());
+            and(result, index.byStatus, filter.status().stream().map(Enum::name).toList());
+            and(result, index.byLocation, filter.location());
+            and(result, index.byMediaType, filter.mediaType());
+            if (filter.dueDate() != null) {
+                and(result, index.byDueDate, List.of(filter.dueDate()));
+            }
+            if (filter.dueFrom() != null || filter.dueTo() != null) {
+                NavigableMap<LocalDate, RoaringBitmap> range = index.byDueDate;
+                if (filter.dueFrom() != null) {
+                    range = range.tailMap(filter.dueFrom(), true);
+                }
+                if (filter.dueTo() != null) {
+                    range = range.headMap(filter.dueTo(), true);
+                }
+                result.and(RoaringBitmap.or(range.values().iterator()));
+            }
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stores the attributes of a created or changed ticket.
+     */
+    public void put(Integer ticketId, TicketSnapshot ticket) {
+        lock.writeLock().lock();
+        try {
+            bitmaps.remove(ticketId);
+            bitmaps.add(ticketId, ticket);
+            if (changesWhileLoading != null) {
+                changesWhileLoading.add(new TicketAttributes(ticketId, ticket));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops tickets that were archived or deleted.
+     */
+    public void removeAll(Collection<Integer> ticketIds) {
+        lock.writeLock().lock();
+        try {
+            RoaringBitmap removed = new RoaringBitmap();
+            ticketIds.forEach(removed::add);
+            bitmaps.removeAll(removed);
+            if (changesWhileLoading != null) {
+                ticketIds.forEach(ticketId -> changesWhileLoading.add(new TicketAttributes(ticketId, null)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Falls back to the database until the next rebuild, for writes that bypass {@link #put}.
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            invalidations++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the tickets written since the last refresh and applies them. Loads the whole index
+     * instead if it is not loaded, or if tombstones of tickets deleted since were already pruned.
+     */
+    @Scheduled(fixedDelayString = "${tickets.bitmap-index.rebuild-interval-ms:60000}", initialDelayString = "${tickets.bitmap-index.rebuild-interval-ms:60000}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        long[] since;
+        long invalidationsBefore;
+        lock.writeLock().lock();
+        try {
+            if (!ready || versions == null) {
+                since = null;
+            } else {
+                since = versions.clone();
+                changesWhileLoading = new ArrayList<>();
+            }
+            invalidationsBefore = invalidations;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (since == null) {
+            rebuild();
+            return;
+        }
+
+        List<ShardChanges> changes = new ArrayList<>();
+        try {
+            for (int shard = 0; shard < shards.count(); shard++) {
+                long version = since[shard];
+                changes.add(shards.on(shard, () -> {
+                    // Taken before reading, so everything committing meanwhile is read by the next refresh
+                    long next = Math.max(version, ticketRepository.currentSyncVersion());
+                    List<TicketEntity> changed = ticketRepository.findTicketsChangedSince(version, List.of());
+                    List<Integer> removed = ticketRepository.findTicketsRemovedSince(version, List.of());
+                    // Checked last, as tombstones pruned while reading could be missing from the removed tickets
+                    return version <= ticketRepository.syncHorizon() ? null : new ShardChanges(next, changed, removed);
+                }));
+            }
+        } catch (RuntimeException e) {
+            stopTrackingChanges();
+            log.warn("Could not refresh the ticket bitmap index: {}", e.getMessage());
+            return;
+        }
+        if (changes.contains(null)) {
+            stopTrackingChanges();
+            rebuild();
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Written by this replica while reading, so already newer in the index than what was read
+            RoaringBitmap written = new RoaringBitmap();
+            changesWhileLoading.forEach(change -> written.add(change.ticketId()));
+            changesWhileLoading = null;
+            if (invalidations != invalidationsBefore) {
+                return;
+            }
+            for (int shard = 0; shard < changes.size(); shard++) {
+                ShardChanges shardChanges = changes.get(shard);
+                shardChanges.removed().stream().filter(ticketId -> !written.contains(ticketId)).forEach(bitmaps::remove);
+                for (TicketEntity ticket : shardChanges.changed()) {
+                    if (!written.contains(ticket.getTicketId())) {
+                        bitmaps.remove(ticket.getTicketId());
+                        bitmaps.add(ticket.getTicketId(), TicketSnapshot.of(ticket));
+                    }
+                }
+                versions[shard] = shardChanges.next();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Loads the whole index from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long invalidationsBefore;
+        lock.writeLock().lock();
+        try {
+            changesWhileLoading = new ArrayList<>();
+            invalidationsBefore = invalidations;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Bitmaps loaded = new Bitmaps();
+        long[] loadedVersions = new long[shards.count()];
+        try {
+            for (int shard = 0; shard < shards.count(); shard++) {
+                int current = shard;
+                shards.on(shard, () -> {
+                    readOnlyTransaction.executeWithoutResult(status -> {
+                        loadedVersions[current] = ticketRepository.currentSyncVersion();
+                        try (Stream<TicketAttributes> tickets = ticketRepository.streamTicketAttributes(fetchSize)) {
+                            tickets.forEach(ticket -> loaded.add(ticket.ticketId(), ticket.snapshot()));
+                        }
+                    });
+                    return null;
+                });
+            }
+            loaded.runOptimize();
+        } catch (RuntimeException e) {
+            stopTrackingChanges();
+            log.warn("Could not rebuild the ticket bitmap index: {}", e.getMessage());
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Writes that committed while loading may be missing from the loaded rows
+            RoaringBitmap changed = new RoaringBitmap();
+            changesWhileLoading.forEach(change -> changed.add(change.ticketId()));
+            loaded.removeAll(changed);
+            Map<Integer, TicketSnapshot> latest = new HashMap<>();
+            changesWhileLoading.forEach(change -> latest.put(change.ticketId(), change.snapshot()));
+            latest.forEach((ticketId, snapshot) -> {
+                if (snapshot != null) {
+                    loaded.add(ticketId, snapshot);
+                }
+            });
+            changesWhileLoading = null;
+            bitmaps = loaded;
+            versions = loadedVersions;
+            // An invalidation while loading may refer to rows the load did not see, so stay on the database until the next rebuild
+            ready = invalidations == invalidationsBefore;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void stopTrackingChanges() {
+        lock.writeLock().lock();
+        try {
+            changesWhileLoading = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return bitmaps.all.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static <K> void and(RoaringBitmap result, Map<K, RoaringBitmap> index, List<K> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        RoaringBitmap matching = new RoaringBitmap();
+        for (K value : values) {
+            RoaringBitmap bitmap = index.get(value);
+            if (bitmap != null) {
+                matching.or(bitmap);
+            }
+        }
+        result.and(matching);
+    }
+
+    private record ShardChanges(long next, List<TicketEntity> changed, List<Integer> removed) {}
+
+    private static class Bitmaps {
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final Map<String, RoaringBitmap> byStatus = new HashMap<>();
+        private final Map<Integer, RoaringBitmap> byAssignee = new HashMap<>();
+        private final Map<Integer, RoaringBitmap> byCreator = new HashMap<>();
+        private final Map<String, RoaringBitmap> byMediaType = new HashMap<>();
+        private final Map<String, RoaringBitmap> byLocation = new HashMap<>();
+        private final TreeMap<LocalDate, RoaringBitmap> byDueDate = new TreeMap<>();
+
+        void add(int ticketId, TicketSnapshot ticket) {
+            all.add(ticketId);
+            add(byStatus, ticket.status() == null ? null : ticket.status().name(), ticketId);
+            add(byAssignee, ticket.assignedTo(), ticketId);
+            add(byCreator, ticket.createdBy(), ticketId);
+            add(byMediaType, ticket.mediaType() == null ? null : ticket.mediaType().name(), ticketId);
+            add(byLocation, ticket.location(), ticketId);
+            add(byDueDate, ticket.dueDate(), ticketId);
+        }
+
+        /**
+         * Removes the ticket from every bitmap. The values it was indexed under are not known to
+         * the writer, as another replica may have changed the ticket since.
+         */
+        void remove(int ticketId) {
+            if (!all.checkedRemove(ticketId)) {
+                return;
+            }
+            List.<Map<?, RoaringBitmap>>of(byStatus, byAssignee, byCreator, byMediaType, byLocation, byDueDate)
+                    .forEach(index -> index.values().removeIf(bitmap -> bitmap.checkedRemove(ticketId) && bitmap.isEmpty()));
+        }
+
+        /**
+         * Removes the tickets from every bitmap, in one pass over all values.
+         */
+        void removeAll(RoaringBitmap ticketIds) {
+            all.andNot(ticketIds);
+            List.<Map<?, RoaringBitmap>>of(byStatus, byAssignee, byCreator, byMediaType, byLocation, byDueDate)
+                    .forEach(index -> index.values().removeIf(bitmap -> {
+                        bitmap.andNot(ticketIds);
+                        return bitmap.isEmpty();
+                    }));
+        }
+
+        void runOptimize() {
+            all.runOptimize();
+            List.<Map<?, RoaringBitmap>>of(byStatus, byAssignee, byCreator, byMediaType, byLocation, byDueDate)
+                    .forEach(index -> index.values().forEach(RoaringBitmap::runOptimize));
+        }
+
+        private static <K> void add(Map<K, RoaringBitmap> index, K value, int ticketId) {
+            if (value != null) {
+                index.computeIfAbsent(value, key -> new RoaringBitmap()).add(ticketId);
+            }
+        }
+    }
+}
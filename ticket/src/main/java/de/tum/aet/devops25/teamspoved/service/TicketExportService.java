@@ -0,0 +1,144 @@
+package de.tum.aet.devops25.teamspoved.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import de.tum.aet.devops25.teamspoved.dto.TicketFileFormat;
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+import de.tum.aet.devops25.teamspoved.repository.TicketRepository;
+import de.tum.aet.devops25.teamspoved.repository.TicketShards;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Writes all tickets matching a filter to an output stream, one row at a time.
+ *
+ * Rows are read through a database cursor inside a read-only transaction and written
+ * straight to the response, so memory use does not depend on the number of tickets.
+ * With several shards they are read one shard after the other, ordered by id within each shard.
+ */
+@Service
+@Profile("!reactive")
+public class TicketExportService {
+    private static final String CSV_HEADER = "ticketId,assignedTo,createdBy,title,description,status,dueDate,location,mediaType,mediaId,finishedAt,duplicateOf";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TicketRepository ticketRepository;
+    private final TicketShards shards;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter ndjsonWriter;
+    private final Counter exportedCounter;
+
+    @Value("${tickets.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public TicketExportService(TicketRepository ticketRepository, TicketShards shards, PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper, MeterRegistry registry) {
+        this.ticketRepository = ticketRepository;
+        this.shards = shards;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ndjsonWriter = objectMapper.writerFor(TicketEntity.class);
+        this.exportedCounter = Counter.builder("ticket_service.export.tickets.total")
+                .description("Total number of tickets written by exports")
+                .register(registry);
+    }
+
+    public void export(TicketFilter filter, TicketFileFormat format, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        try {
+            if (format == TicketFileFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            for (int shard = 0; shard < shards.count(); shard++) {
+                if (shards.mayHold(shard, filter.location())) {
+                    shards.on(shard, () -> {
+                        readOnlyTransaction.executeWithoutResult(status -> writeTickets(filter, format, writer));
+                        return null;
+                    });
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeTickets(TicketFilter filter, TicketFileFormat format, Writer writer) {
+        try (Stream<TicketEntity> tickets = ticketRepository.streamFilteredTickets(filter, fetchSize)) {
+            Iterator<TicketEntity> iterator = tickets.iterator();
+            while (iterator.hasNext()) {
+                TicketEntity ticket = iterator.next();
+                if (format == TicketFileFormat.CSV) {
+                    writeCsv(writer, ticket);
+                } else {
+                    writer.write(ndjsonWriter.writeValueAsString(ticket));
+                    writer.write('\n');
+                }
+                exportedCounter.increment();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsv(Writer writer, TicketEntity ticket) throws IOException {
+        writer.write(csv(ticket.getTicketId()));
+        writer.write(',');
+        writer.write(csv(ticket.getAssignedTo()));
+        writer.write(',');
+        writer.write(csv(ticket.getCreatedBy()));
+        writer.write(',');
+        writer.write(csv(ticket.getTitle()));
+        writer.write(',');
+        writer.write(csv(ticket.getDescription()));
+        writer.write(',');
+        writer.write(csv(ticket.getStatus()));
+        writer.write(',');
+        writer.write(csv(ticket.getDueDate()));
+        writer.write(',');
+        writer.write(csv(ticket.getLocation()));
+        writer.write(',');
+        writer.write(csv(ticket.getMediaType()));
+        writer.write(',');
+        writer.write(csv(ticket.getMediaId()));
+        writer.write(',');
+        writer.write(csv(ticket.getFinishedAt()));
+        writer.write(',');
+        writer.write(csv(ticket.getDuplicateOf()));
+        writer.write('\n');
+    }
+
+    /**
+     * Formats a value as a CSV field (RFC 4180): quoted if it contains a separator, quote or line break.
+     */
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,490 @@
+package de.tum.aet.devops25.teamspoved.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.tum.aet.devops25.teamspoved.dto.CreateTicketRequest;
+import de.tum.aet.devops25.teamspoved.dto.ImportResult;
+import de.tum.aet.devops25.teamspoved.dto.TicketFileFormat;
+import de.tum.aet.devops25.teamspoved.model.MediaTypeEnum;
+import de.tum.aet.devops25.teamspoved.model.Status;
+import de.tum.aet.devops25.teamspoved.repository.TicketShards;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bulk ticket creation from NDJSON or CSV uploads.
+ *
+ * The upload is parsed as a stream and handled in batches: every row is validated like a
+ * {@code POST /tickets} request, the referenced users of the whole batch are checked with one
+ * call to the user service, and the valid rows are loaded with {@code COPY} into a temporary
+ * table and moved to {@code db.tickets} with a single INSERT, which also drops rows that point
+ * to unknown media. Each batch commits on its own; rejected rows are reported with their row
+ * number and do not stop the import.
+ *
+ * With several shards the media are checked against the primary database first, and every
+ * shard gets its own staging table and INSERT for the rows placed on it.
+ */
+@Service
+@Profile("!reactive")
+public class TicketImportService {
+    private static final Logger log = LoggerFactory.getLogger(TicketImportService.class);
+
+    private static final String CREATE_STAGING_TABLE = "CREATE TEMP TABLE IF NOT EXISTS ticket_import (" +
+            "row_number BIGINT, created_by INTEGER, assigned_to INTEGER, title VARCHAR, description VARCHAR, " +
+            "due_date DATE, location VARCHAR, media_type VARCHAR, media_id INTEGER) ON COMMIT DELETE ROWS";
+    private static final String COPY_STAGING_TABLE = "COPY pg_temp.ticket_import (row_number, created_by, assigned_to, " +
+            "title, description, due_date, location, media_type, media_id) FROM STDIN WITH (FORMAT csv)";
+    private static final String FIND_UNKNOWN_MEDIA = "SELECT s.row_number, s.media_id FROM pg_temp.ticket_import s " +
+            "WHERE s.media_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM db.media m WHERE m.media_id = s.media_id) " +
+            "ORDER BY s.row_number";
+    private static final String INSERT_FROM_STAGING_TABLE = insertFromStagingTable(
+            "WHERE s.media_id IS NULL OR EXISTS (SELECT 1 FROM db.media m WHERE m.media_id = s.media_id) ");
+    // Shards have no db.media table, their rows were checked against the primary database beforehand
+    private static final String INSERT_FROM_SHARD_STAGING_TABLE = insertFromStagingTable("");
+    private static final String FIND_MEDIA = "SELECT media_id FROM db.media WHERE media_id = ANY(?)";
+
+    private final TicketService ticketService;
+    private final WorkerLoadIndex workerLoadIndex;
+    private final TicketQueryCache ticketQueryCache;
+    private final TicketBitmapIndex bitmapIndex;
+    private final TicketShards shards;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    private final Counter importedCounter;
+    private final Counter rejectedCounter;
+
+    @Value("${tickets.import.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${tickets.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public TicketImportService(TicketService ticketService, WorkerLoadIndex workerLoadIndex, TicketQueryCache ticketQueryCache,
+                               TicketBitmapIndex bitmapIndex, TicketShards shards, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                               Clock clock, MeterRegistry registry) {
+        this.ticketService = ticketService;
+        this.workerLoadIndex = workerLoadIndex;
+        this.ticketQueryCache = ticketQueryCache;
+        this.bitmapIndex = bitmapIndex;
+        this.shards = shards;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+
+        this.importedCounter = Counter.builder("ticket_service.import.rows.total")
+                .description("Total number of tickets created by bulk imports")
+                .register(registry);
+        this.rejectedCounter = Counter.builder("ticket_service.import.errors.total")
+                .description("Total number of rows rejected by bulk imports")
+                .register(registry);
+    }
+
+    public ImportResult importTickets(InputStream in, TicketFileFormat format) {
+        Import run = new Import();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024)) {
+            RowParser parser = format == TicketFileFormat.CSV ? new CsvRowParser(reader) : new NdjsonRowParser(reader, objectMapper);
+            List<Row> batch = new ArrayList<>(batchSize);
+            LocalDate today = LocalDate.now(clock);
+            Row row;
+            while ((row = parser.next()) != null) {
+                if (row.error() == null) {
+                    row = validate(row, today);
+                }
+                if (row.error() != null) {
+                    run.reject(row.number(), row.error());
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    loadBatch(batch, run);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                loadBatch(batch, run);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (run.imported > 0) {
+                ticketQueryCache.invalidateAll();
+                // The imported ids are not known here, so lists are served from the database until the next rebuild
+                bitmapIndex.invalidate();
+            }
+        }
+        log.info("Imported {} tickets, rejected {} rows", run.imported, run.failed);
+        return new ImportResult(run.imported, run.failed, run.errors);
+    }
+
+    private static Row validate(Row row, LocalDate today) {
+        try {
+            TicketIngestService.validateShape(row.request());
+        } catch (IllegalArgumentException e) {
+            return row.withError(e.getMessage());
+        }
+        // Checked here because the CHECK constraint on db.tickets would reject the whole batch
+        if (row.request().dueDate().isBefore(today)) {
+            return row.withError("dueDate must not be in the past");
+        }
+        return row;
+    }
+
+    private void loadBatch(List<Row> batch, Import run) {
+        Set<Integer> userIds = new HashSet<>();
+        for (Row row : batch) {
+            userIds.add(row.request().createdBy());
+            if (row.request().assignedTo() != null) {
+                userIds.add(row.request().assignedTo());
+            }
+        }
+        Set<Integer> unknownUsers = ticketService.findUnknownUsers(userIds);
+
+        List<Row> valid = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            CreateTicketRequest request = row.request();
+            if (unknownUsers.contains(request.createdBy())) {
+                run.reject(row.number(), "User with ID " + request.createdBy() + " not found");
+            } else if (request.assignedTo() != null && unknownUsers.contains(request.assignedTo())) {
+                run.reject(row.number(), "User with ID " + request.assignedTo() + " not found");
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Long> addedPerAssignee = new HashMap<>();
+        List<ImportResult.RowError> unknownMedia = new ArrayList<>();
+        if (shards.count() == 1) {
+            try {
+                addedPerAssignee.putAll(copyAndInsert(valid, true, unknownMedia));
+            } catch (DataAccessException e) {
+                rejectAll(valid, e, run);
+                return;
+            }
+        } else {
+            Map<Integer, List<Row>> byShard = new TreeMap<>();
+            for (Row row : withKnownMedia(valid, unknownMedia)) {
+                byShard.computeIfAbsent(ticketService.shardFor(row.request()), shard -> new ArrayList<>()).add(row);
+            }
+            byShard.forEach((shard, rows) -> {
+                try {
+                    shards.on(shard, () -> copyAndInsert(rows, false, unknownMedia))
+                            .forEach((assignee, count) -> addedPerAssignee.merge(assignee, count, Long::sum));
+                } catch (DataAccessException e) {
+                    rejectAll(rows, e, run);
+                }
+            });
+        }
+
+        unknownMedia.forEach(error -> run.reject(error.row(), error.error()));
+        long inserted = addedPerAssignee.values().stream().mapToLong(Long::longValue).sum();
+        addedPerAssignee.forEach((assignee, count) -> workerLoadIndex.ticketsAdded(assignee, Status.OPEN, count));
+        run.imported += inserted;
+        importedCounter.increment(inserted);
+    }
+
+    /**
+     * Loads the rows in one transaction and returns the number of created tickets per assignee.
+     * With {@code checkMedia}, rows with unknown media are skipped and added to {@code unknownMedia}.
+     */
+    private Map<Integer, Long> copyAndInsert(List<Row> rows, boolean checkMedia, List<ImportResult.RowError> unknownMedia) {
+        Map<Integer, Long> addedPerAssignee = new HashMap<>();
+        List<ImportResult.RowError> skipped = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute(CREATE_STAGING_TABLE);
+            jdbcTemplate.execute((ConnectionCallback<Long>) connection ->
+                    copy(connection.unwrap(PGConnection.class), rows));
+            if (checkMedia) {
+                jdbcTemplate.query(FIND_UNKNOWN_MEDIA, rs -> {
+                    skipped.add(new ImportResult.RowError(rs.getLong("row_number"), "Media with ID " + rs.getInt("media_id") + " not found"));
+                });
+            }
+            jdbcTemplate.query(checkMedia ? INSERT_FROM_STAGING_TABLE : INSERT_FROM_SHARD_STAGING_TABLE, rs -> {
+                addedPerAssignee.put(rs.getObject("assigned_to", Integer.class), rs.getLong("total"));
+            });
+        });
+        unknownMedia.addAll(skipped);
+        return addedPerAssignee;
+    }
+
+    /**
+     * Looks up the referenced media on the primary database and returns the rows whose media exist.
+     */
+    private List<Row> withKnownMedia(List<Row> rows, List<ImportResult.RowError> unknownMedia) {
+        Integer[] mediaIds = rows.stream().map(row -> row.request().mediaId()).filter(Objects::nonNull).distinct().toArray(Integer[]::new);
+        if (mediaIds.length == 0) {
+            return rows;
+        }
+        Set<Integer> known = new HashSet<>(shards.on(0, () -> jdbcTemplate.queryForList(FIND_MEDIA, Integer.class, (Object) mediaIds)));
+        List<Row> valid = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            Integer mediaId = row.request().mediaId();
+            if (mediaId == null || known.contains(mediaId)) {
+                valid.add(row);
+            } else {
+                unknownMedia.add(new ImportResult.RowError(row.number(), "Media with ID " + mediaId + " not found"));
+            }
+        }
+        return valid;
+    }
+
+    private void rejectAll(List<Row> rows, DataAccessException e, Import run) {
+        log.warn("Import batch of {} rows rejected by the database: {}", rows.size(), e.getMostSpecificCause().getMessage());
+        for (Row row : rows) {
+            run.reject(row.number(), "Rejected by the database: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private static String insertFromStagingTable(String where) {
+        return "WITH inserted AS (" +
+                "INSERT INTO db.tickets (created_by, assigned_to, title, description, status, due_date, location, media_type, media_id) " +
+                "SELECT s.created_by, s.assigned_to, s.title, s.description, 'OPEN', s.due_date, s.location, s.media_type, s.media_id " +
+                "FROM pg_temp.ticket_import s " + where +
+                "ORDER BY s.row_number RETURNING assigned_to) " +
+                "SELECT assigned_to, COUNT(*) AS total FROM inserted GROUP BY assigned_to";
+    }
+
+    private static long copy(PGConnection connection, List<Row> rows) throws SQLException {
+        CopyIn copyIn = connection.getCopyAPI().copyIn(COPY_STAGING_TABLE);
+        try {
+            StringBuilder line = new StringBuilder(256);
+            for (Row row : rows) {
+                CreateTicketRequest request = row.request();
+                line.setLength(0);
+                line.append(row.number()).append(',')
+                        .append(TicketExportService.csv(request.createdBy())).append(',')
+                        .append(TicketExportService.csv(request.assignedTo())).append(',')
+                        .append(TicketExportService.csv(request.title())).append(',')
+                        .append(TicketExportService.csv(request.description())).append(',')
+                        .append(TicketExportService.csv(request.dueDate())).append(',')
+                        .append(TicketExportService.csv(request.location())).append(',')
+                        .append(TicketExportService.csv(request.mediaType())).append(',')
+                        .append(TicketExportService.csv(request.mediaId())).append('\n');
+                byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            }
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    /**
+     * Counts and the first {@code maxReportedErrors} row errors of one import.
+     */
+    private class Import {
+        private final List<ImportResult.RowError> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        void reject(long row, String error) {
+            failed++;
+            rejectedCounter.increment();
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportResult.RowError(row, error));
+            }
+        }
+    }
+
+    /**
+     * A parsed input row, numbered from 1 without the CSV header. Rows that cannot be parsed carry an error instead of a request.
+     */
+    private record Row(long number, CreateTicketRequest request, String error) {
+        Row withError(String error) {
+            return new Row(number, request, error);
+        }
+    }
+
+    private interface RowParser {
+        /**
+         * Returns the next row, or {@code null} at the end of the input.
+         */
+        Row next() throws IOException;
+    }
+
+    private static class NdjsonRowParser implements RowParser {
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private long number;
+
+        NdjsonRowParser(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                number++;
+            } while (line.isBlank());
+
+            try {
+                CreateTicketRequest request = objectMapper.readValue(line, CreateTicketRequest.class);
+                return request != null ? new Row(number, request, null) : new Row(number, null, "Expected a ticket object");
+            } catch (JsonProcessingException e) {
+                return new Row(number, null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row naming the {@link CreateTicketRequest} properties. Unknown
+     * columns are ignored, so the output of {@code GET /tickets/export?format=csv} can be imported.
+     */
+    private static class CsvRowParser implements RowParser {
+        private final BufferedReader reader;
+        private Map<String, Integer> columns;
+        private long number;
+        private boolean endOfInput;
+
+        CsvRowParser(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if (columns == null) {
+                List<String> header = readRecord();
+                if (header == null) {
+                    return null;
+                }
+                columns = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    columns.put(header.get(i).trim(), i);
+                }
+            }
+            List<String> record = readRecord();
+            if (record == null) {
+                return null;
+            }
+            number++;
+            try {
+                return new Row(number, new CreateTicketRequest(
+                        parse(record, "createdBy", Integer::valueOf),
+                        parse(record, "assignedTo", Integer::valueOf),
+                        parse(record, "title", value -> value),
+                        parse(record, "description", value -> value),
+                        parse(record, "dueDate", LocalDate::parse),
+                        parse(record, "location", value -> value),
+                        parse(record, "mediaType", MediaTypeEnum::valueOf),
+                        parse(record, "mediaId", Integer::valueOf)), null);
+            } catch (IllegalArgumentException e) {
+                return new Row(number, null, e.getMessage());
+            }
+        }
+
+        private <T> T parse(List<String> record, String column, Function<String, T> parser) {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+                return null;
+            }
+            try {
+                return parser.apply(record.get(index));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid value for " + column + ": " + record.get(index));
+            }
+        }
+
+        /**
+         * Reads one record, which may span several lines inside quotes. Returns {@code null} at the end of the input.
+         */
+        private List<String> readRecord() throws IOException {
+            if (endOfInput) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean empty = true;
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                    continue;
+                }
+                if (c == '\r') {
+                    continue;
+                }
+                if (c == '\n') {
+                    if (empty) {
+                        continue;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                }
+                empty = false;
+                if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append((char) c);
+                }
+            }
+            endOfInput = true;
+            if (empty) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package de.tum.aet.devops25.teamspoved.service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.tum.aet.devops25.teamspoved.dto.CreateTicketRequest;
+import de.tum.aet.devops25.teamspoved.model.IngestStatus;
+import de.tum.aet.devops25.teamspoved.model.TicketIngestJobEntity;
+import de.tum.aet.devops25.teamspoved.repository.TicketIngestJobRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Accepts create ticket requests for asynchronous processing. Requests are only checked
+ * for their shape here and stored in {@code db.ticket_ingest_queue}; the remote user check
+ * and the insert happen later in {@link TicketIngestWorker}.
+ */
+@Service
+@Profile("!reactive")
+public class TicketIngestService {
+    private static final int MAX_TEXT_LENGTH = 999;
+
+    private final TicketIngestJobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    private final Counter enqueuedCounter;
+    private final Counter rejectedCounter;
+
+    @Value("${tickets.ingest.max-pending:10000}")
+    private int maxPending;
+
+    public TicketIngestService(TicketIngestJobRepository jobRepository, ObjectMapper objectMapper, Clock clock, MeterRegistry registry) {
+        this.jobRepository = jobRepository;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+
+        this.enqueuedCounter = Counter.builder("ticket_service.ingest.enqueued.total")
+                .description("Total number of ticket requests accepted for asynchronous creation")
+                .register(registry);
+
+        this.rejectedCounter = Counter.builder("ticket_service.ingest.rejected.total")
+                .description("Total number of asynchronous ticket requests rejected because the queue was full")
+                .register(registry);
+    }
+
+    /**
+     * Stores the request in the ingest queue.
+     *
+     * @throws IllegalArgumentException if a required field is missing or too long
+     * @throws QueueFullException if {@code tickets.ingest.max-pending} jobs are already waiting
+     */
+    public TicketIngestJobEntity enqueue(CreateTicketRequest request) {
+        validateShape(request);
+        if (jobRepository.countPendingUpTo(maxPending) >= maxPending) {
+            rejectedCounter.increment();
+            throw new QueueFullException("Ticket ingest queue is full");
+        }
+
+        TicketIngestJobEntity job = new TicketIngestJobEntity();
+        job.setPayload(toJson(request));
+        job.setStatus(IngestStatus.PENDING);
+        job.setCreatedAt(LocalDateTime.now(clock));
+        TicketIngestJobEntity saved = jobRepository.save(job);
+        enqueuedCounter.increment();
+        return saved;
+    }
+
+    public Optional<TicketIngestJobEntity> getJob(Long jobId) {
+        return jobRepository.findById(jobId);
+    }
+
+    /**
+     * Checks everything that can be checked without the database or the user service,
+     * so that a job only fails later if a referenced user or media does not exist.
+     */
+    static void validateShape(CreateTicketRequest request) {
+        if (request.createdBy() == null) {
+            throw new IllegalArgumentException("createdBy is required");
+        }
+        if (request.dueDate() == null) {
+            throw new IllegalArgumentException("dueDate is required");
+        }
+        if (request.mediaType() == null) {
+            throw new IllegalArgumentException("mediaType is required");
+        }
+        requireText("title", request.title());
+        requireText("description", request.description());
+        requireText("location", request.location());
+    }
+
+    private static void requireText(String field, String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        if (value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(field + " must not exceed " + MAX_TEXT_LENGTH + " characters");
+        }
+    }
+
+    private String toJson(CreateTicketRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request cannot be serialized", e);
+        }
+    }
+
+    public static class QueueFullException extends RuntimeException {
+        public QueueFullException(String message) {
+            super(message);
+        }
+    }
+}
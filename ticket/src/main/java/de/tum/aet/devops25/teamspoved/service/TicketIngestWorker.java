@@ -0,0 +1,285 @@
+package de.tum.aet.devops25.teamspoved.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.tum.aet.devops25.teamspoved.dto.CreateTicketRequest;
+import de.tum.aet.devops25.teamspoved.model.IngestStatus;
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+import de.tum.aet.devops25.teamspoved.model.TicketIngestJobEntity;
+import de.tum.aet.devops25.teamspoved.repository.TicketIngestJobRepository;
+import de.tum.aet.devops25.teamspoved.repository.TicketShards;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Drains {@code db.ticket_ingest_queue} in batches.
+ *
+ * A batch is claimed in a short transaction with SKIP LOCKED, so every replica of the
+ * ticket service can run a worker. Every request is then checked with
+ * {@link TicketReferenceValidator#validate} outside of any transaction, like a synchronous
+ * create, and the valid tickets are inserted together with the job results in a second
+ * transaction. A request whose checks timed out goes back to the queue.
+ *
+ * With several shards the tickets are inserted per shard before the job results are stored on
+ * the primary database. A crash in between leaves the jobs PROCESSING, so they are retried once
+ * stale and can create their ticket twice.
+ *
+ * DONE jobs are deleted once they are older than {@code tickets.ingest.done-retention}, after
+ * which their status URL answers 404.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "tickets.ingest.worker.enabled", havingValue = "true", matchIfMissing = true)
+public class TicketIngestWorker {
+    private static final Logger log = LoggerFactory.getLogger(TicketIngestWorker.class);
+    private static final int MAX_ERROR_LENGTH = 999;
+
+    private final TicketIngestJobRepository jobRepository;
+    private final TicketService ticketService;
+    private final TicketReferenceValidator referenceValidator;
+    private final TicketShards shards;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    private final Counter processedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+
+    @Value("${tickets.ingest.batch-size:100}")
+    private int batchSize;
+
+    @Value("${tickets.ingest.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${tickets.ingest.stale-after:PT5M}")
+    private Duration staleAfter;
+
+    @Value("${tickets.ingest.done-retention:PT24H}")
+    private Duration doneRetention;
+
+    public TicketIngestWorker(TicketIngestJobRepository jobRepository, TicketService ticketService,
+                              TicketReferenceValidator referenceValidator, TicketShards shards,
+                              TransactionTemplate transactionTemplate, ObjectMapper objectMapper, Clock clock, MeterRegistry registry) {
+        this.jobRepository = jobRepository;
+        this.ticketService = ticketService;
+        this.referenceValidator = referenceValidator;
+        this.shards = shards;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+
+        this.processedCounter = Counter.builder("ticket_service.ingest.processed.total")
+                .description("Total number of queued ticket requests that created a ticket")
+                .register(registry);
+
+        this.failedCounter = Counter.builder("ticket_service.ingest.failed.total")
+                .description("Total number of queued ticket requests that failed")
+                .register(registry);
+
+        this.batchTimer = Timer.builder("ticket_service.ingest.batch.duration")
+                .description("Time taken to process one batch of queued ticket requests")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${tickets.ingest.interval-ms:1000}")
+    public void drainQueue() {
+        int processed;
+        do {
+            Timer.Sample sample = Timer.start();
+            processed = processBatch();
+            sample.stop(batchTimer);
+        } while (processed == batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${tickets.ingest.purge-interval-ms:600000}", initialDelayString = "${tickets.ingest.purge-interval-ms:600000}")
+    public void purgeDoneJobs() {
+        LocalDateTime before = LocalDateTime.now(clock).minus(doneRetention);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> jobRepository.deleteDoneBefore(before, batchSize));
+            total += deleted;
+        } while (deleted == batchSize);
+        if (total > 0) {
+            log.info("Deleted {} ingest jobs done before {}", total, before);
+        }
+    }
+
+    /**
+     * Claims and processes up to {@code tickets.ingest.batch-size} jobs.
+     *
+     * @return the number of claimed jobs
+     */
+    int processBatch() {
+        List<TicketIngestJobEntity> jobs = claimBatch();
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+
+        List<TicketIngestJobEntity> accepted = new ArrayList<>();
+        List<CreateTicketRequest> requests = new ArrayList<>();
+        for (TicketIngestJobEntity job : jobs) {
+            if (job.getAttempts() > maxAttempts) {
+                fail(job, "Gave up after " + maxAttempts + " attempts");
+                continue;
+            }
+            try {
+                CreateTicketRequest request = objectMapper.readValue(job.getPayload(), CreateTicketRequest.class);
+                accepted.add(job);
+                requests.add(request);
+            } catch (Exception e) {
+                fail(job, "Unreadable request: " + e.getMessage());
+            }
+        }
+
+        List<TicketIngestJobEntity> validJobs = new ArrayList<>();
+        List<CreateTicketRequest> validRequests = new ArrayList<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            try {
+                referenceValidator.validate(requests.get(i));
+                validJobs.add(accepted.get(i));
+                validRequests.add(requests.get(i));
+            } catch (TicketReferenceValidator.ValidationTimeoutException e) {
+                retryLater(accepted.get(i));
+            } catch (IllegalArgumentException e) {
+                fail(accepted.get(i), e.getMessage());
+            }
+        }
+
+        if (shards.count() > 1) {
+            writeSharded(jobs, validJobs, validRequests);
+            return jobs.size();
+        }
+        try {
+            writeTickets(jobs, validJobs, validRequests);
+        } catch (Exception e) {
+            // One bad row (e.g. an unknown media id) must not fail the whole batch, so retry one by one
+            log.warn("Ingest batch of {} jobs failed, retrying individually: {}", jobs.size(), e.getMessage());
+            writeIndividually(jobs, validJobs, validRequests);
+        }
+        return jobs.size();
+    }
+
+    private List<TicketIngestJobEntity> claimBatch() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return transactionTemplate.execute(status -> {
+            List<Long> jobIds = jobRepository.lockClaimableJobIds(now.minus(staleAfter), batchSize);
+            if (jobIds.isEmpty()) {
+                return List.<TicketIngestJobEntity>of();
+            }
+            List<TicketIngestJobEntity> jobs = jobRepository.findAllById(jobIds);
+            for (TicketIngestJobEntity job : jobs) {
+                job.setStatus(IngestStatus.PROCESSING);
+                job.setClaimedAt(now);
+                job.setAttempts(job.getAttempts() + 1);
+            }
+            return jobRepository.saveAll(jobs);
+        });
+    }
+
+    private void writeTickets(List<TicketIngestJobEntity> jobs, List<TicketIngestJobEntity> validJobs, List<CreateTicketRequest> validRequests) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<TicketEntity> tickets = validRequests.isEmpty() ? List.of() : ticketService.createValidatedTickets(validRequests);
+            for (int i = 0; i < tickets.size(); i++) {
+                complete(validJobs.get(i), tickets.get(i));
+            }
+            jobRepository.saveAll(jobs);
+        });
+        processedCounter.increment(validJobs.size());
+        failedCounter.increment(countFailed(jobs));
+    }
+
+    private void writeIndividually(List<TicketIngestJobEntity> jobs, List<TicketIngestJobEntity> validJobs, List<CreateTicketRequest> validRequests) {
+        for (int i = 0; i < validJobs.size(); i++) {
+            TicketIngestJobEntity job = validJobs.get(i);
+            CreateTicketRequest request = validRequests.get(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    complete(job, ticketService.createValidatedTickets(List.of(request)).get(0));
+                    jobRepository.save(job);
+                });
+                processedCounter.increment();
+            } catch (Exception e) {
+                fail(job, e.getMessage());
+                jobRepository.save(job);
+                failedCounter.increment();
+            }
+        }
+        // Jobs that already failed validation or go back to the queue only need their state stored
+        List<TicketIngestJobEntity> invalidJobs = jobs.stream().filter(job -> !validJobs.contains(job)).toList();
+        jobRepository.saveAll(invalidJobs);
+        failedCounter.increment(countFailed(invalidJobs));
+    }
+
+    private void writeSharded(List<TicketIngestJobEntity> jobs, List<TicketIngestJobEntity> validJobs, List<CreateTicketRequest> validRequests) {
+        Map<Integer, List<Integer>> byShard = new TreeMap<>();
+        for (int i = 0; i < validRequests.size(); i++) {
+            byShard.computeIfAbsent(ticketService.shardFor(validRequests.get(i)), shard -> new ArrayList<>()).add(i);
+        }
+        int processed = 0;
+        for (List<Integer> group : byShard.values()) {
+            try {
+                List<TicketEntity> tickets = ticketService.createValidatedTickets(group.stream().map(validRequests::get).toList());
+                for (int i = 0; i < tickets.size(); i++) {
+                    complete(validJobs.get(group.get(i)), tickets.get(i));
+                }
+                processed += group.size();
+            } catch (Exception e) {
+                log.warn("Ingest batch of {} jobs failed on one shard, retrying individually: {}", group.size(), e.getMessage());
+                for (Integer i : group) {
+                    try {
+                        complete(validJobs.get(i), ticketService.createValidatedTickets(List.of(validRequests.get(i))).get(0));
+                        processed++;
+                    } catch (Exception ex) {
+                        fail(validJobs.get(i), ex.getMessage());
+                    }
+                }
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> jobRepository.saveAll(jobs));
+        processedCounter.increment(processed);
+        failedCounter.increment(countFailed(jobs));
+    }
+
+    private void complete(TicketIngestJobEntity job, TicketEntity ticket) {
+        job.setStatus(IngestStatus.DONE);
+        job.setTicketId(ticket.getTicketId());
+        job.setError(null);
+        job.setProcessedAt(LocalDateTime.now(clock));
+    }
+
+    private static long countFailed(List<TicketIngestJobEntity> jobs) {
+        return jobs.stream().filter(job -> job.getStatus() == IngestStatus.FAILED).count();
+    }
+
+    private void retryLater(TicketIngestJobEntity job) {
+        job.setStatus(IngestStatus.PENDING);
+        job.setClaimedAt(null);
+    }
+
+    private void fail(TicketIngestJobEntity job, String error) {
+        job.setStatus(IngestStatus.FAILED);
+        job.setError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        job.setProcessedAt(LocalDateTime.now(clock));
+    }
+}
@@ -0,0 +1,171 @@
+package de.tum.aet.devops25.teamspoved.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import de.tum.aet.devops25.teamspoved.dto.TicketField;
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.dto.TicketSnapshot;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Serialized responses of {@code GET /tickets}, keyed by the normalized filter and the selected fields.
+ *
+ * {@link TicketService} reports every committed write with the ticket's attributes before and after
+ * the change, and exactly the entries whose filter matches either of them are dropped. Entries are
+ * evicted least recently used first once {@code tickets.cache.max-entries} or
+ * {@code tickets.cache.max-bytes} is exceeded, and expire after {@code tickets.cache.ttl}, which
+ * bounds staleness caused by writes on other replicas.
+ *
+ * A result computed while a write was committing must not be stored, so callers take a
+ * {@link #stamp()} before querying the database and pass it to {@link #put}.
+ */
+@Component
+@Profile("!reactive")
+public class TicketQueryCache {
+    private final Clock clock;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Duration ttl;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long stamp;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter invalidationCounter;
+
+    public TicketQueryCache(
+            Clock clock,
+            @Value("${tickets.cache.max-entries:256}") int maxEntries,
+            @Value("${tickets.cache.max-bytes:16777216}") long maxBytes,
+            @Value("${tickets.cache.ttl:PT30S}") Duration ttl,
+            MeterRegistry registry) {
+        this.clock = clock;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttl = ttl;
+
+        this.hitCounter = Counter.builder("ticket_service.cache.hits.total")
+                .description("Ticket list requests answered from the query cache")
+                .register(registry);
+        this.missCounter = Counter.builder("ticket_service.cache.misses.total")
+                .description("Ticket list requests that had to query the database")
+                .register(registry);
+        this.invalidationCounter = Counter.builder("ticket_service.cache.invalidations.total")
+                .description("Cached ticket lists dropped because a write affected them")
+                .register(registry);
+        Gauge.builder("ticket_service.cache.entries", this, TicketQueryCache::size)
+                .description("Number of cached ticket lists")
+                .register(registry);
+        Gauge.builder("ticket_service.cache.bytes", this, TicketQueryCache::bytes)
+                .description("Total size of the cached ticket lists")
+                .register(registry);
+    }
+
+    /**
+     * Returns the cached response body or {@code null}.
+     */
+    public synchronized byte[] get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt().isAfter(clock.instant())) {
+            hitCounter.increment();
+            return entry.body();
+        }
+        if (entry != null) {
+            remove(key);
+        }
+        missCounter.increment();
+        return null;
+    }
+
+    /**
+     * Current invalidation stamp, to be passed to {@link #put} for a result read afterwards.
+     */
+    public synchronized long stamp() {
+        return stamp;
+    }
+
+    /**
+     * Stores the body unless an invalidation happened since {@code stamp} was taken.
+     */
+    public synchronized void put(Key key, long stamp, byte[] body) {
+        if (stamp != this.stamp || body.length > maxBytes) {
+            return;
+        }
+        remove(key);
+        entries.put(key, new Entry(body, clock.instant().plus(ttl)));
+        totalBytes += body.length;
+
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries || totalBytes > maxBytes) {
+            totalBytes -= eldest.next().getValue().body().length;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Drops every entry whose filter selects the ticket before or after the write.
+     *
+     * @param before the ticket's attributes before the write, {@code null} for a new ticket
+     * @param after the ticket's attributes after the write, {@code null} for a removed ticket
+     */
+    public synchronized void invalidate(TicketSnapshot before, TicketSnapshot after) {
+        stamp++;
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> entry = iterator.next();
+            TicketFilter filter = entry.getKey().filter();
+            if ((before != null && filter.matches(before)) || (after != null && filter.matches(after))) {
+                totalBytes -= entry.getValue().body().length;
+                iterator.remove();
+                invalidationCounter.increment();
+            }
+        }
+    }
+
+    /**
+     * Drops everything, for bulk writes that do not go through {@link TicketService}.
+     */
+    public synchronized void invalidateAll() {
+        stamp++;
+        invalidationCounter.increment(entries.size());
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long bytes() {
+        return totalBytes;
+    }
+
+    private void remove(Key key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.body().length;
+        }
+    }
+
+    /**
+     * @param fields the selected sparse fieldset, or {@code null} for full tickets
+     */
+    public record Key(TicketFilter filter, Set<TicketField> fields) {}
+
+    private record Entry(byte[] body, Instant expiresAt) {}
+}
@@ -0,0 +1,121 @@
+package de.tum.aet.devops25.teamspoved.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import de.tum.aet.devops25.teamspoved.client.MediaServiceClient;
+import de.tum.aet.devops25.teamspoved.client.UserServiceClient;
+import de.tum.aet.devops25.teamspoved.dto.CreateTicketRequest;
+import de.tum.aet.devops25.teamspoved.util.JwtFilter.AuthenticatedUser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Checks that the users and the media a ticket refers to exist before it is written.
+ *
+ * The creator, the assignee and the media are checked concurrently, each on its own virtual
+ * thread in a {@link StructuredTaskScope}, so the checks take as long as the slowest remote call
+ * rather than the sum of all. The first failing check cancels the others, and all of them are
+ * cancelled once {@code tickets.validation.timeout} has passed.
+ *
+ * The user of the request's verified token exists without asking the user service.
+ */
+@Component
+@Profile("!reactive")
+public class TicketReferenceValidator {
+    private final UserServiceClient userServiceClient;
+    private final MediaServiceClient mediaServiceClient;
+    private final Duration timeout;
+    private final Counter userChecksSkippedCounter;
+
+    public TicketReferenceValidator(UserServiceClient userServiceClient, MediaServiceClient mediaServiceClient,
+                                    @Value("${tickets.validation.timeout:PT2S}") Duration timeout, MeterRegistry registry) {
+        this.userServiceClient = userServiceClient;
+        this.mediaServiceClient = mediaServiceClient;
+        this.timeout = timeout;
+        this.userChecksSkippedCounter = Counter.builder("ticket_service.user_checks.skipped.total")
+                .description("User checks answered from the request's verified token instead of the user service")
+                .register(registry);
+    }
+
+    /**
+     * Whether the user exists. Saves the remote call for the common case of users acting for themselves.
+     */
+    public boolean userExists(Integer userId) {
+        if (isAuthenticatedUser(AuthenticatedUser.current().map(AuthenticatedUser::userId).orElse(null), userId)) {
+            userChecksSkippedCounter.increment();
+            return true;
+        }
+        return userServiceClient.userExists(userId);
+    }
+
+    /**
+     * Checks the creator, the assignee and the media of a new ticket.
+     *
+     * @throws IllegalArgumentException if one of them does not exist
+     * @throws ValidationTimeoutException if the checks did not finish in time
+     */
+    public void validate(CreateTicketRequest request) {
+        // The security context is bound to this thread, the forked checks do not see it
+        Long tokenUserId = AuthenticatedUser.current().map(AuthenticatedUser::userId).orElse(null);
+        Set<Integer> userIds = new LinkedHashSet<>();
+        userIds.add(request.createdBy());
+        if (request.assignedTo() != null) {
+            userIds.add(request.assignedTo());
+        }
+        if (userIds.removeIf(userId -> isAuthenticatedUser(tokenUserId, userId))) {
+            userChecksSkippedCounter.increment();
+        }
+        Integer mediaId = request.mediaId();
+        if (userIds.isEmpty() && mediaId == null) {
+            return;
+        }
+
+        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+            for (Integer userId : userIds) {
+                scope.fork(() -> {
+                    if (!userServiceClient.userExists(userId)) {
+                        throw new IllegalArgumentException("User with ID " + userId + " not found");
+                    }
+                    return null;
+                });
+            }
+            if (mediaId != null) {
+                scope.fork(() -> {
+                    if (mediaServiceClient.findMediaByIds(List.of(mediaId)).isEmpty()) {
+                        throw new IllegalArgumentException("Media with ID " + mediaId + " not found");
+                    }
+                    return null;
+                });
+            }
+            scope.joinUntil(Instant.now().plus(timeout));
+            scope.throwIfFailed(e -> e instanceof RuntimeException runtimeException
+                    ? runtimeException : new IllegalStateException(e));
+        } catch (TimeoutException e) {
+            throw new ValidationTimeoutException("Ticket references could not be checked within " + timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while checking the ticket references", e);
+        }
+    }
+
+    private static boolean isAuthenticatedUser(Long tokenUserId, Integer userId) {
+        return tokenUserId != null && userId != null && tokenUserId == userId.longValue();
+    }
+
+    public static class ValidationTimeoutException extends RuntimeException {
+        public ValidationTimeoutException(String message) {
+            super(message);
+        }
+    }
+}
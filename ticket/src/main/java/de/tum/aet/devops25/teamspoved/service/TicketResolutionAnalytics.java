@@ -0,0 +1,238 @@
+package de.tum.aet.devops25.teamspoved.service;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import de.tum.aet.devops25.teamspoved.dto.ResolutionDimension;
+import de.tum.aet.devops25.teamspoved.dto.ResolutionStats;
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+import de.tum.aet.devops25.teamspoved.repository.TicketShards;
+
+/**
+ * Time-to-resolution percentiles per location, assignee and media type.
+ *
+ * Every transition to FINISHED records the time since the ticket was created into an
+ * HdrHistogram per dimension value. A histogram has a fixed number of buckets (two significant
+ * digits, so percentiles are within 1%), so recording and answering take the same time no
+ * matter how many tickets were finished.
+ *
+ * Histograms are mergeable: every replica periodically adds what it recorded since the last
+ * merge to {@code db.ticket_resolution_histograms} on the primary database and reads back the
+ * totals of all replicas. Answers include the local recordings that were not merged yet.
+ */
+@Component
+@Profile("!reactive")
+public class TicketResolutionAnalytics {
+    private static final Logger log = LoggerFactory.getLogger(TicketResolutionAnalytics.class);
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private static final String INSERT_HISTOGRAM = "INSERT INTO db.ticket_resolution_histograms (dimension, value, histogram) " +
+            "VALUES (?, ?, ?) ON CONFLICT (dimension, value) DO NOTHING";
+    private static final String LOCK_HISTOGRAM = "SELECT histogram FROM db.ticket_resolution_histograms " +
+            "WHERE dimension = ? AND value = ? FOR UPDATE";
+    private static final String UPDATE_HISTOGRAM = "UPDATE db.ticket_resolution_histograms SET histogram = ?, updated_at = now() " +
+            "WHERE dimension = ? AND value = ?";
+    private static final String LOAD_HISTOGRAMS = "SELECT dimension, value, histogram FROM db.ticket_resolution_histograms";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TicketShards shards;
+    private final boolean enabled;
+
+    // Guarded by this
+    private final Map<Key, Sketch> sketches = new HashMap<>();
+
+    public TicketResolutionAnalytics(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, TicketShards shards,
+                                     @Value("${tickets.analytics.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.shards = shards;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Records a ticket that was just set to FINISHED. Tickets without a creation time are skipped.
+     */
+    public void ticketFinished(TicketEntity ticket) {
+        if (!enabled || ticket.getCreatedAt() == null || ticket.getFinishedAt() == null) {
+            return;
+        }
+        long seconds = Math.max(0, Duration.between(ticket.getCreatedAt(), ticket.getFinishedAt()).toSeconds());
+        synchronized (this) {
+            record(new Key(ResolutionDimension.ALL, ""), seconds);
+            if (ticket.getLocation() != null) {
+                record(new Key(ResolutionDimension.LOCATION, ticket.getLocation()), seconds);
+            }
+            if (ticket.getAssignedTo() != null) {
+                record(new Key(ResolutionDimension.ASSIGNEE, String.valueOf(ticket.getAssignedTo())), seconds);
+            }
+            if (ticket.getMediaType() != null) {
+                record(new Key(ResolutionDimension.MEDIA_TYPE, ticket.getMediaType().name()), seconds);
+            }
+        }
+    }
+
+    /**
+     * Percentiles for every value of the dimension, ordered by value.
+     */
+    public synchronized List<ResolutionStats> getStats(ResolutionDimension dimension) {
+        Map<String, ResolutionStats> stats = new TreeMap<>();
+        sketches.forEach((key, sketch) -> {
+            if (key.dimension() != dimension) {
+                return;
+            }
+            Histogram combined = sketch.combined();
+            if (combined.getTotalCount() == 0) {
+                return;
+            }
+            stats.put(key.value(), new ResolutionStats(dimension == ResolutionDimension.ALL ? null : key.value(),
+                    combined.getTotalCount(),
+                    combined.getValueAtPercentile(50),
+                    combined.getValueAtPercentile(90),
+                    combined.getValueAtPercentile(99),
+                    combined.getMaxValue()));
+        });
+        return new ArrayList<>(stats.values());
+    }
+
+    /**
+     * Merges the local recordings into the database and reads back the totals of all replicas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${tickets.analytics.persist-interval-ms:60000}", initialDelayString = "${tickets.analytics.persist-interval-ms:60000}")
+    public void sync() {
+        if (!enabled) {
+            return;
+        }
+        Map<Key, Histogram> batch = new HashMap<>();
+        synchronized (this) {
+            sketches.forEach((key, sketch) -> {
+                if (sketch.pending.getTotalCount() > 0) {
+                    sketch.merging = sketch.pending;
+                    sketch.pending = newHistogram();
+                    batch.put(key, sketch.merging);
+                }
+            });
+        }
+
+        if (!batch.isEmpty()) {
+            try {
+                shards.on(0, () -> transactionTemplate.execute(status -> {
+                    batch.forEach(this::mergeIntoDatabase);
+                    return null;
+                }));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    batch.keySet().forEach(key -> {
+                        Sketch sketch = sketches.get(key);
+                        sketch.pending.add(sketch.merging);
+                        sketch.merging = newHistogram();
+                    });
+                }
+                log.warn("Could not store {} resolution histograms, retrying with the next sync: {}", batch.size(), e.getMessage());
+                return;
+            }
+            synchronized (this) {
+                batch.keySet().forEach(key -> {
+                    Sketch sketch = sketches.get(key);
+                    sketch.stored.add(sketch.merging);
+                    sketch.merging = newHistogram();
+                });
+            }
+        }
+
+        try {
+            Map<Key, Histogram> loaded = new HashMap<>();
+            shards.on(0, () -> {
+                jdbcTemplate.query(LOAD_HISTOGRAMS, rs -> {
+                    Optional<ResolutionDimension> dimension = ResolutionDimension.fromName(rs.getString("dimension"));
+                    if (dimension.isPresent()) {
+                        loaded.put(new Key(dimension.get(), rs.getString("value")), decode(rs.getBytes("histogram")));
+                    }
+                });
+                return null;
+            });
+            synchronized (this) {
+                loaded.forEach((key, histogram) -> sketches.computeIfAbsent(key, k -> new Sketch()).stored = histogram);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not load the resolution histograms: {}", e.getMessage());
+        }
+    }
+
+    private void record(Key key, long seconds) {
+        sketches.computeIfAbsent(key, k -> new Sketch()).pending.recordValue(seconds);
+    }
+
+    private void mergeIntoDatabase(Key key, Histogram delta) {
+        String dimension = key.dimension().getName();
+        if (jdbcTemplate.update(INSERT_HISTOGRAM, dimension, key.value(), encode(delta)) == 1) {
+            return;
+        }
+        byte[] stored = jdbcTemplate.queryForObject(LOCK_HISTOGRAM, byte[].class, dimension, key.value());
+        Histogram merged = decode(stored);
+        merged.add(delta);
+        jdbcTemplate.update(UPDATE_HISTOGRAM, encode(merged), dimension, key.value());
+    }
+
+    private static Histogram newHistogram() {
+        // Grows its range as needed, so no upper bound on the resolution time has to be configured
+        return new Histogram(SIGNIFICANT_DIGITS);
+    }
+
+    static byte[] encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Arrays.copyOf(buffer.array(), length);
+    }
+
+    static Histogram decode(byte[] bytes) {
+        try {
+            // Copy into an auto-resizing histogram, the decoded one has a fixed range
+            Histogram histogram = newHistogram();
+            histogram.add(Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(bytes), 0));
+            return histogram;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Invalid resolution histogram", e);
+        }
+    }
+
+    private record Key(ResolutionDimension dimension, String value) {}
+
+    private static class Sketch {
+        // Totals of all replicas as last read from the database
+        private Histogram stored = newHistogram();
+        // Recorded here since the last sync
+        private Histogram pending = newHistogram();
+        // Being added to the database by the running sync
+        private Histogram merging = newHistogram();
+
+        Histogram combined() {
+            Histogram combined = newHistogram();
+            combined.add(stored);
+            combined.add(pending);
+            combined.add(merging);
+            return combined;
+        }
+    }
+}
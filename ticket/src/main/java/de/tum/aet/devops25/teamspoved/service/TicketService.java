@@ -1,31 +1,103 @@
 package de.tum.aet.devops25.teamspoved.service;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import de.tum.aet.devops25.teamspoved.client.UserServiceClient;
+import de.tum.aet.devops25.teamspoved.dto.CalendarDay;
 import de.tum.aet.devops25.teamspoved.dto.CreateTicketRequest;
+import de.tum.aet.devops25.teamspoved.dto.TicketChanges;
+import de.tum.aet.devops25.teamspoved.dto.TicketField;
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.dto.TicketPage;
+import de.tum.aet.devops25.teamspoved.dto.TicketSnapshot;
 import de.tum.aet.devops25.teamspoved.dto.UpdateTicketRequest;
+import de.tum.aet.devops25.teamspoved.dto.UserSummary;
+import de.tum.aet.devops25.teamspoved.dto.WorkerLoad;
 import de.tum.aet.devops25.teamspoved.model.Status;
 import de.tum.aet.devops25.teamspoved.model.TicketEntity;
 import de.tum.aet.devops25.teamspoved.repository.TicketRepository;
+import de.tum.aet.devops25.teamspoved.repository.TicketShards;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 @Service
+@Profile("!reactive")
 public class TicketService {
-    private final TicketRepository ticketRepository;
-    private final RestTemplate restTemplate;
+    private static final Logger log = LoggerFactory.getLogger(TicketService.class);
+    private static final long MAX_CALENDAR_DAYS = 366;
+    private static final int MAX_PAGE_SIZE = 500;
 
-    // Use @Value to inject the user service URL from application properties or environment variables.
-    @Value("${USER_SERVICE_URL:http://user:8082}")
-    private String userServiceUrl;
+    private final TicketRepository ticketRepository;
+    private final UserServiceClient userServiceClient;
+    private final TicketReferenceValidator referenceValidator;
+    private final WorkerLoadIndex workerLoadIndex;
+    private final TicketQueryCache ticketQueryCache;
+    private final DuplicateTicketIndex duplicateIndex;
+    private final TicketBitmapIndex bitmapIndex;
+    private final TicketResolutionAnalytics resolutionAnalytics;
+    private final TicketShards shards;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final MeterRegistry registry;
+    private final AtomicInteger nextClaimShard = new AtomicInteger();
+    private final Map<String, Timer> connectionHoldTimers = new ConcurrentHashMap<>();
+    private StatusUpdateBuffer statusUpdates;
+
+    @Value("${tickets.duplicates.enabled:true}")
+    private boolean duplicatesEnabled;
+
+    @Value("${tickets.duplicates.load-batch-size:1000}")
+    private int duplicateLoadBatchSize;
+
+    @Value("${tickets.status-write-behind.enabled:false}")
+    private boolean statusWriteBehind;
+
+    @Value("${tickets.status-write-behind.flush-interval:PT0.01S}")
+    private Duration statusFlushInterval;
+
+    @Value("${tickets.status-write-behind.max-batch-size:500}")
+    private int statusMaxBatchSize;
+
+    @Value("${tickets.status-write-behind.timeout:PT5S}")
+    private Duration statusWriteTimeout;
 
     // Metrics
     // Read
@@ -43,10 +115,23 @@ public class TicketService {
     private final Counter ticketsCreatedCounter;
     private final Counter ticketsCreatedError;
     private final Timer ticketsCreatedTimer;
+    private final Counter duplicatesDetectedCounter;
 
-    public TicketService(TicketRepository ticketRepository, RestTemplate restTemplate, MeterRegistry registry) {
+    public TicketService(TicketRepository ticketRepository, UserServiceClient userServiceClient, TicketReferenceValidator referenceValidator, WorkerLoadIndex workerLoadIndex,
+                         TicketQueryCache ticketQueryCache, DuplicateTicketIndex duplicateIndex, TicketBitmapIndex bitmapIndex,
+                         TicketResolutionAnalytics resolutionAnalytics, TicketShards shards, TransactionTemplate transactionTemplate, Clock clock, MeterRegistry registry) {
         this.ticketRepository = ticketRepository;
-        this.restTemplate = restTemplate;
+        this.userServiceClient = userServiceClient;
+        this.referenceValidator = referenceValidator;
+        this.workerLoadIndex = workerLoadIndex;
+        this.ticketQueryCache = ticketQueryCache;
+        this.duplicateIndex = duplicateIndex;
+        this.bitmapIndex = bitmapIndex;
+        this.resolutionAnalytics = resolutionAnalytics;
+        this.shards = shards;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.registry = registry;
 
         /* Ticket Reading */
 
@@ -94,40 +179,186 @@ public class TicketService {
         this.ticketsCreatedTimer = Timer.builder("ticket_service.creation.requests.duration")
                 .description("Time taken to create tickets")
                 .register(registry);
-                       
+
+        /* Worker Load */
+
+        Gauge.builder("ticket_service.workers.tracked", workerLoadIndex, WorkerLoadIndex::size)
+                .description("Number of workers tracked by the worker load index")
+                .register(registry);
+
+        /* Duplicate Detection */
+
+        this.duplicatesDetectedCounter = Counter.builder("ticket_service.duplicates.detected.total")
+                .description("Total number of new tickets linked to an open near-duplicate")
+                .register(registry);
+
+        Gauge.builder("ticket_service.duplicates.indexed", duplicateIndex, DuplicateTicketIndex::size)
+                .description("Number of open tickets in the near-duplicate index")
+                .register(registry);
     }
 
-    private boolean userExists(Integer userId) {
+    @PostConstruct
+    void startStatusWriteBehind() {
+        if (statusWriteBehind) {
+            statusUpdates = new StatusUpdateBuffer(this::applyStatusUpdates, statusFlushInterval, statusMaxBatchSize,
+                    statusWriteTimeout, registry);
+        }
+    }
+
+    @PreDestroy
+    void stopStatusWriteBehind() {
+        if (statusUpdates != null) {
+            statusUpdates.close();
+        }
+    }
+
+    /**
+     * Seeds the worker load index with the active ticket counts from the database and
+     * registers all workers known to the user service, so that workers without any
+     * tickets can also be picked for least-loaded assignment.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpWorkerLoadIndex() {
+        Map<Integer, long[]> counts = new HashMap<>();
+        for (TicketRepository.AssigneeStatusCount row : shards.gather(shard -> ticketRepository.countActiveTicketsByAssignee())) {
+            long[] count = counts.computeIfAbsent(row.getAssignedTo(), id -> new long[2]);
+            count[row.getStatus() == Status.OPEN ? 0 : 1] += row.getTotal();
+        }
+        workerLoadIndex.rebuild(counts.entrySet().stream()
+                .map(e -> new WorkerLoad(e.getKey(), e.getValue()[0], e.getValue()[1]))
+                .toList());
+
         try {
-            // Just check if user exists without storing the full object
-            restTemplate.getForObject(userServiceUrl + "/users/" + userId, Object.class);
-            return true;
+            userServiceClient.findUsersByRole("WORKER").stream()
+                    .map(UserSummary::userId)
+                    .forEach(workerLoadIndex::registerWorker);
         } catch (Exception e) {
-            return false;
+            log.warn("Could not load workers from user service, only workers with tickets are tracked: {}", e.getMessage());
         }
     }
 
-    @Transactional
+    /**
+     * Adds active tickets created since the last load to the near-duplicate index. Runs on startup
+     * and periodically afterwards, which also picks up tickets created by other replicas or bulk imports.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${tickets.duplicates.refresh-interval-ms:60000}", initialDelayString = "${tickets.duplicates.refresh-interval-ms:60000}")
+    public void refreshDuplicateIndex() {
+        if (!duplicatesEnabled) {
+            return;
+        }
+        for (int shard = 0; shard < shards.count(); shard++) {
+            int current = shard;
+            List<TicketEntity> tickets;
+            do {
+                tickets = shards.on(current, () -> ticketRepository.findIndexableTicketsAfter(
+                        duplicateIndex.highestIndexedId(current), PageRequest.of(0, duplicateLoadBatchSize)));
+                for (TicketEntity ticket : tickets) {
+                    duplicateIndex.add(ticket.getTicketId(), signature(ticket));
+                }
+                if (!tickets.isEmpty()) {
+                    duplicateIndex.advanceTo(current, tickets.get(tickets.size() - 1).getTicketId());
+                }
+            } while (tickets.size() == duplicateLoadBatchSize);
+        }
+    }
+
+    private static int[] signature(TicketEntity ticket) {
+        return DuplicateTicketIndex.signature(ticket.getTitle(), ticket.getDescription(), ticket.getLocation());
+    }
+
+    /**
+     * Links the new ticket to the most similar open ticket, if there is one. The index lookup is
+     * in memory; only a match is confirmed with a primary key read, because the matched ticket
+     * may have been finished on another replica.
+     */
+    private void linkDuplicate(TicketEntity ticket) {
+        if (!duplicatesEnabled) {
+            return;
+        }
+        for (Integer candidate : duplicateIndex.findSimilar(signature(ticket))) {
+            // duplicate_of can only reference a ticket in the same database
+            if (shards.forTicket(candidate) != TicketShards.current()) {
+                continue;
+            }
+            Optional<TicketEntity> original = ticketRepository.findById(candidate);
+            if (original.isPresent() && original.get().getStatus() != Status.FINISHED) {
+                ticket.setDuplicateOf(candidate);
+                duplicatesDetectedCounter.increment();
+                return;
+            }
+            duplicateIndex.remove(candidate);
+        }
+    }
+
+    /**
+     * Indexes a committed ticket unless it is a duplicate itself, so later tickets link to the original.
+     */
+    private void indexTicket(TicketEntity ticket) {
+        if (duplicatesEnabled && ticket.getDuplicateOf() == null && ticket.getStatus() != Status.FINISHED) {
+            duplicateIndex.add(ticket.getTicketId(), signature(ticket));
+        }
+    }
+
+    /**
+     * Runs the given action once the surrounding transaction has committed, so that
+     * in-memory indexes never reflect writes that were rolled back.
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Brings the in-memory views of the ticket lists up to date after a committed write.
+     */
+    private void ticketChanged(Integer ticketId, TicketSnapshot before, TicketSnapshot after) {
+        ticketQueryCache.invalidate(before, after);
+        bitmapIndex.put(ticketId, after);
+    }
+
+    /**
+     * Runs a write in its own transaction and records how long it held its database connection,
+     * per operation. Remote calls belong before this, never inside the callback.
+     */
+    private <T> T inTransaction(String operation, TransactionCallback<T> action) {
+        Timer timer = connectionHoldTimers.computeIfAbsent(operation, name -> Timer.builder("ticket_service.db.connection.hold")
+                .description("Time a ticket write held its database connection")
+                .tag("operation", name)
+                .register(registry));
+        return timer.record(() -> transactionTemplate.execute(action));
+    }
+
+    private boolean userExists(Integer userId) {
+        return referenceValidator.userExists(userId);
+    }
+
     public TicketEntity createTicket(CreateTicketRequest request) {
         return ticketsCreatedTimer.record(() -> {
             try {
-
-                if (!userExists(request.createdBy())) {
-                    System.out.println("User not found");
-                    throw new IllegalArgumentException("User not found");
-                }
-
-                TicketEntity ticket = new TicketEntity();
-                ticket.setCreatedBy(request.createdBy());
-                ticket.setAssignedTo(request.assignedTo());
-                ticket.setTitle(request.title());
-                ticket.setDescription(request.description());
-                ticket.setStatus(Status.OPEN);
-                ticket.setDueDate(request.dueDate());
-                ticket.setLocation(request.location());
-                ticket.setMediaType(request.mediaType());
-                ticket.setMediaId(request.mediaId());
-                TicketEntity saved = ticketRepository.save(ticket);
+                // Checked before the transaction starts, so slow remote services never hold a database connection
+                referenceValidator.validate(request);
+
+                TicketEntity saved = shards.on(shards.forLocation(request.location()), () -> inTransaction("create", tx -> {
+                    TicketEntity ticket = newTicket(request);
+                    linkDuplicate(ticket);
+                    TicketEntity inserted = ticketRepository.save(ticket);
+                    TicketSnapshot created = TicketSnapshot.of(inserted);
+                    afterCommit(() -> {
+                        workerLoadIndex.ticketAdded(inserted.getAssignedTo(), inserted.getStatus());
+                        ticketChanged(inserted.getTicketId(), null, created);
+                        indexTicket(inserted);
+                    });
+                    return inserted;
+                }));
                 ticketsCreatedCounter.increment();
                 return saved;
             } catch (Exception e) {
@@ -137,15 +368,80 @@ public class TicketService {
         });
     }
 
+    /**
+     * Inserts tickets that were already checked with {@link TicketReferenceValidator#validate}.
+     * Used by the ingest worker, which validates a whole batch before opening the transaction.
+     * All requests have to be placed on the same shard, see {@link #shardFor}.
+     */
     @Transactional
+    public List<TicketEntity> createValidatedTickets(List<CreateTicketRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        return shards.on(shardFor(requests.get(0)), () -> ticketsCreatedTimer.record(() -> {
+            try {
+                List<TicketEntity> tickets = requests.stream().map(this::newTicket).toList();
+                tickets.forEach(this::linkDuplicate);
+                List<TicketEntity> saved = ticketRepository.saveAll(tickets);
+                List<TicketSnapshot> created = saved.stream().map(TicketSnapshot::of).toList();
+                afterCommit(() -> {
+                    for (int i = 0; i < saved.size(); i++) {
+                        TicketSnapshot ticket = created.get(i);
+                        workerLoadIndex.ticketAdded(ticket.assignedTo(), ticket.status());
+                        ticketChanged(saved.get(i).getTicketId(), null, ticket);
+                    }
+                    saved.forEach(this::indexTicket);
+                });
+                ticketsCreatedCounter.increment(saved.size());
+                return saved;
+            } catch (Exception e) {
+                ticketsCreatedError.increment();
+                throw e;
+            }
+        }));
+    }
+
+    /**
+     * The shard a new ticket for this request is stored on.
+     */
+    public int shardFor(CreateTicketRequest request) {
+        return shards.forLocation(request.location());
+    }
+
+    /**
+     * Returns the ids that the user service does not know, checked in one batch call.
+     */
+    public Set<Integer> findUnknownUsers(Collection<Integer> userIds) {
+        Set<Integer> existing = userServiceClient.findExistingUsers(userIds);
+        return userIds.stream()
+                .filter(userId -> !existing.contains(userId))
+                .collect(Collectors.toSet());
+    }
+
+    private TicketEntity newTicket(CreateTicketRequest request) {
+        TicketEntity ticket = new TicketEntity();
+        ticket.setCreatedBy(request.createdBy());
+        ticket.setAssignedTo(request.assignedTo());
+        ticket.setTitle(request.title());
+        ticket.setDescription(request.description());
+        ticket.setStatus(Status.OPEN);
+        ticket.setDueDate(request.dueDate());
+        ticket.setLocation(request.location());
+        ticket.setMediaType(request.mediaType());
+        ticket.setMediaId(request.mediaId());
+        return ticket;
+    }
+
+    /**
+     * Changes the status of a ticket. With {@code tickets.status-write-behind.enabled}, the update
+     * is buffered and written together with the other updates of the next flush, see {@link StatusUpdateBuffer}.
+     */
     public Optional<TicketEntity> updateTicketStatus(Integer ticketId, Status newStatus) {
         return ticketAssignmentTimer.record(() -> {
-            Optional<TicketEntity> ticketOpt = ticketRepository.findById(ticketId);
             try {
-                ticketOpt.ifPresent(ticket -> {
-                    ticket.setStatus(newStatus);
-                    ticketRepository.save(ticket);
-                });
+                Optional<TicketEntity> ticketOpt = statusUpdates != null
+                        ? statusUpdates.submit(ticketId, newStatus)
+                        : Optional.ofNullable(applyStatusUpdates(Map.of(ticketId, newStatus)).get(ticketId));
                 if (ticketOpt.isPresent()) {
                     ticketAssignedCounter.increment();
                 }
@@ -157,11 +453,66 @@ public class TicketService {
         });
     }
 
+    /**
+     * Writes the given statuses in one transaction per shard and returns the updated tickets.
+     */
+    private Map<Integer, TicketEntity> applyStatusUpdates(Map<Integer, Status> statuses) {
+        Map<Integer, Map<Integer, Status>> byShard = new TreeMap<>();
+        statuses.forEach((ticketId, status) ->
+                byShard.computeIfAbsent(shards.forTicket(ticketId), shard -> new HashMap<>()).put(ticketId, status));
+        Map<Integer, TicketEntity> updated = new HashMap<>();
+        byShard.forEach((shard, shardStatuses) -> shards.on(shard, () -> inTransaction("status", tx -> {
+            for (TicketEntity ticket : ticketRepository.findAllById(shardStatuses.keySet())) {
+                applyStatus(ticket, shardStatuses.get(ticket.getTicketId()));
+                updated.put(ticket.getTicketId(), ticket);
+            }
+            return null;
+        })));
+        return updated;
+    }
 
-    @Transactional
+    private void applyStatus(TicketEntity ticket, Status newStatus) {
+        TicketSnapshot before = TicketSnapshot.of(ticket);
+        Status oldStatus = ticket.getStatus();
+        ticket.setStatus(newStatus);
+        if (newStatus != Status.FINISHED) {
+            ticket.setFinishedAt(null);
+        } else if (oldStatus != Status.FINISHED) {
+            ticket.setFinishedAt(LocalDateTime.now(clock));
+        }
+        ticketRepository.save(ticket);
+        Integer ticketId = ticket.getTicketId();
+        Integer assignee = ticket.getAssignedTo();
+        TicketSnapshot after = TicketSnapshot.of(ticket);
+        afterCommit(() -> {
+            workerLoadIndex.statusChanged(assignee, oldStatus, newStatus);
+            ticketChanged(ticketId, before, after);
+            if (newStatus == Status.FINISHED) {
+                duplicateIndex.remove(ticketId);
+                if (oldStatus != Status.FINISHED) {
+                    resolutionAnalytics.ticketFinished(ticket);
+                }
+            } else if (oldStatus == Status.FINISHED) {
+                indexTicket(ticket);
+            }
+        });
+    }
+
+    /**
+     * Changes the given attributes of the ticket. With several shards, the location can only change
+     * to one on the ticket's shard, see {@link TicketShards#canMove}.
+     */
     public Optional<TicketEntity> updateTicket(Integer ticketId, UpdateTicketRequest request) {
+        if (request.location() != null && !shards.canMove(ticketId, request.location())) {
+            throw new IllegalArgumentException("Ticket " + ticketId + " cannot move to " + request.location() + ", which is on another shard");
+        }
+        return shards.on(shards.forTicket(ticketId), () -> inTransaction("update", tx -> updateTicketOnShard(ticketId, request)));
+    }
+
+    private Optional<TicketEntity> updateTicketOnShard(Integer ticketId, UpdateTicketRequest request) {
         Optional<TicketEntity> ticketOpt = ticketRepository.findById(ticketId);
         ticketOpt.ifPresent(ticket -> {
+            TicketSnapshot before = TicketSnapshot.of(ticket);
             if (request.title() != null) ticket.setTitle(request.title());
             if (request.description() != null) ticket.setDescription(request.description());
             if (request.dueDate() != null) ticket.setDueDate(request.dueDate());
@@ -169,22 +520,42 @@ public class TicketService {
             if (request.mediaType() != null) ticket.setMediaType(request.mediaType());
             if (request.mediaId() != null) ticket.setMediaId(request.mediaId());
             ticketRepository.save(ticket);
+            TicketSnapshot after = TicketSnapshot.of(ticket);
+            afterCommit(() -> {
+                ticketChanged(ticketId, before, after);
+                if (duplicateIndex.contains(ticketId)) {
+                    indexTicket(ticket);
+                }
+            });
         });
         return ticketOpt;
     }
 
-    @Transactional
     public Optional<TicketEntity> assignTicket(Integer ticketId, Integer userId) {
         return ticketAssignmentTimer.record(() -> {
-            Optional<TicketEntity> ticketOpt = ticketRepository.findById(ticketId);
             try {
-                if (ticketOpt.isPresent()) {
-                    if (!userExists(userId)) {
-                        throw new IllegalArgumentException("User with ID " + userId + " not found");
-                    }
+                // Checked before the transaction starts, so a slow user service never holds a database connection
+                if (!userExists(userId)) {
+                    throw new IllegalArgumentException("User with ID " + userId + " not found");
+                }
 
-                    ticketOpt.get().setAssignedTo(userId);
-                    ticketRepository.save(ticketOpt.get());
+                Optional<TicketEntity> ticketOpt = shards.on(shards.forTicket(ticketId), () -> inTransaction("assign", tx -> {
+                    Optional<TicketEntity> found = ticketRepository.findById(ticketId);
+                    found.ifPresent(ticket -> {
+                        TicketSnapshot before = TicketSnapshot.of(ticket);
+                        Integer oldAssignee = ticket.getAssignedTo();
+                        Status status = ticket.getStatus();
+                        ticket.setAssignedTo(userId);
+                        ticketRepository.save(ticket);
+                        TicketSnapshot after = TicketSnapshot.of(ticket);
+                        afterCommit(() -> {
+                            workerLoadIndex.reassigned(oldAssignee, userId, status);
+                            ticketChanged(ticketId, before, after);
+                        });
+                    });
+                    return found;
+                }));
+                if (ticketOpt.isPresent()) {
                     ticketAssignedCounter.increment();
                 }
                 return ticketOpt;
@@ -195,11 +566,196 @@ public class TicketService {
         });
     }
 
-    public List<TicketEntity> getFilteredTickets(Integer assignedToId, Integer createdById, Status status, java.time.LocalDate dueDate, String location, String mediaType) {
+    /**
+     * Assigns the unassigned OPEN ticket with the earliest due date, optionally at the given location,
+     * to the user. The ticket row is locked with SKIP LOCKED, so concurrent claims never wait for
+     * each other and never get the same ticket. Returns empty if there is nothing left to claim.
+     *
+     * With several shards, each one is tried in its own transaction: the location's shard first,
+     * otherwise starting at a rotating shard so that claims spread over all of them.
+     */
+    public Optional<TicketEntity> claimNextTicket(Integer userId, String location) {
+        return ticketAssignmentTimer.record(() -> {
+            try {
+                if (!userExists(userId)) {
+                    throw new IllegalArgumentException("User with ID " + userId + " not found");
+                }
+                int first = location != null ? shards.forLocation(location)
+                        : Math.floorMod(nextClaimShard.getAndIncrement(), shards.count());
+                for (int i = 0; i < shards.count(); i++) {
+                    int shard = (first + i) % shards.count();
+                    Optional<TicketEntity> claimed = shards.on(shard,
+                            () -> inTransaction("claim", tx -> claimOnShard(userId, location)));
+                    if (claimed.isPresent()) {
+                        ticketAssignedCounter.increment();
+                        return claimed;
+                    }
+                }
+                return Optional.<TicketEntity>empty();
+            } catch (Exception e) {
+                ticketAssignmentErrorCounter.increment();
+                throw e;
+            }
+        });
+    }
+
+    private Optional<TicketEntity> claimOnShard(Integer userId, String location) {
+        Optional<Integer> ticketId = location == null
+                ? ticketRepository.lockNextClaimableTicketId()
+                : ticketRepository.lockNextClaimableTicketIdAt(location);
+        Optional<TicketEntity> claimed = ticketId.flatMap(ticketRepository::findById);
+        claimed.ifPresent(ticket -> {
+            TicketSnapshot before = TicketSnapshot.of(ticket);
+            ticket.setAssignedTo(userId);
+            ticketRepository.save(ticket);
+            TicketSnapshot after = TicketSnapshot.of(ticket);
+            Status status = ticket.getStatus();
+            afterCommit(() -> {
+                workerLoadIndex.reassigned(null, userId, status);
+                ticketChanged(ticket.getTicketId(), before, after);
+            });
+        });
+        return claimed;
+    }
+
+    /**
+     * Assigns the ticket to the worker that currently has the fewest OPEN and IN_PROGRESS tickets,
+     * not counting its current assignee. If the assignee is the only worker, the ticket is returned unchanged.
+     */
+    public Optional<TicketEntity> assignTicketToLeastLoaded(Integer ticketId) {
+        Optional<TicketEntity> ticket = shards.on(shards.forTicket(ticketId), () -> ticketRepository.findById(ticketId));
+        if (ticket.isEmpty()) {
+            return ticket;
+        }
+        Integer assignee = ticket.get().getAssignedTo();
+        Optional<Integer> userId = workerLoadIndex.leastLoaded(assignee);
+        if (userId.isEmpty() && assignee != null) {
+            return ticket;
+        }
+        return assignTicket(ticketId, userId
+                .orElseThrow(() -> new IllegalArgumentException("No workers available for assignment")));
+    }
+
+    public List<WorkerLoad> getWorkerLoads() {
+        return workerLoadIndex.snapshot();
+    }
+
+    public List<TicketEntity> getFilteredTickets(TicketFilter filter) {
+        return ticketRequestTimer.record(() -> {
+            try {
+                ticketRequestCounter.increment();
+                List<TicketEntity> tickets = shards.gather(shard -> shards.mayHold(shard, filter.location())
+                        ? ticketRepository.findFilteredTickets(filter) : List.<TicketEntity>of());
+                if (shards.count() > 1) {
+                    tickets.sort(Comparator.comparing(TicketEntity::getTicketId));
+                }
+                ticketFoundCounter.increment(tickets.size());
+                return tickets;
+            } catch (Exception e) {
+                ticketErrorCounter.increment();
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Number of tickets matching the filter, counted in the bitmap index when it can answer the filter.
+     */
+    public long countTickets(TicketFilter filter) {
+        return ticketRequestTimer.record(() -> {
+            try {
+                ticketRequestCounter.increment();
+                Optional<RoaringBitmap> ids = bitmapIndex.query(filter);
+                if (ids.isPresent()) {
+                    return ids.get().getLongCardinality();
+                }
+                return shards.scatter(shard -> shards.mayHold(shard, filter.location()) ? ticketRepository.countFilteredTickets(filter) : 0L)
+                        .stream().mapToLong(Long::longValue).sum();
+            } catch (Exception e) {
+                ticketErrorCounter.increment();
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * One page of the filtered tickets ordered by id, with the total number of matches. The bitmap
+     * index selects the page, so the database only loads the tickets on it.
+     */
+    public TicketPage getTicketPage(TicketFilter filter, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must not be negative and size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long offset = (long) page * size;
+        return ticketRequestTimer.record(() -> {
+            try {
+                ticketRequestCounter.increment();
+                Optional<RoaringBitmap> ids = bitmapIndex.query(filter);
+                TicketPage result = ids.isPresent()
+                        ? loadPage(ids.get(), page, size, offset)
+                        : queryPage(filter, page, size, offset);
+                ticketFoundCounter.increment(result.tickets().size());
+                return result;
+            } catch (Exception e) {
+                ticketErrorCounter.increment();
+                throw e;
+            }
+        });
+    }
+
+    private TicketPage loadPage(RoaringBitmap ids, int page, int size, long offset) {
+        long total = ids.getLongCardinality();
+        Map<Integer, List<Integer>> byShard = new TreeMap<>();
+        if (offset < total) {
+            PeekableIntIterator iterator = ids.getIntIterator();
+            iterator.advanceIfNeeded(ids.select((int) offset));
+            for (int i = 0; i < size && iterator.hasNext(); i++) {
+                int ticketId = iterator.next();
+                byShard.computeIfAbsent(shards.forTicket(ticketId), shard -> new ArrayList<>()).add(ticketId);
+            }
+        }
+        List<TicketEntity> tickets = new ArrayList<>(size);
+        byShard.forEach((shard, ticketIds) -> tickets.addAll(shards.on(shard, () -> ticketRepository.findAllById(ticketIds))));
+        tickets.sort(Comparator.comparing(TicketEntity::getTicketId));
+        return new TicketPage(page, size, total, tickets);
+    }
+
+    private TicketPage queryPage(TicketFilter filter, int page, int size, long offset) {
+        long total = 0;
+        List<TicketEntity> tickets = new ArrayList<>();
+        // Every shard may hold tickets of the page, so each one returns its first offset + size
+        for (int shard = 0; shard < shards.count(); shard++) {
+            if (shards.mayHold(shard, filter.location())) {
+                int current = shard;
+                total += shards.on(current, () -> ticketRepository.countFilteredTickets(filter));
+                tickets.addAll(shards.on(current, () -> shards.count() == 1
+                        ? ticketRepository.findFilteredTickets(filter, offset, size)
+                        : ticketRepository.findFilteredTickets(filter, 0, (int) Math.min(offset + size, Integer.MAX_VALUE))));
+            }
+        }
+        if (shards.count() > 1) {
+            tickets.sort(Comparator.comparing(TicketEntity::getTicketId));
+            tickets = new ArrayList<>(tickets.subList((int) Math.min(offset, tickets.size()), (int) Math.min(offset + size, tickets.size())));
+        }
+        return new TicketPage(page, size, total, tickets);
+    }
+
+    /**
+     * Filtered tickets with only the given fields selected from the database, ordered by id.
+     * The fields must include {@link TicketField#TICKET_ID}.
+     */
+    public List<Map<String, Object>> getFilteredTicketFields(TicketFilter filter, Set<TicketField> fields) {
+        if (!fields.contains(TicketField.TICKET_ID)) {
+            throw new IllegalArgumentException("The selected fields must include " + TicketField.TICKET_ID.property());
+        }
         return ticketRequestTimer.record(() -> {
             try {
                 ticketRequestCounter.increment();
-                List<TicketEntity> tickets = ticketRepository.findFilteredTickets(assignedToId, createdById, status, dueDate, location, mediaType);
+                List<Map<String, Object>> tickets = shards.gather(shard -> shards.mayHold(shard, filter.location())
+                        ? ticketRepository.findFilteredTicketFields(filter, fields) : List.<Map<String, Object>>of());
+                if (shards.count() > 1) {
+                    tickets.sort(Comparator.comparing(row -> (Integer) row.get(TicketField.TICKET_ID.property())));
+                }
                 ticketFoundCounter.increment(tickets.size());
                 return tickets;
             } catch (Exception e) {
@@ -209,11 +765,56 @@ public class TicketService {
         });
     }
 
+    /**
+     * Per-day ticket counts for a due date range of at most {@value #MAX_CALENDAR_DAYS} days,
+     * computed in a single query over the due date index.
+     */
+    public List<CalendarDay> getCalendar(TicketFilter filter) {
+        if (filter.dueFrom() == null || filter.dueTo() == null || filter.dueTo().isBefore(filter.dueFrom())) {
+            throw new IllegalArgumentException("A valid due date range is required");
+        }
+        if (ChronoUnit.DAYS.between(filter.dueFrom(), filter.dueTo()) >= MAX_CALENDAR_DAYS) {
+            throw new IllegalArgumentException("Due date range must not exceed " + MAX_CALENDAR_DAYS + " days");
+        }
+        return ticketRequestTimer.record(() -> {
+            try {
+                ticketRequestCounter.increment();
+                if (shards.count() == 1) {
+                    return ticketRepository.countTicketsPerDueDate(filter);
+                }
+                Map<LocalDate, CalendarDay> days = new TreeMap<>();
+                for (CalendarDay day : shards.gather(shard -> shards.mayHold(shard, filter.location())
+                        ? ticketRepository.countTicketsPerDueDate(filter) : List.<CalendarDay>of())) {
+                    days.merge(day.date(), day, (a, b) -> new CalendarDay(a.date(), a.total() + b.total(),
+                            a.open() + b.open(), a.inProgress() + b.inProgress(), a.finished() + b.finished()));
+                }
+                return List.copyOf(days.values());
+            } catch (Exception e) {
+                ticketErrorCounter.increment();
+                throw e;
+            }
+        });
+    }
+
     public Optional<TicketEntity> getTicketById(Integer ticketId) {
         return ticketRequestTimer.record(() -> {
             try {
                 ticketRequestCounter.increment();
-                Optional<TicketEntity> ticket = ticketRepository.findById(ticketId);
+                Optional<TicketEntity> ticket = shards.on(shards.forTicket(ticketId), () -> ticketRepository.findById(ticketId));
+                ticket.ifPresent(t -> ticketFoundCounter.increment());
+                return ticket;
+            } catch (Exception e) {
+                ticketErrorCounter.increment();
+                throw e;
+            }
+        });
+    }
+
+    public Optional<TicketEntity> getArchivedTicketById(Integer ticketId) {
+        return ticketRequestTimer.record(() -> {
+            try {
+                ticketRequestCounter.increment();
+                Optional<TicketEntity> ticket = shards.on(shards.forTicket(ticketId), () -> ticketRepository.findArchivedTicketById(ticketId));
                 ticket.ifPresent(t -> ticketFoundCounter.increment());
                 return ticket;
             } catch (Exception e) {
@@ -222,4 +823,79 @@ public class TicketService {
             }
         });
     }
+
+    /**
+     * Tickets changed since the given sync version, for clients that keep a local copy. With
+     * {@code assignedTo}, only tickets of these users are returned, and tickets that were taken away
+     * from them are returned as removed. Without {@code since}, all tickets are returned.
+     *
+     * The version is one transaction id per shard joined with dots. It is the oldest transaction
+     * still running when the changes were read, so a change that commits later is never missed,
+     * though one that was already returned may be returned again.
+     */
+    public TicketChanges getTicketChanges(String since, List<Integer> assignedTo) {
+        long[] versions = parseSyncVersion(since);
+        return ticketRequestTimer.record(() -> {
+            try {
+                ticketRequestCounter.increment();
+                List<TicketChanges> changes = shards.scatter(shard -> {
+                    long version = versions[shard];
+                    // Taken before reading, so everything committing meanwhile is part of the next sync
+                    long next = Math.max(version, ticketRepository.currentSyncVersion());
+                    List<TicketEntity> tickets = ticketRepository.findTicketsChangedSince(version, assignedTo);
+                    List<Integer> removed = version == 0 ? List.of() : ticketRepository.findTicketsRemovedSince(version, assignedTo);
+                    // Checked last, as tombstones pruned while reading could be missing from the removed tickets
+                    if (version > 0 && version <= ticketRepository.syncHorizon()) {
+                        throw new SyncVersionExpiredException("Sync version " + since + " has expired, a full sync is required");
+                    }
+                    return new TicketChanges(String.valueOf(next), tickets, removed);
+                });
+                List<TicketEntity> tickets = new ArrayList<>();
+                List<Integer> removed = new ArrayList<>();
+                changes.forEach(shardChanges -> {
+                    tickets.addAll(shardChanges.tickets());
+                    removed.addAll(shardChanges.removed());
+                });
+                if (shards.count() > 1) {
+                    tickets.sort(Comparator.comparing(TicketEntity::getTicketId));
+                    removed.sort(Comparator.naturalOrder());
+                }
+                ticketFoundCounter.increment(tickets.size());
+                String version = changes.stream().map(TicketChanges::version).collect(Collectors.joining("."));
+                return new TicketChanges(version, tickets, removed);
+            } catch (Exception e) {
+                ticketErrorCounter.increment();
+                throw e;
+            }
+        });
+    }
+
+    private long[] parseSyncVersion(String since) {
+        long[] versions = new long[shards.count()];
+        if (since == null || since.isBlank()) {
+            return versions;
+        }
+        String[] parts = since.split("\\.", -1);
+        if (parts.length > versions.length) {
+            throw new IllegalArgumentException("Invalid sync version: " + since);
+        }
+        // Shards added since the last sync have no part yet and are read in full
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                versions[i] = Long.parseLong(parts[i]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid sync version: " + since);
+            }
+            if (versions[i] < 0) {
+                throw new IllegalArgumentException("Invalid sync version: " + since);
+            }
+        }
+        return versions;
+    }
+
+    public static class SyncVersionExpiredException extends RuntimeException {
+        public SyncVersionExpiredException(String message) {
+            super(message);
+        }
+    }
 }
@@ -0,0 +1,43 @@
+package de.tum.aet.devops25.teamspoved.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import de.tum.aet.devops25.teamspoved.repository.TicketRepository;
+import de.tum.aet.devops25.teamspoved.repository.TicketShards;
+
+/**
+ * Removes the tombstones of deleted and reassigned tickets that are older than
+ * {@code tickets.changes.tombstone-retention-days} from every shard; clients that last
+ * synced before that have to sync in full.
+ *
+ * Runs whether or not archiving is enabled, as tombstones are also written for deletes
+ * and reassignments. The cutoff is computed by the database, which also sets
+ * {@code created_at}, so the clock of the replica does not matter.
+ */
+@Component
+@Profile("!reactive")
+public class TicketTombstonePruner {
+    private final TicketRepository ticketRepository;
+    private final TicketShards shards;
+
+    @Value("${tickets.changes.tombstone-retention-days:30}")
+    private int retentionDays;
+
+    public TicketTombstonePruner(TicketRepository ticketRepository, TicketShards shards) {
+        this.ticketRepository = ticketRepository;
+        this.shards = shards;
+    }
+
+    @Scheduled(fixedDelayString = "${tickets.changes.prune-interval-ms:3600000}", initialDelayString = "${tickets.changes.prune-initial-delay-ms:60000}")
+    public void pruneTombstones() {
+        for (int shard = 0; shard < shards.count(); shard++) {
+            shards.on(shard, () -> {
+                ticketRepository.pruneTombstones(retentionDays);
+                return null;
+            });
+        }
+    }
+}
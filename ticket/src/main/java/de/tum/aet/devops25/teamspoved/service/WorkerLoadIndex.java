@@ -0,0 +1,119 @@
+package de.tum.aet.devops25.teamspoved.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import de.tum.aet.devops25.teamspoved.dto.WorkerLoad;
+import de.tum.aet.devops25.teamspoved.model.Status;
+
+/**
+ * In-memory count of OPEN and IN_PROGRESS tickets per assignee.
+ *
+ * The index is seeded from the database on startup and afterwards kept current by
+ * {@link TicketService} on every create, assign and status change. Workers are kept
+ * in a sorted set ordered by their total load, so picking the least loaded worker
+ * and applying an update are both O(log n).
+ */
+@Component
+@Profile("!reactive")
+public class WorkerLoadIndex {
+    private static final Comparator<WorkerLoad> BY_LOAD = Comparator
+            .comparingLong(WorkerLoad::totalTickets)
+            .thenComparing(WorkerLoad::userId);
+
+    private final Map<Integer, WorkerLoad> loads = new HashMap<>();
+    private final TreeSet<WorkerLoad> byLoad = new TreeSet<>(BY_LOAD);
+
+    /**
+     * Replaces the whole index, e.g. after loading the counts from the database.
+     */
+    public synchronized void rebuild(Collection<WorkerLoad> counts) {
+        loads.clear();
+        byLoad.clear();
+        counts.forEach(this::put);
+    }
+
+    /**
+     * Makes a worker eligible for least-loaded assignment even if they have no tickets yet.
+     */
+    public synchronized void registerWorker(Integer userId) {
+        if (userId != null && !loads.containsKey(userId)) {
+            put(new WorkerLoad(userId, 0, 0));
+        }
+    }
+
+    public synchronized void ticketAdded(Integer userId, Status status) {
+        adjust(userId, status, 1);
+    }
+
+    public synchronized void ticketsAdded(Integer userId, Status status, long count) {
+        adjust(userId, status, count);
+    }
+
+    public synchronized void statusChanged(Integer userId, Status oldStatus, Status newStatus) {
+        if (oldStatus == newStatus) {
+            return;
+        }
+        adjust(userId, oldStatus, -1);
+        adjust(userId, newStatus, 1);
+    }
+
+    public synchronized void reassigned(Integer oldUserId, Integer newUserId, Status status) {
+        if (oldUserId != null && oldUserId.equals(newUserId)) {
+            return;
+        }
+        adjust(oldUserId, status, -1);
+        registerWorker(newUserId);
+        adjust(newUserId, status, 1);
+    }
+
+    /**
+     * Returns the least loaded worker other than {@code excludedUserId}, which may be null.
+     */
+    public synchronized Optional<Integer> leastLoaded(Integer excludedUserId) {
+        for (WorkerLoad load : byLoad) {
+            if (!load.userId().equals(excludedUserId)) {
+                return Optional.of(load.userId());
+            }
+        }
+        return Optional.empty();
+    }
+
+    public synchronized int size() {
+        return loads.size();
+    }
+
+    /**
+     * Returns all known workers ordered from least to most loaded.
+     */
+    public synchronized List<WorkerLoad> snapshot() {
+        return new ArrayList<>(byLoad);
+    }
+
+    private void adjust(Integer userId, Status status, long delta) {
+        if (userId == null || status == null || status == Status.FINISHED) {
+            return;
+        }
+        WorkerLoad current = loads.getOrDefault(userId, new WorkerLoad(userId, 0, 0));
+        long open = current.openTickets() + (status == Status.OPEN ? delta : 0);
+        long inProgress = current.inProgressTickets() + (status == Status.IN_PROGRESS ? delta : 0);
+        put(new WorkerLoad(userId, Math.max(open, 0), Math.max(inProgress, 0)));
+    }
+
+    private void put(WorkerLoad load) {
+        WorkerLoad previous = loads.put(load.userId(), load);
+        if (previous != null) {
+            byLoad.remove(previous);
+        }
+        byLoad.add(load);
+    }
+}
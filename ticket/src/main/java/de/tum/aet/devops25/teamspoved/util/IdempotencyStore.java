@@ -0,0 +1,139 @@
+package de.tum.aet.devops25.teamspoved.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Remembers the result of recent requests that carried an {@code Idempotency-Key} header,
+ * so that a retried request gets the stored result instead of being executed again.
+ *
+ * Entries expire after the configured TTL and the store never holds more than the configured
+ * number of keys; the oldest keys are evicted first. A retry that arrives while the first
+ * request is still running waits for its result. Failed requests are not remembered, so they
+ * can be retried with the same key.
+ */
+@Component
+public class IdempotencyStore {
+    private final Clock clock;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    private final Counter replayCounter;
+    private final Counter missCounter;
+
+    public IdempotencyStore(
+            Clock clock,
+            @Value("${idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${idempotency.max-entries:10000}") int maxEntries,
+            MeterRegistry registry) {
+        this.clock = clock;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.replayCounter = Counter.builder("idempotency.requests.replayed")
+                .description("Requests answered with a stored result for their idempotency key")
+                .register(registry);
+        this.missCounter = Counter.builder("idempotency.requests.executed")
+                .description("Requests with an idempotency key that were executed")
+                .register(registry);
+        Gauge.builder("idempotency.keys", this, IdempotencyStore::size)
+                .description("Number of idempotency keys currently stored")
+                .register(registry);
+    }
+
+    /**
+     * Runs the action unless a result for this key is already stored.
+     *
+     * @param key the client supplied idempotency key, scoped by the caller (e.g. per endpoint)
+     * @param fingerprint identifies the request payload; reusing a key for a different payload is rejected
+     * @throws KeyReuseException if the key was already used for a different payload
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> execute(String key, Object fingerprint, Supplier<T> action) {
+        Entry entry;
+        boolean owner = false;
+        synchronized (this) {
+            Instant now = clock.instant();
+            evictExpired(now);
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(fingerprint, new CompletableFuture<>(), now.plus(ttl));
+                entries.put(key, entry);
+                owner = true;
+                if (entries.size() > maxEntries) {
+                    Iterator<Entry> oldest = entries.values().iterator();
+                    oldest.next();
+                    oldest.remove();
+                }
+            }
+        }
+
+        if (!Objects.equals(entry.fingerprint(), fingerprint)) {
+            throw new KeyReuseException("Idempotency key was already used for a different request");
+        }
+
+        if (owner) {
+            missCounter.increment();
+            try {
+                T result = action.get();
+                entry.result().complete(result);
+                return new Result<>(result, false);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    entries.remove(key, entry);
+                }
+                entry.result().completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        replayCounter.increment();
+        try {
+            return new Result<>((T) entry.result().join(), true);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictExpired(Instant now) {
+        // Entries are kept in insertion order and share one TTL, so expired ones are at the head
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().expiresAt().isAfter(now)) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    private record Entry(Object fingerprint, CompletableFuture<Object> result, Instant expiresAt) {}
+
+    public record Result<T>(T value, boolean replayed) {}
+
+    public static class KeyReuseException extends RuntimeException {
+        public KeyReuseException(String message) {
+            super(message);
+        }
+    }
+}
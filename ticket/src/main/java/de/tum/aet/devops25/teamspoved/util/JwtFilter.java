@@ -1,7 +1,9 @@
 package de.tum.aet.devops25.teamspoved.util;
 
 import java.io.IOException;
+import java.security.Principal;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -25,7 +27,7 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class JwtFilter extends OncePerRequestFilter {
     // FIXME This shouldn't be here, obviously
-    private final String SECRET = "supersecret123";
+    private static final String SECRET = "supersecret123";
 
     @Override
     protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
@@ -34,21 +36,7 @@ public class JwtFilter extends OncePerRequestFilter {
         String header = req.getHeader("Authorization");
         if (header != null && header.startsWith("Bearer ")) {
             try {
-                String token = header.substring(7);
-                DecodedJWT jwt = JWT.require(Algorithm.HMAC256(SECRET))
-                    .build()
-                    .verify(token);
-
-                String username = jwt.getSubject();
-                String role = jwt.getClaim("role").asString();
-                Long userId = jwt.getClaim("userId").asLong();
-
-                List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-
-                Authentication auth = new UsernamePasswordAuthenticationToken(
-                    username, null, authorities
-                );
-
+                Authentication auth = authenticate(header.substring(7));
                 SecurityContextHolder.getContext().setAuthentication(auth);
             } catch (JWTVerificationException ex) {
                 res.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
@@ -59,5 +47,47 @@ public class JwtFilter extends OncePerRequestFilter {
         chain.doFilter(req, res);
     }
 
-    public record AuthenticatedUser(Long userId, String username) {}
+    /**
+     * Verifies the token and builds the authentication for it. Shared with {@link ReactiveJwtFilter}.
+     *
+     * @throws JWTVerificationException if the token is invalid or expired
+     */
+    static Authentication authenticate(String token) {
+        DecodedJWT jwt = JWT.require(Algorithm.HMAC256(SECRET))
+            .build()
+            .verify(token);
+
+        String username = jwt.getSubject();
+        String role = jwt.getClaim("role").asString();
+        Long userId = jwt.getClaim("userId").asLong();
+
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+
+        return new UsernamePasswordAuthenticationToken(
+            new AuthenticatedUser(userId, username), null, authorities
+        );
+    }
+
+    /**
+     * Principal of a request with a verified token. The user service signed the token for this
+     * user, so its id can be trusted without asking the user service again.
+     */
+    public record AuthenticatedUser(Long userId, String username) implements Principal {
+
+        @Override
+        public String getName() {
+            return username;
+        }
+
+        /**
+         * The user of the current servlet request, or empty if it had no token.
+         */
+        public static Optional<AuthenticatedUser> current() {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user) {
+                return Optional.of(user);
+            }
+            return Optional.empty();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package de.tum.aet.devops25.teamspoved.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of {@link JwtFilter} for the reactive deployment. Not a component on purpose,
+ * WebFlux would otherwise apply it a second time outside of the security filter chain.
+ */
+public class ReactiveJwtFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        Authentication auth;
+        try {
+            auth = JwtFilter.authenticate(header.substring(7));
+        } catch (JWTVerificationException ex) {
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        }
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth));
+    }
+}
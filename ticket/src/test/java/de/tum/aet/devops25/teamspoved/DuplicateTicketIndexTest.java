@@ -0,0 +1,53 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.service.DuplicateTicketIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DuplicateTicketIndexTest {
+    private DuplicateTicketIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new DuplicateTicketIndex(0.6);
+        index.add(1, DuplicateTicketIndex.signature("Broken light fixture",
+                "The ceiling light in the hallway is broken and flickering", "Hallway 1"));
+        index.add(2, DuplicateTicketIndex.signature("Leaking pipe",
+                "Water is dripping from a pipe under the sink", "Kitchen"));
+    }
+
+    @Test
+    public void testFindsNearDuplicate() {
+        int[] signature = DuplicateTicketIndex.signature("Broken light fixture",
+                "Ceiling light in the hallway is broken, flickering", "Hallway 1");
+        assertEquals(List.of(1), index.findSimilar(signature));
+    }
+
+    @Test
+    public void testIgnoresCaseAndPunctuation() {
+        int[] signature = DuplicateTicketIndex.signature("BROKEN LIGHT FIXTURE!",
+                "The ceiling light in the hallway is broken and flickering...", "hallway 1");
+        assertEquals(List.of(1), index.findSimilar(signature));
+    }
+
+    @Test
+    public void testUnrelatedTicketIsNoDuplicate() {
+        int[] signature = DuplicateTicketIndex.signature("Door does not lock",
+                "The lock of the main entrance is stuck", "Entrance");
+        assertTrue(index.findSimilar(signature).isEmpty());
+    }
+
+    @Test
+    public void testRemovedTicketIsNotFound() {
+        index.remove(1);
+        int[] signature = DuplicateTicketIndex.signature("Broken light fixture",
+                "The ceiling light in the hallway is broken and flickering", "Hallway 1");
+        assertTrue(index.findSimilar(signature).isEmpty());
+        assertFalse(index.contains(1));
+        assertEquals(1, index.size());
+    }
+}
@@ -0,0 +1,108 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.client.GrpcUserServiceClient;
+import de.tum.aet.devops25.teamspoved.client.RequestHedger;
+import de.tum.aet.devops25.teamspoved.dto.UserSummary;
+import de.tum.aet.devops25.teamspoved.grpc.GetUsersRequest;
+import de.tum.aet.devops25.teamspoved.grpc.User;
+import de.tum.aet.devops25.teamspoved.grpc.UserLookupGrpc;
+import de.tum.aet.devops25.teamspoved.grpc.UsersExistRequest;
+import de.tum.aet.devops25.teamspoved.grpc.UsersExistResponse;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Calls a fake user service through an in-process gRPC server.
+ */
+public class GrpcUserServiceClientTest {
+    // The fake user service never answers for this user
+    private static final int UNRESPONSIVE_USER = 99;
+    private static final Map<Integer, User> USERS = Map.of(
+            1, User.newBuilder().setUserId(1).setName("Sam").setRole("WORKER").build(),
+            2, User.newBuilder().setUserId(2).setName("Alex").setRole("SUPERVISOR").build());
+
+    private Server server;
+    private ManagedChannel channel;
+    private GrpcUserServiceClient client;
+
+    private static class FakeUserLookup extends UserLookupGrpc.UserLookupImplBase {
+        @Override
+        public void usersExist(UsersExistRequest request, StreamObserver<UsersExistResponse> responseObserver) {
+            if (request.getUserIdsList().contains(UNRESPONSIVE_USER)) {
+                return;
+            }
+            responseObserver.onNext(UsersExistResponse.newBuilder()
+                    .addAllExistingUserIds(request.getUserIdsList().stream().filter(USERS::containsKey).toList())
+                    .build());
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void getUsers(GetUsersRequest request, StreamObserver<User> responseObserver) {
+            if (request.getUserIdsList().contains(UNRESPONSIVE_USER)) {
+                return;
+            }
+            request.getUserIdsList().stream().filter(USERS::containsKey).map(USERS::get).forEach(responseObserver::onNext);
+            responseObserver.onCompleted();
+        }
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).addService(new FakeUserLookup()).build().start();
+        channel = InProcessChannelBuilder.forName(name).build();
+
+        // Hedging off, so every call is a single attempt
+        Duration delay = Duration.ofMillis(50);
+        RequestHedger hedger = new RequestHedger("user",
+                new RequestHedger.Settings(false, 95, delay, delay, 0.1, Duration.ofSeconds(10)), new SimpleMeterRegistry());
+        client = new GrpcUserServiceClient(hedger);
+        ReflectionTestUtils.setField(client, "userLookup", UserLookupGrpc.newBlockingStub(channel));
+        ReflectionTestUtils.setField(client, "deadlineMs", 200L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    public void testMissingUserIsLeftOut() {
+        assertTrue(client.userExists(1));
+        assertFalse(client.userExists(404));
+        assertEquals(Set.of(1), client.findExistingUsers(List.of(1, 404)));
+        assertEquals(List.of(new UserSummary(2, "Alex", "SUPERVISOR")), client.findUsersByIds(List.of(404, 2)));
+        assertEquals(List.of(), client.findUsersByIds(List.of(404)));
+    }
+
+    @Test
+    public void testCallFailsWhenDeadlineIsExceeded() {
+        long start = System.nanoTime();
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class, () -> client.userExists(UNRESPONSIVE_USER));
+        assertEquals(Status.Code.DEADLINE_EXCEEDED, e.getStatus().getCode());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+
+        StatusRuntimeException streamed = assertThrows(StatusRuntimeException.class,
+                () -> client.findUsersByIds(List.of(1, UNRESPONSIVE_USER)));
+        assertEquals(Status.Code.DEADLINE_EXCEEDED, streamed.getStatus().getCode());
+    }
+}
@@ -0,0 +1,53 @@
+package de.tum.aet.devops25.teamspoved;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import de.tum.aet.devops25.teamspoved.util.JwtFilter;
+import de.tum.aet.devops25.teamspoved.util.JwtFilter.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JwtFilterTest {
+    private final JwtFilter jwtFilter = new JwtFilter();
+
+    @AfterEach
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Optional<AuthenticatedUser> authenticatedUserFor(MockHttpServletRequest request) throws Exception {
+        AtomicReference<Optional<AuthenticatedUser>> seen = new AtomicReference<>();
+        jwtFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> seen.set(AuthenticatedUser.current()));
+        return seen.get();
+    }
+
+    @Test
+    public void testVerifiedTokenBecomesPrincipal() throws Exception {
+        String token = JWT.create()
+                .withSubject("alex")
+                .withClaim("userId", 7L)
+                .withClaim("role", "WORKER")
+                .sign(Algorithm.HMAC256("supersecret123"));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tickets");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        Optional<AuthenticatedUser> user = authenticatedUserFor(request);
+
+        assertEquals(Optional.of(new AuthenticatedUser(7L, "alex")), user);
+        assertEquals("alex", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    @Test
+    public void testNoTokenHasNoPrincipal() throws Exception {
+        assertTrue(authenticatedUserFor(new MockHttpServletRequest("GET", "/tickets")).isEmpty());
+    }
+}
@@ -0,0 +1,94 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.controller.ReactiveTicketController;
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.model.*;
+import de.tum.aet.devops25.teamspoved.repository.ReactiveTicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = {ReactiveTicketController.class},
+        excludeAutoConfiguration = {ReactiveSecurityAutoConfiguration.class, ReactiveUserDetailsServiceAutoConfiguration.class})
+public class ReactiveTicketControllerTest {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveTicketRepository ticketRepository;
+
+    private TicketEntity testTicket;
+
+    @BeforeEach
+    public void setup() {
+        testTicket = new TicketEntity();
+        testTicket.setTicketId(100);
+        testTicket.setCreatedBy(1);
+        testTicket.setAssignedTo(2);
+        testTicket.setTitle("Broken light fixture");
+        testTicket.setDescription("Light is broken in hallway");
+        testTicket.setStatus(Status.OPEN);
+        testTicket.setDueDate(LocalDate.now().plusDays(2));
+        testTicket.setLocation("Hallway 1");
+        testTicket.setMediaType(MediaTypeEnum.AUDIO);
+    }
+
+    @Test
+    public void testGetTicketsAppliesFilter() {
+        when(ticketRepository.findFilteredTickets(argThat(filter ->
+                filter.assignedTo().equals(List.of(2)) && filter.status().equals(List.of(Status.OPEN)))))
+                .thenReturn(Flux.just(testTicket));
+        webTestClient.get().uri("/tickets?assignedTo=2&status=OPEN")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].ticketId").isEqualTo(100);
+    }
+
+    @Test
+    public void testGetTicketsAsNdjson() {
+        when(ticketRepository.findFilteredTickets(any(TicketFilter.class))).thenReturn(Flux.just(testTicket));
+        webTestClient.get().uri("/tickets")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(TicketEntity.class).hasSize(1);
+    }
+
+    @Test
+    public void testGetTicketByIdNotFound() {
+        when(ticketRepository.findById(99)).thenReturn(Mono.empty());
+        webTestClient.get().uri("/tickets/99")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void testGetArchivedTicketById() {
+        when(ticketRepository.findById(100)).thenReturn(Mono.empty());
+        when(ticketRepository.findArchivedById(100)).thenReturn(Mono.just(testTicket));
+        webTestClient.get().uri("/tickets/100?includeArchived=true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.ticketId").isEqualTo(100);
+    }
+}
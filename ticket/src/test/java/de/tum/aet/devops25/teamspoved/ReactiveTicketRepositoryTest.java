@@ -0,0 +1,89 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+import de.tum.aet.devops25.teamspoved.repository.ReactiveTicketRepository;
+import de.tum.aet.devops25.teamspoved.repository.TicketShards;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reads tickets from a primary database (database/init.sql) and one shard (database/shard-init.sql) in one container.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class ReactiveTicketRepositoryTest {
+    private static final String INSERT_TICKET = "INSERT INTO db.tickets " +
+            "(ticket_id, created_by, title, description, status, due_date, location, media_type) " +
+            "VALUES (?, ?, 'Broken light', 'Light is broken', 'OPEN', CURRENT_DATE, 'Hallway 1', 'PHOTO')";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("db")
+            .withUsername("spoved")
+            .withPassword("secret")
+            .withCopyFileToContainer(MountableFile.forHostPath(Path.of("../database/init.sql")), "/tmp/init.sql")
+            .withCopyFileToContainer(MountableFile.forHostPath(Path.of("../database/shard-init.sql")), "/tmp/shard-init.sql");
+
+    private static ReactiveTicketRepository repository;
+
+    @BeforeAll
+    static void createShards() throws Exception {
+        // Not through docker-entrypoint-initdb.d, whose psql stops at the first failing sample row
+        postgres.execInContainer("psql", "-U", "spoved", "-d", "db", "-f", "/tmp/init.sql");
+        postgres.execInContainer("createdb", "-U", "spoved", "shard");
+        postgres.execInContainer("psql", "-U", "spoved", "-d", "shard", "-f", "/tmp/shard-init.sql");
+
+        JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl(), "spoved", "secret"));
+        JdbcTemplate shard = new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl().replace("/db", "/shard"), "spoved", "secret"));
+        Integer userId = primary.queryForObject(
+                "INSERT INTO db.users (name, role, password_hash) VALUES ('Sam', 'WORKER', 'hash') RETURNING user_id", Integer.class);
+        // With two shards, (id - 1) % 2 is the shard of the ticket
+        primary.update(INSERT_TICKET, 1001, userId);
+        shard.update(INSERT_TICKET, 1002, userId);
+        primary.update(INSERT_TICKET, 1003, userId);
+
+        repository = new ReactiveTicketRepository(List.of(client("db"), client("shard")),
+                new TicketShards(List.of("jdbc:postgresql://shard/db"), 1000));
+    }
+
+    private static DatabaseClient client(String database) {
+        return DatabaseClient.create(ConnectionFactories.get(ConnectionFactoryOptions.builder()
+                .option(ConnectionFactoryOptions.DRIVER, "postgresql")
+                .option(ConnectionFactoryOptions.HOST, postgres.getHost())
+                .option(ConnectionFactoryOptions.PORT, postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT))
+                .option(ConnectionFactoryOptions.DATABASE, database)
+                .option(ConnectionFactoryOptions.USER, "spoved")
+                .option(ConnectionFactoryOptions.PASSWORD, "secret")
+                .build()));
+    }
+
+    @Test
+    public void testListMergesShardsById() {
+        TicketFilter filter = new TicketFilter(null, null, null, null, null, null, null, null, false);
+
+        List<TicketEntity> tickets = repository.findFilteredTickets(filter).collectList().block();
+
+        assertEquals(List.of(1001, 1002, 1003), tickets.stream().map(TicketEntity::getTicketId)
+                .filter(ticketId -> ticketId > 1000).toList());
+    }
+
+    @Test
+    public void testTicketIsReadFromItsShard() {
+        assertEquals(1002, repository.findById(1002).block().getTicketId());
+        assertNull(repository.findById(1004).block());
+    }
+}
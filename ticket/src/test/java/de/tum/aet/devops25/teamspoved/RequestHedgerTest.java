@@ -0,0 +1,75 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.client.RequestHedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestHedgerTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private RequestHedger hedger(double budget) {
+        Duration delay = Duration.ofMillis(50);
+        return new RequestHedger("user", new RequestHedger.Settings(true, 95, delay, delay, budget, Duration.ofSeconds(10)), registry);
+    }
+
+    @Test
+    public void testSlowAttemptIsHedgedAndCancelled() throws Exception {
+        CountDownLatch cancelled = new CountDownLatch(1);
+        String result = hedger(0.1).call(attempt -> {
+            if (attempt == 0) {
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException e) {
+                    cancelled.countDown();
+                }
+                return "slow";
+            }
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertTrue(cancelled.await(1, TimeUnit.SECONDS));
+        assertEquals(1, registry.get("ticket_service.hedging.hedges.total").counter().count());
+        assertEquals(1, registry.get("ticket_service.hedging.wins.total").counter().count());
+    }
+
+    @Test
+    public void testFastFailureIsNotHedged() {
+        AtomicInteger attempts = new AtomicInteger();
+        assertThrows(IllegalStateException.class, () -> hedger(0.1).call(attempt -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("User service unavailable");
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void testHedgesStopWhenBudgetIsUsedUp() {
+        RequestHedger hedger = hedger(0);
+        for (int i = 0; i < 12; i++) {
+            hedger.call(attempt -> {
+                if (attempt == 0) {
+                    try {
+                        Thread.sleep(80);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return attempt;
+            });
+        }
+
+        // The initial budget allows a burst of ten hedges, without any budget earned afterwards
+        assertEquals(10, registry.get("ticket_service.hedging.hedges.total").counter().count());
+        assertEquals(2, registry.get("ticket_service.hedging.budget_exhausted.total").counter().count());
+    }
+}
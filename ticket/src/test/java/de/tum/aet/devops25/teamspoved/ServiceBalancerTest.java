@@ -0,0 +1,95 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.client.ServiceBalancer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ServiceBalancerTest {
+    private static final String FIRST = "http://user-1:8082";
+    private static final String SECOND = "http://user-2:8082";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private ServiceBalancer balancer() {
+        ServiceBalancer.Settings settings = new ServiceBalancer.Settings(false, Duration.ofSeconds(30), 3, Duration.ofMinutes(1));
+        return new ServiceBalancer("user", List.of(FIRST, SECOND + "/"), settings, registry);
+    }
+
+    @Test
+    public void testFailingEndpointIsEjected() {
+        ServiceBalancer balancer = balancer();
+        // Both endpoints are picked at random while idle, so the failing one is hit three times long before the end
+        for (int i = 0; i < 100; i++) {
+            try {
+                balancer.call(baseUrl -> {
+                    if (baseUrl.equals(FIRST)) {
+                        throw new ResourceAccessException("Connection refused");
+                    }
+                    return baseUrl;
+                });
+            } catch (ResourceAccessException e) {
+                // Expected until the endpoint is ejected
+            }
+        }
+
+        assertEquals(List.of(SECOND), balancer.activeEndpoints());
+        assertEquals(3, registry.get("ticket_service.endpoint.requests")
+                .tag("endpoint", "user-1:8082").tag("outcome", "failure").timer().count());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(SECOND, balancer.call(baseUrl -> baseUrl));
+        }
+    }
+
+    @Test
+    public void testClientErrorDoesNotEject() {
+        ServiceBalancer balancer = balancer();
+        for (int i = 0; i < 20; i++) {
+            assertThrows(HttpClientErrorException.class, () -> balancer.call(baseUrl -> {
+                throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+            }));
+        }
+
+        assertEquals(Set.of(FIRST, SECOND), Set.copyOf(balancer.activeEndpoints()));
+    }
+
+    @Test
+    public void testBusyEndpointIsAvoided() throws Exception {
+        ServiceBalancer balancer = balancer();
+        AtomicReference<String> busy = new AtomicReference<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> balancer.call(baseUrl -> {
+            busy.set(baseUrl);
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return baseUrl;
+        }));
+        started.await(1, TimeUnit.SECONDS);
+
+        // With two endpoints both are always compared, so the idle one wins every time
+        String idle = busy.get().equals(FIRST) ? SECOND : FIRST;
+        for (int i = 0; i < 20; i++) {
+            assertEquals(idle, balancer.call(baseUrl -> baseUrl));
+        }
+        release.countDown();
+        assertEquals(busy.get(), slow.get(1, TimeUnit.SECONDS));
+    }
+}
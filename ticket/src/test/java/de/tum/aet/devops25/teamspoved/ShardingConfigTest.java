@@ -0,0 +1,70 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.config.ShardingConfig;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts sharding against a primary database from database/init.sql and a shard from database/shard-init.sql,
+ * both in one container.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class ShardingConfigTest {
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("db")
+            .withUsername("spoved")
+            .withPassword("secret")
+            .withCopyFileToContainer(MountableFile.forHostPath(Path.of("../database/init.sql")), "/tmp/init.sql")
+            .withCopyFileToContainer(MountableFile.forHostPath(Path.of("../database/shard-init.sql")), "/tmp/shard-init.sql");
+
+    private static String shardUrl;
+
+    @BeforeAll
+    static void createSchema() throws Exception {
+        // Not through docker-entrypoint-initdb.d, whose psql stops at the first failing sample row
+        postgres.execInContainer("psql", "-U", "spoved", "-d", "db", "-f", "/tmp/init.sql");
+        postgres.execInContainer("createdb", "-U", "spoved", "shard");
+        postgres.execInContainer("psql", "-U", "spoved", "-d", "shard", "-f", "/tmp/shard-init.sql");
+        shardUrl = postgres.getJdbcUrl().replace("/db", "/shard");
+    }
+
+    @Test
+    public void testRefusesToStartBelowLegacyTickets() {
+        JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl(), "spoved", "secret"));
+        Integer userId = primary.queryForObject(
+                "INSERT INTO db.users (name, role, password_hash) VALUES ('Sam', 'WORKER', 'hash') RETURNING user_id", Integer.class);
+        // Would be looked for on shard 1 without legacy-max-id, as (1000 - 1) % 2 = 1
+        primary.update("INSERT INTO db.tickets (ticket_id, created_by, title, description, status, due_date, location, media_type) " +
+                "VALUES (1000, ?, 'Broken light', 'Light is broken', 'OPEN', CURRENT_DATE, 'Hallway 1', 'PHOTO')", userId);
+        ShardingConfig config = new ShardingConfig();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> config.dataSource(postgres.getJdbcUrl(), "spoved", "secret", List.of(shardUrl), 2, 0));
+        assertTrue(e.getMessage().contains("legacy-max-id to at least 1000"));
+
+        assertNotNull(config.dataSource(postgres.getJdbcUrl(), "spoved", "secret", List.of(shardUrl), 2, 1000));
+    }
+
+    @Test
+    public void testRefusesToStartWhenShardCountChanged() {
+        ShardingConfig config = new ShardingConfig();
+        assertNotNull(config.dataSource(postgres.getJdbcUrl(), "spoved", "secret", List.of(shardUrl), 2, 1000));
+
+        // Fails on shard 0 already, so the third URL does not need a database of its own
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> config.dataSource(postgres.getJdbcUrl(), "spoved", "secret", List.of(shardUrl, shardUrl), 2, 1000));
+        assertTrue(e.getMessage().contains("set up for 2 shards, not 3"));
+    }
+}
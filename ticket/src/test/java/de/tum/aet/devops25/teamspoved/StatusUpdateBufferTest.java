@@ -0,0 +1,198 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.model.Status;
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+import de.tum.aet.devops25.teamspoved.service.StatusUpdateBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatusUpdateBufferTest {
+    // Long enough that only close() flushes, so every test decides when the batch is written
+    private static final Duration NEVER = Duration.ofHours(1);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final List<Map<Integer, Status>> writes = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        callers.shutdownNow();
+    }
+
+    private Function<Map<Integer, Status>, Map<Integer, TicketEntity>> writer() {
+        return statuses -> {
+            writes.add(Map.copyOf(statuses));
+            Map<Integer, TicketEntity> written = new HashMap<>();
+            statuses.forEach((ticketId, status) -> written.put(ticketId, ticket(ticketId, status)));
+            return written;
+        };
+    }
+
+    private static TicketEntity ticket(Integer ticketId, Status status) {
+        TicketEntity ticket = new TicketEntity();
+        ticket.setTicketId(ticketId);
+        ticket.setStatus(status);
+        return ticket;
+    }
+
+    private CompletableFuture<Optional<TicketEntity>> submit(StatusUpdateBuffer buffer, Integer ticketId, Status status) {
+        return CompletableFuture.supplyAsync(() -> buffer.submit(ticketId, status), callers);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Updates were not buffered in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitSize(StatusUpdateBuffer buffer, int size) throws InterruptedException {
+        awaitUntil(() -> buffer.size() >= size);
+    }
+
+    private double counter(String name) {
+        return registry.get(name).counter().count();
+    }
+
+    @Test
+    public void testUpdatesOfSameTicketAreCoalesced() throws Exception {
+        StatusUpdateBuffer buffer = new StatusUpdateBuffer(writer(), NEVER, 500, TIMEOUT, registry);
+        CompletableFuture<Optional<TicketEntity>> first = submit(buffer, 1, Status.IN_PROGRESS);
+        awaitSize(buffer, 1);
+        CompletableFuture<Optional<TicketEntity>> second = submit(buffer, 1, Status.FINISHED);
+        awaitUntil(() -> counter("ticket_service.status_buffer.coalesced.total") == 1);
+
+        buffer.close();
+
+        assertEquals(List.of(Map.of(1, Status.FINISHED)), writes);
+        assertEquals(Status.FINISHED, first.get(1, TimeUnit.SECONDS).orElseThrow().getStatus());
+        assertEquals(Status.FINISHED, second.get(1, TimeUnit.SECONDS).orElseThrow().getStatus());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void testWaitersCompleteOnlyAfterGroupCommit() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Function<Map<Integer, Status>, Map<Integer, TicketEntity>> writer = writer();
+        StatusUpdateBuffer buffer = new StatusUpdateBuffer(statuses -> {
+            writing.countDown();
+            try {
+                commit.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return writer.apply(statuses);
+        }, NEVER, 500, TIMEOUT, registry);
+        CompletableFuture<Optional<TicketEntity>> first = submit(buffer, 1, Status.IN_PROGRESS);
+        CompletableFuture<Optional<TicketEntity>> second = submit(buffer, 2, Status.FINISHED);
+        awaitSize(buffer, 2);
+
+        CompletableFuture<Void> flush = CompletableFuture.runAsync(buffer::close, callers);
+        assertTrue(writing.await(1, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+
+        commit.countDown();
+        flush.get(1, TimeUnit.SECONDS);
+        assertEquals(List.of(Map.of(1, Status.IN_PROGRESS, 2, Status.FINISHED)), writes);
+        assertEquals(Status.IN_PROGRESS, first.get(1, TimeUnit.SECONDS).orElseThrow().getStatus());
+        assertEquals(Status.FINISHED, second.get(1, TimeUnit.SECONDS).orElseThrow().getStatus());
+        assertEquals(1, counter("ticket_service.status_buffer.flushes.total"));
+    }
+
+    @Test
+    public void testFailedBatchIsRetriedPerTicket() throws Exception {
+        Function<Map<Integer, Status>, Map<Integer, TicketEntity>> writer = writer();
+        StatusUpdateBuffer buffer = new StatusUpdateBuffer(statuses -> {
+            if (statuses.containsKey(2)) {
+                writes.add(Map.copyOf(statuses));
+                throw new IllegalArgumentException("Due date must not be in the past");
+            }
+            return writer.apply(statuses);
+        }, NEVER, 500, TIMEOUT, registry);
+        CompletableFuture<Optional<TicketEntity>> first = submit(buffer, 1, Status.FINISHED);
+        CompletableFuture<Optional<TicketEntity>> failing = submit(buffer, 2, Status.FINISHED);
+        CompletableFuture<Optional<TicketEntity>> third = submit(buffer, 3, Status.FINISHED);
+        awaitSize(buffer, 3);
+
+        buffer.close();
+
+        assertEquals(4, writes.size());
+        assertEquals(3, writes.get(0).size());
+        assertTrue(first.get(1, TimeUnit.SECONDS).isPresent());
+        assertTrue(third.get(1, TimeUnit.SECONDS).isPresent());
+        ExecutionException e = assertThrows(ExecutionException.class, () -> failing.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void testTicketMissingFromWriteIsEmpty() throws Exception {
+        StatusUpdateBuffer buffer = new StatusUpdateBuffer(statuses -> Map.of(), NEVER, 500, TIMEOUT, registry);
+        CompletableFuture<Optional<TicketEntity>> missing = submit(buffer, 404, Status.FINISHED);
+        awaitSize(buffer, 1);
+
+        buffer.close();
+
+        assertEquals(Optional.empty(), missing.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFlushIsLimitedToMaxBatchSize() throws Exception {
+        StatusUpdateBuffer buffer = new StatusUpdateBuffer(writer(), NEVER, 2, TIMEOUT, registry);
+        List<CompletableFuture<Optional<TicketEntity>>> results = List.of(
+                submit(buffer, 1, Status.FINISHED), submit(buffer, 2, Status.FINISHED), submit(buffer, 3, Status.FINISHED),
+                submit(buffer, 4, Status.FINISHED), submit(buffer, 5, Status.FINISHED));
+        awaitSize(buffer, 5);
+
+        buffer.close();
+
+        assertEquals(List.of(2, 2, 1), writes.stream().map(Map::size).toList());
+        assertEquals(3, counter("ticket_service.status_buffer.flushes.total"));
+        for (CompletableFuture<Optional<TicketEntity>> result : results) {
+            assertTrue(result.get(1, TimeUnit.SECONDS).isPresent());
+        }
+    }
+
+    @Test
+    public void testSubmitAfterCloseIsRejected() {
+        StatusUpdateBuffer buffer = new StatusUpdateBuffer(writer(), NEVER, 500, TIMEOUT, registry);
+        buffer.close();
+
+        assertThrows(IllegalStateException.class, () -> buffer.submit(1, Status.FINISHED));
+        assertTrue(writes.isEmpty());
+    }
+
+    @Test
+    public void testSubmitGivesUpAfterTimeout() {
+        StatusUpdateBuffer buffer = new StatusUpdateBuffer(writer(), NEVER, 500, Duration.ofMillis(50), registry);
+
+        assertThrows(StatusUpdateBuffer.WriteTimeoutException.class, () -> buffer.submit(1, Status.FINISHED));
+
+        // Still written later, the caller just stopped waiting
+        buffer.close();
+        assertEquals(List.of(Map.of(1, Status.FINISHED)), writes);
+    }
+}
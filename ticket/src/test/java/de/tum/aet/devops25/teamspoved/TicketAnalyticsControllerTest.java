@@ -0,0 +1,59 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.controller.TicketAnalyticsController;
+import de.tum.aet.devops25.teamspoved.dto.ResolutionDimension;
+import de.tum.aet.devops25.teamspoved.dto.ResolutionStats;
+import de.tum.aet.devops25.teamspoved.service.TicketResolutionAnalytics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = {TicketAnalyticsController.class})
+@AutoConfigureMockMvc(addFilters = false)
+public class TicketAnalyticsControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TicketResolutionAnalytics resolutionAnalytics;
+
+    @Test
+    public void testResolutionTimesByLocation() throws Exception {
+        when(resolutionAnalytics.getStats(ResolutionDimension.LOCATION)).thenReturn(List.of(
+                new ResolutionStats("Hallway 1", 12, 3600, 7200, 86400, 90000)));
+
+        mockMvc.perform(get("/tickets/analytics/resolution").param("by", "location"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].value", is("Hallway 1")))
+                .andExpect(jsonPath("$[0].count", is(12)))
+                .andExpect(jsonPath("$[0].p90Seconds", is(7200)));
+    }
+
+    @Test
+    public void testResolutionTimesDefaultToAllTickets() throws Exception {
+        when(resolutionAnalytics.getStats(ResolutionDimension.ALL)).thenReturn(List.of(
+                new ResolutionStats(null, 3, 60, 120, 120, 120)));
+
+        mockMvc.perform(get("/tickets/analytics/resolution"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].p50Seconds", is(60)));
+    }
+
+    @Test
+    public void testUnknownDimensionIsBadRequest() throws Exception {
+        mockMvc.perform(get("/tickets/analytics/resolution").param("by", "weather"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("weather")));
+    }
+}
@@ -0,0 +1,133 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.repository.TicketShards;
+import de.tum.aet.devops25.teamspoved.service.TicketArchiver;
+import de.tum.aet.devops25.teamspoved.service.TicketBitmapIndex;
+import de.tum.aet.devops25.teamspoved.service.TicketQueryCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.nio.file.Path;
+import java.time.Clock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Runs the archiver against the schema from database/init.sql.
+ */
+@DataJpaTest(properties = {"spring.sql.init.mode=never", "tickets.archive.retention-days=90", "tickets.archive.batch-size=500"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TicketArchiver.class, TicketShards.class, TicketArchiverTest.Config.class})
+@Testcontainers(disabledWithoutDocker = true)
+public class TicketArchiverTest {
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("db")
+            .withUsername("spoved")
+            .withPassword("secret")
+            .withCopyFileToContainer(MountableFile.forHostPath(Path.of("../database/init.sql")), "/tmp/init.sql");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @BeforeAll
+    static void createSchema() throws Exception {
+        // Not through docker-entrypoint-initdb.d, whose psql stops at the first failing sample row
+        postgres.execInContainer("psql", "-U", "spoved", "-d", "db", "-f", "/tmp/init.sql");
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        Clock clock() {
+            return Clock.systemDefaultZone();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockBean
+    private TicketQueryCache ticketQueryCache;
+
+    @MockBean
+    private TicketBitmapIndex bitmapIndex;
+
+    @Autowired
+    private TicketArchiver archiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Integer createUser() {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO db.users (name, role, password_hash) VALUES ('Sam', 'WORKER', 'hash') RETURNING user_id", Integer.class);
+    }
+
+    private Integer createTicket(Integer userId, String status, String finishedAgo) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO db.tickets (created_by, title, description, status, due_date, location, media_type, finished_at) " +
+                "VALUES (?, 'Broken light', 'Light is broken', ?, CURRENT_DATE, 'Hallway 1', 'PHOTO', now() - CAST(? AS interval)) " +
+                "RETURNING ticket_id", Integer.class, userId, status, finishedAgo);
+    }
+
+    private int count(String table, Integer ticketId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE ticket_id = ?", Integer.class, ticketId);
+    }
+
+    @Test
+    public void testArchivesOnlyTicketsFinishedBeforeRetention() {
+        Integer userId = createUser();
+        Integer oldId = createTicket(userId, "FINISHED", "200 days");
+        Integer recentId = createTicket(userId, "FINISHED", "10 days");
+
+        archiver.archiveFinishedTickets();
+
+        assertEquals(1, count("db.tickets_archive", oldId));
+        assertEquals(0, count("db.tickets", oldId));
+        assertEquals(0, count("db.tickets_archive", recentId));
+        assertEquals(1, count("db.tickets", recentId));
+    }
+
+    @Test
+    public void testArchivesOriginalOfOverdueDuplicate() {
+        Integer userId = createUser();
+        Integer originalId = createTicket(userId, "FINISHED", "200 days");
+        // A duplicate that became overdue since it was created
+        jdbcTemplate.execute("ALTER TABLE db.tickets DISABLE TRIGGER tickets_due_date");
+        Integer duplicateId = jdbcTemplate.queryForObject(
+                "INSERT INTO db.tickets (created_by, title, description, status, due_date, location, media_type, duplicate_of) " +
+                "VALUES (?, 'Broken light', 'Light still broken', 'OPEN', CURRENT_DATE - 5, 'Hallway 1', 'PHOTO', ?) " +
+                "RETURNING ticket_id", Integer.class, userId, originalId);
+        jdbcTemplate.execute("ALTER TABLE db.tickets ENABLE TRIGGER tickets_due_date");
+
+        archiver.archiveFinishedTickets();
+
+        assertEquals(1, count("db.tickets_archive", originalId));
+        assertEquals(0, count("db.tickets", originalId));
+        assertNull(jdbcTemplate.queryForObject("SELECT duplicate_of FROM db.tickets WHERE ticket_id = ?", Integer.class, duplicateId));
+    }
+}
@@ -0,0 +1,141 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.dto.TicketSnapshot;
+import de.tum.aet.devops25.teamspoved.model.MediaTypeEnum;
+import de.tum.aet.devops25.teamspoved.model.Status;
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+import de.tum.aet.devops25.teamspoved.repository.TicketRepository;
+import de.tum.aet.devops25.teamspoved.repository.TicketRepositoryCustom.TicketAttributes;
+import de.tum.aet.devops25.teamspoved.repository.TicketShards;
+import de.tum.aet.devops25.teamspoved.service.TicketBitmapIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TicketBitmapIndexTest {
+    private static final LocalDate TODAY = LocalDate.of(2030, 1, 10);
+
+    private TicketRepository ticketRepository;
+    private TicketBitmapIndex index;
+
+    @BeforeEach
+    public void setup() {
+        ticketRepository = mock(TicketRepository.class);
+        index = new TicketBitmapIndex(ticketRepository, new TicketShards(List.of(), 0), mock(PlatformTransactionManager.class),
+                true, 100, new SimpleMeterRegistry());
+        when(ticketRepository.streamTicketAttributes(anyInt())).thenReturn(Stream.of(
+                ticket(1, 10, Status.OPEN, TODAY, "Lobby"),
+                ticket(2, 10, Status.IN_PROGRESS, TODAY.plusDays(1), "Lobby"),
+                ticket(3, 11, Status.OPEN, TODAY.plusDays(2), "Kitchen"),
+                ticket(4, null, Status.FINISHED, TODAY.plusDays(3), "Kitchen")));
+        index.rebuild();
+    }
+
+    @Test
+    public void testNotAnsweredBeforeRebuild() {
+        TicketBitmapIndex empty = new TicketBitmapIndex(ticketRepository, new TicketShards(List.of(), 0),
+                mock(PlatformTransactionManager.class), true, 100, new SimpleMeterRegistry());
+        assertTrue(empty.query(filter(List.of(), List.of(), List.of(), null, null)).isEmpty());
+    }
+
+    @Test
+    public void testCombinesAttributes() {
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 3, 4), ids(filter(List.of(), List.of(), List.of(), null, null)));
+        assertEquals(RoaringBitmap.bitmapOf(1, 3), ids(filter(List.of(), List.of(Status.OPEN), List.of(), null, null)));
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 3), ids(filter(List.of(10, 11), List.of(Status.OPEN, Status.IN_PROGRESS), List.of(), null, null)));
+        assertEquals(RoaringBitmap.bitmapOf(3), ids(filter(List.of(), List.of(Status.OPEN), List.of("Kitchen"), null, null)));
+        assertEquals(RoaringBitmap.bitmapOf(), ids(filter(List.of(99), List.of(), List.of(), null, null)));
+    }
+
+    @Test
+    public void testDueDateRange() {
+        assertEquals(RoaringBitmap.bitmapOf(2, 3), ids(filter(List.of(), List.of(), List.of(), TODAY.plusDays(1), TODAY.plusDays(2))));
+        assertEquals(RoaringBitmap.bitmapOf(3, 4), ids(filter(List.of(), List.of(), List.of(), TODAY.plusDays(2), null)));
+    }
+
+    @Test
+    public void testWritesUpdateIndex() {
+        index.put(1, new TicketSnapshot(10, 1, Status.FINISHED, TODAY, "Lobby", MediaTypeEnum.PHOTO));
+        index.put(5, new TicketSnapshot(12, 1, Status.OPEN, TODAY, "Lobby", MediaTypeEnum.PHOTO));
+        index.removeAll(List.of(3));
+        assertEquals(RoaringBitmap.bitmapOf(5), ids(filter(List.of(), List.of(Status.OPEN), List.of(), null, null)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void testChangedTicketLeavesOldValues() {
+        index.put(2, new TicketSnapshot(11, 1, Status.OPEN, TODAY.plusDays(5), "Attic", MediaTypeEnum.PHOTO));
+        assertEquals(RoaringBitmap.bitmapOf(1), ids(filter(List.of(10), List.of(), List.of(), null, null)));
+        assertEquals(RoaringBitmap.bitmapOf(1), ids(filter(List.of(), List.of(), List.of("Lobby"), null, null)));
+        assertEquals(RoaringBitmap.bitmapOf(), ids(filter(List.of(), List.of(Status.IN_PROGRESS), List.of(), null, null)));
+        assertEquals(RoaringBitmap.bitmapOf(2), ids(filter(List.of(), List.of(), List.of(), TODAY.plusDays(4), null)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void testRefreshAppliesOnlyTicketsWrittenSince() {
+        // The initial load read from version 0
+        TicketEntity changed = new TicketEntity();
+        changed.setTicketId(1);
+        changed.setAssignedTo(11);
+        changed.setCreatedBy(1);
+        changed.setStatus(Status.IN_PROGRESS);
+        changed.setDueDate(TODAY);
+        changed.setLocation("Lobby");
+        changed.setMediaType(MediaTypeEnum.PHOTO);
+        when(ticketRepository.currentSyncVersion()).thenReturn(50L);
+        when(ticketRepository.syncHorizon()).thenReturn(-1L);
+        when(ticketRepository.findTicketsChangedSince(0, List.of())).thenReturn(List.of(changed));
+        when(ticketRepository.findTicketsRemovedSince(0, List.of())).thenReturn(List.of(3));
+
+        index.refresh();
+
+        assertEquals(RoaringBitmap.bitmapOf(1, 2), ids(filter(List.of(), List.of(Status.IN_PROGRESS), List.of(), null, null)));
+        assertEquals(RoaringBitmap.bitmapOf(1), ids(filter(List.of(11), List.of(), List.of(), null, null)));
+        assertEquals(3, index.size());
+        verify(ticketRepository, times(1)).streamTicketAttributes(anyInt());
+    }
+
+    @Test
+    public void testRefreshReloadsWhenTombstonesWerePruned() {
+        when(ticketRepository.syncHorizon()).thenReturn(10L);
+        when(ticketRepository.streamTicketAttributes(anyInt())).thenReturn(Stream.of(ticket(7, 10, Status.OPEN, TODAY, "Lobby")));
+
+        index.refresh();
+
+        assertEquals(RoaringBitmap.bitmapOf(7), ids(filter(List.of(), List.of(), List.of(), null, null)));
+    }
+
+    @Test
+    public void testArchiveAndInvalidationFallBackToDatabase() {
+        assertTrue(index.query(new TicketFilter(null, null, null, null, null, null, null, null, true)).isEmpty());
+        index.invalidate();
+        assertTrue(index.query(filter(List.of(), List.of(), List.of(), null, null)).isEmpty());
+    }
+
+    private RoaringBitmap ids(TicketFilter filter) {
+        return index.query(filter).orElseThrow();
+    }
+
+    private static TicketFilter filter(List<Integer> assignedTo, List<Status> status, List<String> location, LocalDate dueFrom, LocalDate dueTo) {
+        return new TicketFilter(assignedTo, null, status, null, dueFrom, dueTo, location, null, false);
+    }
+
+    private static TicketAttributes ticket(int ticketId, Integer assignedTo, Status status, LocalDate dueDate, String location) {
+        return new TicketAttributes(ticketId, new TicketSnapshot(assignedTo, 1, status, dueDate, location, MediaTypeEnum.PHOTO));
+    }
+}
@@ -0,0 +1,159 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.controller.TicketBulkController;
+import de.tum.aet.devops25.teamspoved.dto.ImportResult;
+import de.tum.aet.devops25.teamspoved.dto.TicketFileFormat;
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.model.Status;
+import de.tum.aet.devops25.teamspoved.service.TicketExportService;
+import de.tum.aet.devops25.teamspoved.service.TicketImportService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = {TicketBulkController.class})
+@AutoConfigureMockMvc(addFilters = false)
+public class TicketBulkControllerTest {
+    private static final String NDJSON = "{\"ticketId\":1}\n{\"ticketId\":2}\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TicketExportService ticketExportService;
+
+    @MockBean
+    private TicketImportService ticketImportService;
+
+    private void exportWrites(String content) {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(ticketExportService).export(any(TicketFilter.class), any(TicketFileFormat.class), any(OutputStream.class));
+    }
+
+    @Test
+    public void testExportNdjson() throws Exception {
+        exportWrites(NDJSON);
+        MvcResult result = mockMvc.perform(get("/tickets/export").param("status", "OPEN"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", containsString("tickets.ndjson")))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().string(NDJSON));
+
+        ArgumentCaptor<TicketFilter> filter = ArgumentCaptor.forClass(TicketFilter.class);
+        verify(ticketExportService).export(filter.capture(), eq(TicketFileFormat.NDJSON), any(OutputStream.class));
+        assertEquals(List.of(Status.OPEN), filter.getValue().status());
+    }
+
+    @Test
+    public void testExportCsv() throws Exception {
+        exportWrites("ticketId\n1\n");
+        MvcResult result = mockMvc.perform(get("/tickets/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", containsString("tickets.csv")));
+        verify(ticketExportService).export(any(TicketFilter.class), eq(TicketFileFormat.CSV), any(OutputStream.class));
+    }
+
+    @Test
+    public void testExportGzip() throws Exception {
+        exportWrites(NDJSON);
+        MvcResult result = mockMvc.perform(get("/tickets/export").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult response = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+
+        byte[] compressed = response.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals(NDJSON, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testExportUnknownFormat() throws Exception {
+        mockMvc.perform(get("/tickets/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(ticketExportService);
+    }
+
+    @Test
+    public void testImportNdjsonReportsRowErrors() throws Exception {
+        ImportResult result = new ImportResult(1, 1, List.of(new ImportResult.RowError(2, "title is required")));
+        when(ticketImportService.importTickets(any(InputStream.class), eq(TicketFileFormat.NDJSON))).thenReturn(result);
+        mockMvc.perform(post("/tickets/import")
+                .contentType("application/x-ndjson")
+                .content("{\"createdBy\":1}\n{\"createdBy\":2}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.errors[0].row", is(2)))
+                .andExpect(jsonPath("$.errors[0].error", is("title is required")));
+    }
+
+    @Test
+    public void testImportGzipCsv() throws Exception {
+        String csv = "createdBy,title\n1,Broken light\n";
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(csv.getBytes(StandardCharsets.UTF_8));
+        }
+        when(ticketImportService.importTickets(any(InputStream.class), eq(TicketFileFormat.CSV)))
+                .thenAnswer(invocation -> {
+                    InputStream body = invocation.getArgument(0);
+                    assertEquals(csv, new String(body.readAllBytes(), StandardCharsets.UTF_8));
+                    return new ImportResult(1, 0, List.of());
+                });
+        mockMvc.perform(post("/tickets/import")
+                .contentType("text/csv")
+                .header("Content-Encoding", "gzip")
+                .content(compressed.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)));
+    }
+
+    @Test
+    public void testImportUnsupportedContentType() throws Exception {
+        mockMvc.perform(post("/tickets/import")
+                .contentType("application/json")
+                .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+        verifyNoInteractions(ticketImportService);
+    }
+}
@@ -2,7 +2,9 @@ package de.tum.aet.devops25.teamspoved;
 
 import de.tum.aet.devops25.teamspoved.controller.TicketController;
 import de.tum.aet.devops25.teamspoved.model.*;
+import de.tum.aet.devops25.teamspoved.service.TicketQueryCache;
 import de.tum.aet.devops25.teamspoved.service.TicketService;
+import de.tum.aet.devops25.teamspoved.util.IdempotencyStore;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,6 +32,12 @@ public class TicketControllerSecurityTest {
     @MockBean
     private TicketService ticketService;
 
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
+    @MockBean
+    private TicketQueryCache ticketQueryCache;
+
     @BeforeEach
     public void setup() {
         testUserId = 1;
@@ -2,9 +2,20 @@ package de.tum.aet.devops25.teamspoved;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.tum.aet.devops25.teamspoved.controller.TicketController;
+import de.tum.aet.devops25.teamspoved.dto.CalendarDay;
 import de.tum.aet.devops25.teamspoved.dto.CreateTicketRequest;
+import de.tum.aet.devops25.teamspoved.dto.TicketChanges;
+import de.tum.aet.devops25.teamspoved.dto.TicketField;
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.dto.TicketPage;
+import de.tum.aet.devops25.teamspoved.dto.TicketView;
+import de.tum.aet.devops25.teamspoved.dto.WorkerLoad;
 import de.tum.aet.devops25.teamspoved.model.*;
+import de.tum.aet.devops25.teamspoved.service.TicketQueryCache;
 import de.tum.aet.devops25.teamspoved.service.TicketService;
+import de.tum.aet.devops25.teamspoved.util.IdempotencyStore;
+import de.tum.aet.devops25.teamspoved.util.JwtFilter.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,14 +23,24 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -36,10 +57,21 @@ public class TicketControllerTest {
     @MockBean
     private TicketService ticketService;
 
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
+    @MockBean
+    private TicketQueryCache ticketQueryCache;
+
     private Integer testUserId;
     private Integer testAssigneeId;
     private TicketEntity testTicket;
 
+    @AfterEach
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
     @BeforeEach
     public void setup() {
         testUserId = 1;
@@ -59,7 +91,7 @@ public class TicketControllerTest {
 
     @Test
     public void testGetAllTickets() throws Exception {
-        when(ticketService.getFilteredTickets(any(), any(), any(), any(), any(), any())).thenReturn(List.of(testTicket));
+        when(ticketService.getFilteredTickets(any(TicketFilter.class))).thenReturn(List.of(testTicket));
         mockMvc.perform(get("/tickets"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
@@ -110,6 +142,52 @@ public class TicketControllerTest {
                 .andExpect(jsonPath("$.assignedTo", is(testAssigneeId)));
     }
 
+    @Test
+    public void testCreateTicketReplaysIdempotentRequest() throws Exception {
+        CreateTicketRequest request = new CreateTicketRequest(
+                testUserId,
+                testAssigneeId,
+                "New ticket title",
+                "New ticket description",
+                LocalDate.now().plusDays(1),
+                "Lobby",
+                MediaTypeEnum.AUDIO,
+                null
+        );
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(7L, "sam"), null, List.of()));
+        when(idempotencyStore.<TicketEntity>execute(eq("POST /tickets:7:retry-1"), eq(request), any()))
+                .thenReturn(new IdempotencyStore.Result<>(testTicket, true));
+        mockMvc.perform(post("/tickets")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.ticketId", is(testTicket.getTicketId())));
+    }
+
+    @Test
+    public void testCreateTicketRejectsReusedIdempotencyKey() throws Exception {
+        CreateTicketRequest request = new CreateTicketRequest(
+                testUserId,
+                testAssigneeId,
+                "Another title",
+                "Another description",
+                LocalDate.now().plusDays(1),
+                "Lobby",
+                MediaTypeEnum.AUDIO,
+                null
+        );
+        when(idempotencyStore.<TicketEntity>execute(eq("POST /tickets:anonymous:retry-1"), any(), any()))
+                .thenThrow(new IdempotencyStore.KeyReuseException("Idempotency key was already used for a different request"));
+        mockMvc.perform(post("/tickets")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     public void testUpdateTicketStatus() throws Exception {
         TicketEntity updatedTicket = new TicketEntity();
@@ -133,7 +211,7 @@ public class TicketControllerTest {
 
     @Test
     public void testGetAllTickets_withFilters() throws Exception {
-        when(ticketService.getFilteredTickets(any(), any(), any(), any(), any(), any())).thenReturn(List.of(testTicket));
+        when(ticketService.getFilteredTickets(any(TicketFilter.class))).thenReturn(List.of(testTicket));
         mockMvc.perform(get("/tickets")
                 .param("assignedTo", String.valueOf(testAssigneeId))
                 .param("createdBy", String.valueOf(testUserId))
@@ -149,4 +227,247 @@ public class TicketControllerTest {
                 .andExpect(jsonPath("$[0].createdBy", is(testUserId)))
                 .andExpect(jsonPath("$[0].assignedTo", is(testAssigneeId)));
     }
+
+    @Test
+    public void testAssignTicket_leastLoaded() throws Exception {
+        when(ticketService.assignTicketToLeastLoaded(testTicket.getTicketId())).thenReturn(Optional.of(testTicket));
+        mockMvc.perform(put("/tickets/{ticketId}/assign", testTicket.getTicketId())
+                .param("strategy", "least-loaded"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assignedTo", is(testAssigneeId)));
+    }
+
+    @Test
+    public void testAssignTicket_withoutUserOrStrategy() throws Exception {
+        mockMvc.perform(put("/tickets/{ticketId}/assign", testTicket.getTicketId()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetWorkerLoads() throws Exception {
+        when(ticketService.getWorkerLoads()).thenReturn(List.of(new WorkerLoad(testAssigneeId, 2, 1)));
+        mockMvc.perform(get("/workers/load"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].userId", is(testAssigneeId)))
+                .andExpect(jsonPath("$[0].totalTickets", is(3)));
+    }
+
+    @Test
+    public void testGetCalendar() throws Exception {
+        LocalDate day = LocalDate.now().plusDays(2);
+        when(ticketService.getCalendar(any(TicketFilter.class))).thenReturn(List.of(new CalendarDay(day, 3, 1, 1, 1)));
+        mockMvc.perform(get("/tickets/calendar")
+                .param("from", LocalDate.now().toString())
+                .param("to", LocalDate.now().plusDays(6).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].date", is(day.toString())))
+                .andExpect(jsonPath("$[0].total", is(3)));
+    }
+
+    @Test
+    public void testGetCalendar_bindsSharedFilter() throws Exception {
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(6);
+        when(ticketService.getCalendar(any(TicketFilter.class))).thenReturn(List.of());
+        mockMvc.perform(get("/tickets/calendar")
+                .param("from", from.toString())
+                .param("to", to.toString())
+                .param("location", "Lobby")
+                .param("includeArchived", "true")
+                .param("status", "OPEN"))
+                .andExpect(status().isOk());
+        verify(ticketService).getCalendar(argThat(filter -> filter.dueFrom().equals(from) && filter.dueTo().equals(to)
+                && filter.location().equals(List.of("Lobby")) && filter.includeArchived() && filter.status().isEmpty()));
+    }
+
+    @Test
+    public void testGetCalendar_invalidRange() throws Exception {
+        when(ticketService.getCalendar(any(TicketFilter.class))).thenThrow(new IllegalArgumentException("A valid due date range is required"));
+        mockMvc.perform(get("/tickets/calendar")
+                .param("from", LocalDate.now().plusDays(6).toString())
+                .param("to", LocalDate.now().toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetAllTickets_withMultiValueFilters() throws Exception {
+        when(ticketService.getFilteredTickets(argThat(filter ->
+                filter.status().equals(List.of(Status.IN_PROGRESS, Status.OPEN))
+                        && filter.assignedTo().equals(List.of(2, 3, 4)))))
+                .thenReturn(List.of(testTicket));
+        mockMvc.perform(get("/tickets")
+                .param("status", "OPEN,IN_PROGRESS")
+                .param("assignedTo", "4", "3")
+                .param("assignedTo", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].ticketId", is(testTicket.getTicketId())));
+    }
+
+    @Test
+    public void testGetAllTickets_summaryView() throws Exception {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("ticketId", testTicket.getTicketId());
+        summary.put("title", testTicket.getTitle());
+        when(ticketService.getFilteredTicketFields(any(TicketFilter.class), eq(TicketView.SUMMARY.fields())))
+                .thenReturn(List.of(summary));
+        mockMvc.perform(get("/tickets").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].ticketId", is(testTicket.getTicketId())))
+                .andExpect(jsonPath("$[0].title", is(testTicket.getTitle())))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    public void testGetAllTickets_fieldsAlwaysIncludeTicketId() throws Exception {
+        when(ticketService.getFilteredTicketFields(any(TicketFilter.class), eq(EnumSet.of(TicketField.TICKET_ID, TicketField.STATUS))))
+                .thenReturn(List.of(Map.of("ticketId", testTicket.getTicketId(), "status", "IN_PROGRESS")));
+        mockMvc.perform(get("/tickets").param("fields", "status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("IN_PROGRESS")));
+    }
+
+    @Test
+    public void testGetAllTickets_unknownField() throws Exception {
+        mockMvc.perform(get("/tickets").param("fields", "title,password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetAllTickets_servedFromCache() throws Exception {
+        when(ticketQueryCache.get(any(TicketQueryCache.Key.class)))
+                .thenReturn("[{\"ticketId\":100}]".getBytes(StandardCharsets.UTF_8));
+        mockMvc.perform(get("/tickets").param("assignedTo", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ticketId", is(100)));
+        verify(ticketService, never()).getFilteredTickets(any(TicketFilter.class));
+    }
+
+    @Test
+    public void testGetAllTickets_cacheMissStoresResponse() throws Exception {
+        when(ticketQueryCache.stamp()).thenReturn(7L);
+        when(ticketService.getFilteredTickets(any(TicketFilter.class))).thenReturn(List.of(testTicket));
+        mockMvc.perform(get("/tickets").param("assignedTo", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ticketId", is(testTicket.getTicketId())));
+        verify(ticketQueryCache).put(argThat(key -> key.filter().assignedTo().equals(List.of(2)) && key.fields() == null),
+                eq(7L), any(byte[].class));
+    }
+
+    private static void authenticateAs(long userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(userId, "worker"), null, List.of()));
+    }
+
+    @Test
+    public void testClaimTicket() throws Exception {
+        authenticateAs(testAssigneeId);
+        when(ticketService.claimNextTicket(testAssigneeId, "Lobby")).thenReturn(Optional.of(testTicket));
+        mockMvc.perform(post("/tickets/claim")
+                .param("userId", String.valueOf(testAssigneeId))
+                .param("location", "Lobby"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ticketId", is(testTicket.getTicketId())))
+                .andExpect(jsonPath("$.assignedTo", is(testAssigneeId)));
+    }
+
+    @Test
+    public void testClaimTicket_NothingLeft() throws Exception {
+        authenticateAs(testAssigneeId);
+        when(ticketService.claimNextTicket(testAssigneeId, null)).thenReturn(Optional.empty());
+        mockMvc.perform(post("/tickets/claim"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    public void testClaimTicket_UnknownUser() throws Exception {
+        authenticateAs(99999);
+        when(ticketService.claimNextTicket(99999, null)).thenThrow(new IllegalArgumentException("User with ID 99999 not found"));
+        mockMvc.perform(post("/tickets/claim")
+                .param("userId", "99999"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testClaimTicket_OtherUserIsForbidden() throws Exception {
+        authenticateAs(testAssigneeId);
+        mockMvc.perform(post("/tickets/claim")
+                .param("userId", String.valueOf(testAssigneeId + 1)))
+                .andExpect(status().isForbidden());
+        verify(ticketService, never()).claimNextTicket(any(), any());
+    }
+
+    @Test
+    public void testClaimTicket_WithoutToken() throws Exception {
+        mockMvc.perform(post("/tickets/claim")
+                .param("userId", String.valueOf(testAssigneeId)))
+                .andExpect(status().isUnauthorized());
+        verify(ticketService, never()).claimNextTicket(any(), any());
+    }
+
+    @Test
+    public void testCountTickets() throws Exception {
+        when(ticketService.countTickets(argThat(filter -> filter.status().equals(List.of(Status.OPEN))))).thenReturn(42L);
+        mockMvc.perform(get("/tickets/count")
+                .param("status", "OPEN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count", is(42)));
+    }
+
+    @Test
+    public void testGetTicketPage() throws Exception {
+        when(ticketService.getTicketPage(any(TicketFilter.class), eq(2), eq(10)))
+                .thenReturn(new TicketPage(2, 10, 21, List.of(testTicket)));
+        mockMvc.perform(get("/tickets/page")
+                .param("location", "Hallway 1")
+                .param("page", "2")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(21)))
+                .andExpect(jsonPath("$.tickets", hasSize(1)))
+                .andExpect(jsonPath("$.tickets[0].ticketId", is(testTicket.getTicketId())));
+    }
+
+    @Test
+    public void testGetTicketPage_InvalidSize() throws Exception {
+        when(ticketService.getTicketPage(any(TicketFilter.class), eq(0), eq(1000)))
+                .thenThrow(new IllegalArgumentException("size must be between 1 and 500"));
+        mockMvc.perform(get("/tickets/page")
+                .param("size", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetTicketChanges() throws Exception {
+        when(ticketService.getTicketChanges("120", List.of(testAssigneeId)))
+                .thenReturn(new TicketChanges("135", List.of(testTicket), List.of(7)));
+        mockMvc.perform(get("/tickets/changes")
+                .param("since", "120")
+                .param("assignedTo", String.valueOf(testAssigneeId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is("135")))
+                .andExpect(jsonPath("$.tickets[0].ticketId", is(testTicket.getTicketId())))
+                .andExpect(jsonPath("$.removed", contains(7)));
+    }
+
+    @Test
+    public void testGetTicketChanges_InvalidVersion() throws Exception {
+        when(ticketService.getTicketChanges(eq("abc"), any()))
+                .thenThrow(new IllegalArgumentException("Invalid sync version: abc"));
+        mockMvc.perform(get("/tickets/changes")
+                .param("since", "abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetTicketChanges_ExpiredVersion() throws Exception {
+        when(ticketService.getTicketChanges(eq("5"), any()))
+                .thenThrow(new TicketService.SyncVersionExpiredException("Sync version 5 has expired"));
+        mockMvc.perform(get("/tickets/changes")
+                .param("since", "5"))
+                .andExpect(status().isGone());
+    }
 }
@@ -0,0 +1,119 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.client.MediaServiceClient;
+import de.tum.aet.devops25.teamspoved.client.UserServiceClient;
+import de.tum.aet.devops25.teamspoved.controller.TicketGraphQlController;
+import de.tum.aet.devops25.teamspoved.dto.MediaSummary;
+import de.tum.aet.devops25.teamspoved.dto.UserSummary;
+import de.tum.aet.devops25.teamspoved.model.MediaTypeEnum;
+import de.tum.aet.devops25.teamspoved.model.Status;
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+import de.tum.aet.devops25.teamspoved.service.TicketService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.test.tester.GraphQlTester;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@GraphQlTest(TicketGraphQlController.class)
+public class TicketGraphQlControllerTest {
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @MockBean
+    private TicketService ticketService;
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+
+    @MockBean
+    private MediaServiceClient mediaServiceClient;
+
+    private static TicketEntity ticket(int ticketId, Integer assignedTo, int createdBy, Integer mediaId) {
+        TicketEntity ticket = new TicketEntity();
+        ticket.setTicketId(ticketId);
+        ticket.setTitle("Ticket " + ticketId);
+        ticket.setDescription("Description");
+        ticket.setStatus(Status.OPEN);
+        ticket.setDueDate(LocalDate.now().plusDays(1));
+        ticket.setLocation("Hallway 1");
+        ticket.setMediaType(MediaTypeEnum.PHOTO);
+        ticket.setAssignedTo(assignedTo);
+        ticket.setCreatedBy(createdBy);
+        ticket.setMediaId(mediaId);
+        return ticket;
+    }
+
+    @Test
+    public void testResolvesUsersAndMediaWithOneCallPerService() {
+        when(ticketService.getFilteredTickets(any())).thenReturn(List.of(
+                ticket(1, 2, 1, 10),
+                ticket(2, 2, 1, 11),
+                ticket(3, null, 2, null)));
+        when(userServiceClient.findUsersByIds(any())).thenReturn(List.of(
+                new UserSummary(1, "Sam", "SUPERVISOR"),
+                new UserSummary(2, "Alex", "WORKER")));
+        when(mediaServiceClient.findMediaByIds(any())).thenReturn(List.of(
+                new MediaSummary(10, "PHOTO", "image/png", true, "Broken light", "Visible damage")));
+
+        graphQlTester.document("""
+                        {
+                          tickets(status: [OPEN]) {
+                            ticketId
+                            assignee { name }
+                            creator { name role }
+                            media { blobType result }
+                          }
+                        }""")
+                .execute()
+                .path("tickets[*].ticketId").entityList(Integer.class).containsExactly(1, 2, 3)
+                .path("tickets[0].assignee.name").entity(String.class).isEqualTo("Alex")
+                .path("tickets[0].creator.role").entity(String.class).isEqualTo("SUPERVISOR")
+                .path("tickets[0].media.result").entity(String.class).isEqualTo("Broken light")
+                .path("tickets[1].media").valueIsNull()
+                .path("tickets[2].assignee").valueIsNull()
+                .path("tickets[2].creator.name").entity(String.class).isEqualTo("Alex");
+
+        verify(userServiceClient, times(1)).findUsersByIds(Set.of(1, 2));
+        verify(mediaServiceClient, times(1)).findMediaByIds(Set.of(10, 11));
+        verify(ticketService).getFilteredTickets(argThat(filter -> filter.status().equals(List.of(Status.OPEN))));
+    }
+
+    @Test
+    public void testSkipsDownstreamCallsForUnrequestedFields() {
+        when(ticketService.getTicketById(1)).thenReturn(Optional.of(ticket(1, 2, 1, 10)));
+
+        graphQlTester.document("{ ticket(ticketId: 1) { title status } }")
+                .execute()
+                .path("ticket.title").entity(String.class).isEqualTo("Ticket 1")
+                .path("ticket.status").entity(String.class).isEqualTo("OPEN");
+
+        verify(userServiceClient, never()).findUsersByIds(any());
+        verify(mediaServiceClient, never()).findMediaByIds(any());
+    }
+
+    @Test
+    public void testInvalidDateIsBadRequest() {
+        graphQlTester.document("{ tickets(dueFrom: \"tomorrow\") { ticketId } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> {
+                    assertEquals(1, errors.size());
+                    assertEquals(ErrorType.BAD_REQUEST, errors.get(0).getErrorType());
+                });
+    }
+}
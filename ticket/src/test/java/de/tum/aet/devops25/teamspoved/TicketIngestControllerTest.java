@@ -0,0 +1,116 @@
+package de.tum.aet.devops25.teamspoved;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.tum.aet.devops25.teamspoved.controller.TicketIngestController;
+import de.tum.aet.devops25.teamspoved.dto.CreateTicketRequest;
+import de.tum.aet.devops25.teamspoved.model.*;
+import de.tum.aet.devops25.teamspoved.service.TicketIngestService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = {TicketIngestController.class})
+@AutoConfigureMockMvc(addFilters = false)
+public class TicketIngestControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private TicketIngestService ticketIngestService;
+
+    private CreateTicketRequest request;
+    private TicketIngestJobEntity pendingJob;
+
+    @BeforeEach
+    public void setup() {
+        request = new CreateTicketRequest(
+                1,
+                2,
+                "Broken light fixture",
+                "Light is broken in hallway",
+                LocalDate.now().plusDays(1),
+                "Hallway 1",
+                MediaTypeEnum.AUDIO,
+                null
+        );
+
+        pendingJob = new TicketIngestJobEntity();
+        pendingJob.setJobId(42L);
+        pendingJob.setStatus(IngestStatus.PENDING);
+    }
+
+    @Test
+    public void testEnqueueTicketReturnsAccepted() throws Exception {
+        when(ticketIngestService.enqueue(any(CreateTicketRequest.class))).thenReturn(pendingJob);
+        mockMvc.perform(post("/tickets")
+                .param("async", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/tickets/ingest/42"))
+                .andExpect(jsonPath("$.jobId", is(42)))
+                .andExpect(jsonPath("$.status", is("PENDING")))
+                .andExpect(jsonPath("$.statusUrl", is("/tickets/ingest/42")));
+    }
+
+    @Test
+    public void testEnqueueTicketWithInvalidShape() throws Exception {
+        when(ticketIngestService.enqueue(any(CreateTicketRequest.class)))
+                .thenThrow(new IllegalArgumentException("title is required"));
+        mockMvc.perform(post("/tickets")
+                .param("async", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("title is required")));
+    }
+
+    @Test
+    public void testEnqueueTicketWhenQueueIsFull() throws Exception {
+        when(ticketIngestService.enqueue(any(CreateTicketRequest.class)))
+                .thenThrow(new TicketIngestService.QueueFullException("Ticket ingest queue is full"));
+        mockMvc.perform(post("/tickets")
+                .param("async", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+    }
+
+    @Test
+    public void testGetIngestJob() throws Exception {
+        TicketIngestJobEntity doneJob = new TicketIngestJobEntity();
+        doneJob.setJobId(42L);
+        doneJob.setStatus(IngestStatus.DONE);
+        doneJob.setTicketId(100);
+        when(ticketIngestService.getJob(42L)).thenReturn(Optional.of(doneJob));
+        mockMvc.perform(get("/tickets/ingest/{jobId}", 42))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("DONE")))
+                .andExpect(jsonPath("$.ticketId", is(100)));
+    }
+
+    @Test
+    public void testGetUnknownIngestJob() throws Exception {
+        when(ticketIngestService.getJob(99L)).thenReturn(Optional.empty());
+        mockMvc.perform(get("/tickets/ingest/{jobId}", 99))
+                .andExpect(status().isNotFound());
+    }
+}
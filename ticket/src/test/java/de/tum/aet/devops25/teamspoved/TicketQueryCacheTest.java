@@ -0,0 +1,87 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.dto.TicketSnapshot;
+import de.tum.aet.devops25.teamspoved.model.*;
+import de.tum.aet.devops25.teamspoved.service.TicketQueryCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketQueryCacheTest {
+    private static final byte[] BODY = new byte[] {'[', ']'};
+
+    private TicketQueryCache cache;
+    private TicketQueryCache.Key workerTwoOpen;
+    private TicketQueryCache.Key lobby;
+
+    @BeforeEach
+    public void setup() {
+        Clock clock = Clock.fixed(Instant.parse("2025-06-01T10:00:00Z"), ZoneOffset.UTC);
+        cache = new TicketQueryCache(clock, 2, 1024, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        workerTwoOpen = key(new TicketFilter(List.of(2), null, List.of(Status.OPEN), null, null, null, null, null, false));
+        lobby = key(new TicketFilter(null, null, null, null, null, null, List.of("Lobby"), null, false));
+    }
+
+    @Test
+    public void testInvalidatesOnlyMatchingFilters() {
+        cache.put(workerTwoOpen, cache.stamp(), BODY);
+        cache.put(lobby, cache.stamp(), BODY);
+
+        // Worker 2 starts working on a ticket in the hallway: it leaves worker 2's open list, the lobby list is unaffected
+        cache.invalidate(snapshot(2, Status.OPEN, "Hallway"), snapshot(2, Status.IN_PROGRESS, "Hallway"));
+
+        assertNull(cache.get(workerTwoOpen));
+        assertNotNull(cache.get(lobby));
+    }
+
+    @Test
+    public void testNewTicketInvalidatesListsItJoins() {
+        cache.put(workerTwoOpen, cache.stamp(), BODY);
+        cache.put(lobby, cache.stamp(), BODY);
+
+        cache.invalidate(null, snapshot(3, Status.OPEN, "Lobby"));
+
+        assertNotNull(cache.get(workerTwoOpen));
+        assertNull(cache.get(lobby));
+    }
+
+    @Test
+    public void testSkipsResultReadBeforeInvalidation() {
+        long stamp = cache.stamp();
+        cache.invalidate(null, snapshot(3, Status.OPEN, "Lobby"));
+        cache.put(lobby, stamp, BODY);
+
+        assertNull(cache.get(lobby));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        TicketQueryCache.Key all = key(new TicketFilter(null, null, null, null, null, null, null, null, false));
+        cache.put(workerTwoOpen, cache.stamp(), BODY);
+        cache.put(lobby, cache.stamp(), BODY);
+        cache.get(workerTwoOpen);
+        cache.put(all, cache.stamp(), BODY);
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(workerTwoOpen));
+        assertNull(cache.get(lobby));
+    }
+
+    private static TicketQueryCache.Key key(TicketFilter filter) {
+        return new TicketQueryCache.Key(filter, null);
+    }
+
+    private static TicketSnapshot snapshot(Integer assignedTo, Status status, String location) {
+        return new TicketSnapshot(assignedTo, 1, status, LocalDate.of(2025, 6, 10), location, MediaTypeEnum.PHOTO);
+    }
+}
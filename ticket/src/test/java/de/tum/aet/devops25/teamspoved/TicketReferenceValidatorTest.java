@@ -0,0 +1,101 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.client.MediaServiceClient;
+import de.tum.aet.devops25.teamspoved.client.UserServiceClient;
+import de.tum.aet.devops25.teamspoved.dto.CreateTicketRequest;
+import de.tum.aet.devops25.teamspoved.dto.MediaSummary;
+import de.tum.aet.devops25.teamspoved.model.MediaTypeEnum;
+import de.tum.aet.devops25.teamspoved.service.TicketReferenceValidator;
+import de.tum.aet.devops25.teamspoved.util.JwtFilter.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TicketReferenceValidatorTest {
+    private UserServiceClient userServiceClient;
+    private MediaServiceClient mediaServiceClient;
+    private TicketReferenceValidator validator;
+
+    @BeforeEach
+    public void setup() {
+        userServiceClient = mock(UserServiceClient.class);
+        mediaServiceClient = mock(MediaServiceClient.class);
+        validator = new TicketReferenceValidator(userServiceClient, mediaServiceClient, Duration.ofSeconds(2), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static CreateTicketRequest request(Integer createdBy, Integer assignedTo, Integer mediaId) {
+        return new CreateTicketRequest(createdBy, assignedTo, "Broken light", "Light is broken", LocalDate.now().plusDays(1),
+                "Hallway 1", MediaTypeEnum.PHOTO, mediaId);
+    }
+
+    @Test
+    public void testChecksRunConcurrently() {
+        // Every check waits until all three have started, which only succeeds if they run at the same time
+        CountDownLatch started = new CountDownLatch(3);
+        when(userServiceClient.userExists(anyInt())).thenAnswer(invocation -> {
+            started.countDown();
+            return started.await(1, TimeUnit.SECONDS);
+        });
+        when(mediaServiceClient.findMediaByIds(any())).thenAnswer(invocation -> {
+            started.countDown();
+            started.await(1, TimeUnit.SECONDS);
+            return List.of(new MediaSummary(10, "PHOTO", "image/png", false, null, null));
+        });
+
+        assertDoesNotThrow(() -> validator.validate(request(1, 2, 10)));
+        assertEquals(0, started.getCount());
+    }
+
+    @Test
+    public void testMissingMediaIsRejected() {
+        when(userServiceClient.userExists(anyInt())).thenReturn(true);
+        when(mediaServiceClient.findMediaByIds(any())).thenReturn(List.of());
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> validator.validate(request(1, 2, 10)));
+        assertEquals("Media with ID 10 not found", e.getMessage());
+    }
+
+    @Test
+    public void testSlowServiceHitsDeadline() {
+        validator = new TicketReferenceValidator(userServiceClient, mediaServiceClient, Duration.ofMillis(100), new SimpleMeterRegistry());
+        when(userServiceClient.userExists(anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return true;
+        });
+
+        assertThrows(TicketReferenceValidator.ValidationTimeoutException.class, () -> validator.validate(request(1, null, null)));
+    }
+
+    @Test
+    public void testTokenUserIsNotLookedUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(1L, "sam"), null, List.of()));
+
+        assertDoesNotThrow(() -> validator.validate(request(1, null, null)));
+        verify(userServiceClient, never()).userExists(any());
+    }
+}
@@ -0,0 +1,200 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.dto.CalendarDay;
+import de.tum.aet.devops25.teamspoved.dto.TicketField;
+import de.tum.aet.devops25.teamspoved.dto.TicketFilter;
+import de.tum.aet.devops25.teamspoved.model.Status;
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+import de.tum.aet.devops25.teamspoved.repository.TicketRepositoryCustomImpl;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the SQL built for filtered ticket queries, and runs it against the schema from database/init.sql.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class TicketRepositoryCustomImplTest {
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final String INSERT_TICKET = "INSERT INTO db.tickets " +
+            "(ticket_id, assigned_to, created_by, title, description, status, due_date, location, media_type) " +
+            "VALUES (?, ?, ?, 'Broken light', 'Light is broken', ?, ?, ?, ?)";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("db")
+            .withUsername("spoved")
+            .withPassword("secret")
+            .withCopyFileToContainer(MountableFile.forHostPath(Path.of("../database/init.sql")), "/tmp/init.sql");
+
+    private static RecordingJdbcTemplate jdbcTemplate;
+    private static TicketRepositoryCustomImpl repository;
+    // Creator of every ticket of this test, so the sample tickets of init.sql can be filtered out
+    private static Integer creator;
+    private static Integer sam;
+    private static Integer alex;
+
+    /**
+     * Remembers the last statement and its bind values.
+     */
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+        private String sql;
+        private List<Object> args;
+
+        RecordingJdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            record(sql, args);
+            return super.query(sql, rowMapper, args);
+        }
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+            record(sql, args);
+            return super.queryForObject(sql, requiredType, args);
+        }
+
+        private void record(String sql, Object[] args) {
+            this.sql = sql;
+            this.args = Arrays.asList(args);
+        }
+    }
+
+    @BeforeAll
+    static void createTickets() throws Exception {
+        // Not through docker-entrypoint-initdb.d, whose psql stops at the first failing sample row
+        postgres.execInContainer("psql", "-U", "spoved", "-d", "db", "-f", "/tmp/init.sql");
+        jdbcTemplate = new RecordingJdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl(), "spoved", "secret"));
+        repository = new TicketRepositoryCustomImpl(jdbcTemplate);
+
+        creator = createUser("Kim", "SUPERVISOR");
+        sam = createUser("Sam", "WORKER");
+        alex = createUser("Alex", "WORKER");
+        jdbcTemplate.update(INSERT_TICKET, 1001, sam, creator, "OPEN", TODAY.plusDays(1), "Hallway 1", "PHOTO");
+        jdbcTemplate.update(INSERT_TICKET, 1002, alex, creator, "IN_PROGRESS", TODAY.plusDays(2), "Hallway 2", "VIDEO");
+        jdbcTemplate.update(INSERT_TICKET, 1003, null, creator, "FINISHED", TODAY.plusDays(3), "Kitchen", "AUDIO");
+        jdbcTemplate.update(INSERT_TICKET, 1004, sam, creator, "OPEN", TODAY.plusDays(5), "Hallway 1", "PHOTO");
+    }
+
+    private static Integer createUser(String name, String role) {
+        return jdbcTemplate.queryForObject("INSERT INTO db.users (name, role, password_hash) VALUES (?, CAST(? AS db.role), 'hash') " +
+                "RETURNING user_id", Integer.class, name, role);
+    }
+
+    private static List<Integer> ids(List<TicketEntity> tickets) {
+        return tickets.stream().map(TicketEntity::getTicketId).toList();
+    }
+
+    @Test
+    public void testDueDateRangeIsInclusive() {
+        TicketFilter filter = new TicketFilter(null, List.of(creator), null, null, TODAY.plusDays(2), TODAY.plusDays(3), null, null, false);
+
+        List<TicketEntity> tickets = repository.findFilteredTickets(filter);
+
+        assertEquals(List.of(1002, 1003), ids(tickets));
+        assertTrue(jdbcTemplate.sql.endsWith(" FROM db.tickets t " +
+                "WHERE t.created_by = ? AND t.due_date >= ? AND t.due_date <= ? ORDER BY t.ticket_id"), jdbcTemplate.sql);
+        assertEquals(List.of(creator, TODAY.plusDays(2), TODAY.plusDays(3)), jdbcTemplate.args);
+    }
+
+    @Test
+    public void testOpenRangeOnlyBindsGivenBound() {
+        TicketFilter filter = new TicketFilter(null, List.of(creator), null, null, TODAY.plusDays(3), null, null, null, false);
+
+        assertEquals(2, repository.countFilteredTickets(filter));
+        assertEquals("SELECT COUNT(*) FROM db.tickets t WHERE t.created_by = ? AND t.due_date >= ?", jdbcTemplate.sql);
+        assertEquals(List.of(creator, TODAY.plusDays(3)), jdbcTemplate.args);
+    }
+
+    @Test
+    public void testCalendarCountsEveryStatusPerDueDate() {
+        TicketFilter filter = new TicketFilter(null, List.of(creator), List.of(Status.OPEN),
+                null, null, null, null, null, false);
+
+        List<CalendarDay> days = repository.countTicketsPerDueDate(filter.forCalendar(TODAY.plusDays(1), TODAY.plusDays(3)));
+
+        assertEquals(List.of(
+                new CalendarDay(TODAY.plusDays(1), 1, 1, 0, 0),
+                new CalendarDay(TODAY.plusDays(2), 1, 0, 1, 0),
+                new CalendarDay(TODAY.plusDays(3), 1, 0, 0, 1)), days);
+        assertTrue(jdbcTemplate.sql.endsWith(" FROM db.tickets t " +
+                "WHERE t.created_by = ? AND t.due_date >= ? AND t.due_date <= ? GROUP BY t.due_date ORDER BY t.due_date"), jdbcTemplate.sql);
+        assertEquals(List.of(creator, TODAY.plusDays(1), TODAY.plusDays(3)), jdbcTemplate.args);
+    }
+
+    @Test
+    public void testSeveralValuesAreBoundAsOneArray() {
+        TicketFilter filter = new TicketFilter(List.of(alex, sam), List.of(creator), List.of(Status.OPEN, Status.IN_PROGRESS),
+                null, null, null, null, null, false);
+
+        List<TicketEntity> tickets = repository.findFilteredTickets(filter);
+
+        assertEquals(List.of(1001, 1002, 1004), ids(tickets));
+        assertTrue(jdbcTemplate.sql.endsWith(" FROM db.tickets t " +
+                "WHERE t.assigned_to = ANY(?) AND t.created_by = ? AND t.status = ANY(?) ORDER BY t.ticket_id"), jdbcTemplate.sql);
+        assertEquals(3, jdbcTemplate.args.size());
+        assertArrayEquals(new Integer[] {sam, alex}, (Integer[]) jdbcTemplate.args.get(0));
+        assertEquals(creator, jdbcTemplate.args.get(1));
+        assertArrayEquals(new String[] {"IN_PROGRESS", "OPEN"}, (String[]) jdbcTemplate.args.get(2));
+    }
+
+    @Test
+    public void testSingleValueIsBoundAsScalar() {
+        TicketFilter filter = new TicketFilter(null, List.of(creator), null, null, null, null,
+                List.of("Kitchen", "Hallway 1"), List.of("AUDIO"), false);
+
+        List<TicketEntity> tickets = repository.findFilteredTickets(filter);
+
+        assertEquals(List.of(1003), ids(tickets));
+        assertTrue(jdbcTemplate.sql.endsWith(" FROM db.tickets t " +
+                "WHERE t.created_by = ? AND t.location = ANY(?) AND t.media_type = ? ORDER BY t.ticket_id"), jdbcTemplate.sql);
+        assertArrayEquals(new String[] {"Hallway 1", "Kitchen"}, (String[]) jdbcTemplate.args.get(1));
+        assertEquals("AUDIO", jdbcTemplate.args.get(2));
+    }
+
+    @Test
+    public void testSparseFieldsetSelectsOnlyRequestedColumns() {
+        TicketFilter filter = new TicketFilter(null, List.of(creator), null, null, null, null, null, null, false);
+
+        List<Map<String, Object>> rows = repository.findFilteredTicketFields(filter,
+                Set.of(TicketField.DUE_DATE, TicketField.TICKET_ID, TicketField.STATUS));
+
+        assertEquals("SELECT t.ticket_id, t.status, t.due_date FROM db.tickets t WHERE t.created_by = ? ORDER BY t.ticket_id",
+                jdbcTemplate.sql);
+        assertEquals(4, rows.size());
+        assertEquals(List.of("ticketId", "status", "dueDate"), List.copyOf(rows.get(0).keySet()));
+        assertEquals(Map.of("ticketId", 1001, "status", "OPEN", "dueDate", TODAY.plusDays(1)), rows.get(0));
+    }
+
+    @Test
+    public void testSparseFieldsetOverArchiveSelectsOnlyRequestedColumns() {
+        TicketFilter filter = new TicketFilter(null, List.of(creator), null, null, null, null, null, null, true);
+
+        List<Map<String, Object>> rows = repository.findFilteredTicketFields(filter, Set.of(TicketField.TICKET_ID));
+
+        assertTrue(jdbcTemplate.sql.startsWith("SELECT t.ticket_id FROM (SELECT "), jdbcTemplate.sql);
+        assertTrue(jdbcTemplate.sql.contains(" FROM db.tickets UNION ALL SELECT "), jdbcTemplate.sql);
+        assertTrue(jdbcTemplate.sql.endsWith(" FROM db.tickets_archive) t WHERE t.created_by = ? ORDER BY t.ticket_id"), jdbcTemplate.sql);
+        assertEquals(List.of(Map.of("ticketId", 1001), Map.of("ticketId", 1002), Map.of("ticketId", 1003), Map.of("ticketId", 1004)),
+                rows);
+    }
+}
@@ -0,0 +1,94 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.dto.ResolutionDimension;
+import de.tum.aet.devops25.teamspoved.dto.ResolutionStats;
+import de.tum.aet.devops25.teamspoved.model.MediaTypeEnum;
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+import de.tum.aet.devops25.teamspoved.repository.TicketShards;
+import de.tum.aet.devops25.teamspoved.service.TicketResolutionAnalytics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TicketResolutionAnalyticsTest {
+    private static final LocalDateTime CREATED = LocalDateTime.of(2030, 1, 10, 8, 0);
+
+    private TransactionTemplate transactionTemplate;
+    private TicketResolutionAnalytics analytics;
+
+    @BeforeEach
+    public void setup() {
+        transactionTemplate = mock(TransactionTemplate.class);
+        analytics = new TicketResolutionAnalytics(mock(JdbcTemplate.class), transactionTemplate, new TicketShards(List.of(), 0), true);
+    }
+
+    private static TicketEntity finished(String location, Integer assignee, long seconds) {
+        TicketEntity ticket = new TicketEntity();
+        ticket.setLocation(location);
+        ticket.setAssignedTo(assignee);
+        ticket.setMediaType(MediaTypeEnum.PHOTO);
+        ticket.setCreatedAt(CREATED);
+        ticket.setFinishedAt(CREATED.plusSeconds(seconds));
+        return ticket;
+    }
+
+    @Test
+    public void testPercentilesOverAllTickets() {
+        for (int minutes = 1; minutes <= 100; minutes++) {
+            analytics.ticketFinished(finished("Lobby", 10, minutes * 60L));
+        }
+
+        List<ResolutionStats> stats = analytics.getStats(ResolutionDimension.ALL);
+        assertEquals(1, stats.size());
+        ResolutionStats all = stats.get(0);
+        assertNull(all.value());
+        assertEquals(100, all.count());
+        // Two significant digits, so within 1%
+        assertEquals(50 * 60, all.p50Seconds(), 50 * 60 * 0.01);
+        assertEquals(90 * 60, all.p90Seconds(), 90 * 60 * 0.01);
+        assertEquals(99 * 60, all.p99Seconds(), 99 * 60 * 0.01);
+    }
+
+    @Test
+    public void testGroupsByDimensionValue() {
+        analytics.ticketFinished(finished("Lobby", 10, 600));
+        analytics.ticketFinished(finished("Lobby", 11, 1200));
+        analytics.ticketFinished(finished("Kitchen", null, 60));
+
+        List<ResolutionStats> byLocation = analytics.getStats(ResolutionDimension.LOCATION);
+        assertEquals(List.of("Kitchen", "Lobby"), byLocation.stream().map(ResolutionStats::value).toList());
+        assertEquals(2, byLocation.get(1).count());
+
+        List<ResolutionStats> byAssignee = analytics.getStats(ResolutionDimension.ASSIGNEE);
+        assertEquals(List.of("10", "11"), byAssignee.stream().map(ResolutionStats::value).toList());
+
+        assertEquals(3, analytics.getStats(ResolutionDimension.MEDIA_TYPE).get(0).count());
+    }
+
+    @Test
+    public void testSkipsTicketsWithoutCreationTime() {
+        TicketEntity ticket = finished("Lobby", 10, 600);
+        ticket.setCreatedAt(null);
+        analytics.ticketFinished(ticket);
+        assertTrue(analytics.getStats(ResolutionDimension.ALL).isEmpty());
+    }
+
+    @Test
+    public void testKeepsRecordingsWhenStoringFails() {
+        analytics.ticketFinished(finished("Lobby", 10, 600));
+        when(transactionTemplate.execute(any())).thenThrow(new IllegalStateException("database down"));
+
+        analytics.sync();
+
+        assertEquals(1, analytics.getStats(ResolutionDimension.ALL).get(0).count());
+    }
+}
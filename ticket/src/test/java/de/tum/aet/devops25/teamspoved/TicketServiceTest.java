@@ -0,0 +1,153 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.client.UserServiceClient;
+import de.tum.aet.devops25.teamspoved.dto.CreateTicketRequest;
+import de.tum.aet.devops25.teamspoved.model.MediaTypeEnum;
+import de.tum.aet.devops25.teamspoved.model.Status;
+import de.tum.aet.devops25.teamspoved.model.TicketEntity;
+import de.tum.aet.devops25.teamspoved.repository.TicketRepository;
+import de.tum.aet.devops25.teamspoved.repository.TicketShards;
+import de.tum.aet.devops25.teamspoved.service.DuplicateTicketIndex;
+import de.tum.aet.devops25.teamspoved.service.TicketBitmapIndex;
+import de.tum.aet.devops25.teamspoved.service.TicketQueryCache;
+import de.tum.aet.devops25.teamspoved.service.TicketReferenceValidator;
+import de.tum.aet.devops25.teamspoved.service.TicketResolutionAnalytics;
+import de.tum.aet.devops25.teamspoved.service.TicketService;
+import de.tum.aet.devops25.teamspoved.service.WorkerLoadIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class TicketServiceTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private TicketRepository ticketRepository;
+    private UserServiceClient userServiceClient;
+    private TicketReferenceValidator referenceValidator;
+    private PlatformTransactionManager transactionManager;
+    private WorkerLoadIndex workerLoadIndex;
+    private TicketService ticketService;
+
+    @BeforeEach
+    public void setup() {
+        ticketRepository = mock(TicketRepository.class);
+        userServiceClient = mock(UserServiceClient.class);
+        referenceValidator = mock(TicketReferenceValidator.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        workerLoadIndex = new WorkerLoadIndex();
+        ticketService = new TicketService(ticketRepository, userServiceClient, referenceValidator, workerLoadIndex,
+                mock(TicketQueryCache.class), mock(DuplicateTicketIndex.class), mock(TicketBitmapIndex.class),
+                mock(TicketResolutionAnalytics.class), new TicketShards(List.of(), 0), new TransactionTemplate(transactionManager),
+                Clock.systemDefaultZone(), registry);
+    }
+
+    private static CreateTicketRequest request() {
+        return new CreateTicketRequest(1, 2, "Broken light", "Light is broken", LocalDate.now().plusDays(1),
+                "Hallway 1", MediaTypeEnum.PHOTO, null);
+    }
+
+    private static TicketEntity ticket(Integer ticketId) {
+        TicketEntity ticket = new TicketEntity();
+        ticket.setTicketId(ticketId);
+        ticket.setCreatedBy(1);
+        ticket.setStatus(Status.OPEN);
+        ticket.setLocation("Hallway 1");
+        return ticket;
+    }
+
+    private long connectionHolds(String operation) {
+        return registry.get("ticket_service.db.connection.hold").tag("operation", operation).timer().count();
+    }
+
+    @Test
+    public void testCreateChecksReferencesBeforeTransaction() {
+        when(ticketRepository.save(any(TicketEntity.class))).thenAnswer(invocation -> {
+            TicketEntity ticket = invocation.getArgument(0);
+            ticket.setTicketId(100);
+            return ticket;
+        });
+
+        TicketEntity created = ticketService.createTicket(request());
+
+        assertEquals(100, created.getTicketId());
+        InOrder order = inOrder(referenceValidator, transactionManager, ticketRepository);
+        order.verify(referenceValidator).validate(any());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(ticketRepository).save(any(TicketEntity.class));
+        order.verify(transactionManager).commit(any());
+        assertEquals(1, connectionHolds("create"));
+    }
+
+    @Test
+    public void testFailedReferenceCheckNeverOpensTransaction() {
+        doThrow(new IllegalArgumentException("User with ID 1 not found")).when(referenceValidator).validate(any());
+
+        assertThrows(IllegalArgumentException.class, () -> ticketService.createTicket(request()));
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    public void testAssignChecksUserBeforeTransaction() {
+        when(referenceValidator.userExists(2)).thenReturn(true);
+        when(ticketRepository.findById(100)).thenReturn(Optional.of(ticket(100)));
+
+        Optional<TicketEntity> assigned = ticketService.assignTicket(100, 2);
+
+        assertEquals(2, assigned.orElseThrow().getAssignedTo());
+        InOrder order = inOrder(referenceValidator, transactionManager);
+        order.verify(referenceValidator).userExists(2);
+        order.verify(transactionManager).getTransaction(any());
+        assertEquals(1, connectionHolds("assign"));
+    }
+
+    @Test
+    public void testAssignToUnknownUserNeverOpensTransaction() {
+        when(referenceValidator.userExists(3)).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> ticketService.assignTicket(100, 3));
+        verify(transactionManager, never()).getTransaction(any());
+        verifyNoInteractions(ticketRepository);
+    }
+
+    @Test
+    public void testAssignToLeastLoadedSkipsCurrentAssignee() {
+        TicketEntity ticket = ticket(100);
+        ticket.setAssignedTo(2);
+        when(ticketRepository.findById(100)).thenReturn(Optional.of(ticket));
+        when(referenceValidator.userExists(3)).thenReturn(true);
+        workerLoadIndex.registerWorker(2);
+        workerLoadIndex.registerWorker(3);
+        workerLoadIndex.ticketAdded(3, Status.OPEN);
+
+        Optional<TicketEntity> assigned = ticketService.assignTicketToLeastLoaded(100);
+
+        assertEquals(3, assigned.orElseThrow().getAssignedTo());
+    }
+
+    @Test
+    public void testAssignToLeastLoadedKeepsOnlyWorker() {
+        TicketEntity ticket = ticket(100);
+        ticket.setAssignedTo(2);
+        when(ticketRepository.findById(100)).thenReturn(Optional.of(ticket));
+        workerLoadIndex.registerWorker(2);
+
+        Optional<TicketEntity> assigned = ticketService.assignTicketToLeastLoaded(100);
+
+        assertEquals(2, assigned.orElseThrow().getAssignedTo());
+        verify(ticketRepository, never()).save(any());
+        verify(transactionManager, never()).getTransaction(any());
+    }
+}
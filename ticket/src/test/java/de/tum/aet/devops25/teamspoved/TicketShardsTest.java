@@ -0,0 +1,76 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.repository.TicketShards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketShardsTest {
+    private TicketShards shards;
+
+    @BeforeEach
+    public void setup() {
+        shards = new TicketShards(List.of("jdbc:postgresql://shard-1/db", "jdbc:postgresql://shard-2/db", " "), 100);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        shards.shutdown();
+    }
+
+    @Test
+    public void testCountsPrimaryAndConfiguredShards() {
+        assertEquals(3, shards.count());
+        assertEquals(1, new TicketShards(List.of(), 0).count());
+    }
+
+    @Test
+    public void testTicketShardFollowsFromId() {
+        assertEquals(0, shards.forTicket(42));
+        assertEquals(0, shards.forTicket(100));
+        // Above the legacy ids, the shard is (id - 1) % 3
+        assertEquals(1, shards.forTicket(101));
+        assertEquals(0, shards.forTicket(103));
+        assertEquals(1, shards.forTicket(104));
+        assertEquals(2, shards.forTicket(105));
+    }
+
+    @Test
+    public void testLegacyTicketsMayBeAtAnyLocation() {
+        String location = "Hallway 1";
+        int shard = shards.forLocation(location);
+        assertEquals(shard, shards.forLocation(location));
+        assertTrue(shards.mayHold(shard, List.of(location)));
+        assertTrue(shards.mayHold(0, List.of(location)));
+        assertTrue(shards.mayHold(2, List.of()));
+    }
+
+    @Test
+    public void testTicketOnlyMovesWithinItsShard() {
+        // "A", "B" and "C" hash to shards 2, 0 and 1, ticket 104 is on shard 1
+        assertTrue(shards.canMove(104, "C"));
+        assertFalse(shards.canMove(104, "A"));
+        assertFalse(shards.canMove(104, "B"));
+        assertTrue(shards.canMove(42, "A"));
+        assertTrue(new TicketShards(List.of(), 0).canMove(104, "A"));
+    }
+
+    @Test
+    public void testOnRestoresPreviousShard() {
+        assertEquals(0, TicketShards.current());
+        int inner = shards.on(2, () -> shards.on(1, TicketShards::current));
+        assertEquals(1, inner);
+        assertEquals(2, shards.on(2, TicketShards::current));
+        assertEquals(0, TicketShards.current());
+    }
+
+    @Test
+    public void testScatterReturnsResultsInShardOrder() {
+        assertEquals(List.of(0, 1, 2), shards.scatter(shard -> TicketShards.current()));
+        assertEquals(List.of(0, 0, 1, 1, 2, 2), shards.gather(shard -> List.of(shard, shard)));
+    }
+}
@@ -0,0 +1,74 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.repository.TicketShards;
+import de.tum.aet.devops25.teamspoved.service.TicketTombstonePruner;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Prunes tombstones in the schema from database/init.sql, with archiving disabled.
+ */
+@DataJpaTest(properties = {"spring.sql.init.mode=never", "tickets.archive.enabled=false", "tickets.changes.tombstone-retention-days=30"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TicketTombstonePruner.class, TicketShards.class})
+@Testcontainers(disabledWithoutDocker = true)
+public class TicketTombstonePrunerTest {
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("db")
+            .withUsername("spoved")
+            .withPassword("secret")
+            .withCopyFileToContainer(MountableFile.forHostPath(Path.of("../database/init.sql")), "/tmp/init.sql");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @BeforeAll
+    static void createSchema() throws Exception {
+        // Not through docker-entrypoint-initdb.d, whose psql stops at the first failing sample row
+        postgres.execInContainer("psql", "-U", "spoved", "-d", "db", "-f", "/tmp/init.sql");
+    }
+
+    @Autowired
+    private TicketTombstonePruner pruner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private void createTombstone(int ticketId, long changeVersion, String age) {
+        jdbcTemplate.update("INSERT INTO db.ticket_tombstones (ticket_id, deleted, change_version, created_at) " +
+                "VALUES (?, true, ?, now() - CAST(? AS interval))", ticketId, changeVersion, age);
+    }
+
+    @Test
+    public void testPrunesTombstonesOlderThanRetentionByDatabaseClock() {
+        createTombstone(901, 100, "40 days");
+        createTombstone(902, 200, "10 days");
+
+        pruner.pruneTombstones();
+
+        assertEquals(List.of(902), jdbcTemplate.queryForList(
+                "SELECT ticket_id FROM db.ticket_tombstones WHERE ticket_id > 900", Integer.class));
+        assertEquals(100L, jdbcTemplate.queryForObject("SELECT version FROM db.ticket_sync_horizon", Long.class));
+    }
+}
@@ -0,0 +1,64 @@
+package de.tum.aet.devops25.teamspoved.grpc;
+
+import java.util.List;
+
+import de.tum.aet.devops25.teamspoved.model.Role;
+import de.tum.aet.devops25.teamspoved.model.UserEntity;
+import de.tum.aet.devops25.teamspoved.service.UserService;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import net.devh.boot.grpc.server.service.GrpcService;
+
+/**
+ * gRPC endpoint for user lookups from other services (see src/main/proto/user_lookup.proto).
+ * Served on {@code grpc.server.port}, next to the REST API.
+ */
+@GrpcService
+public class UserLookupGrpcService extends UserLookupGrpc.UserLookupImplBase {
+    private final UserService userService;
+
+    public UserLookupGrpcService(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public void usersExist(UsersExistRequest request, StreamObserver<UsersExistResponse> responseObserver) {
+        List<Integer> existing = userService.getExistingUserIds(request.getUserIdsList());
+        responseObserver.onNext(UsersExistResponse.newBuilder()
+                .addAllExistingUserIds(existing)
+                .build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void getUsers(GetUsersRequest request, StreamObserver<User> responseObserver) {
+        String role = request.getRole().isEmpty() ? null : request.getRole();
+        if (role != null && !isRole(role)) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription("Unknown role: " + role).asRuntimeException());
+            return;
+        }
+
+        List<UserEntity> users = request.getUserIdsCount() > 0
+                ? userService.getUsersByIds(request.getUserIdsList()).stream()
+                        .filter(user -> role == null || user.getRole().name().equals(role))
+                        .toList()
+                : userService.getFilteredUsers(null, role, null);
+        for (UserEntity user : users) {
+            responseObserver.onNext(User.newBuilder()
+                    .setUserId(user.getUserId())
+                    .setName(user.getName())
+                    .setRole(user.getRole().name())
+                    .build());
+        }
+        responseObserver.onCompleted();
+    }
+
+    private static boolean isRole(String role) {
+        for (Role value : Role.values()) {
+            if (value.name().equals(role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
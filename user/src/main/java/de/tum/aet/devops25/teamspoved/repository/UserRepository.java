@@ -5,6 +5,7 @@ import de.tum.aet.devops25.teamspoved.model.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 
 public interface UserRepository extends JpaRepository<UserEntity, Integer> {
@@ -19,4 +20,9 @@ public interface UserRepository extends JpaRepository<UserEntity, Integer> {
         @Param("role") String role,
         @Param("name") String name
     );
+
+    @Query("SELECT u.userId FROM UserEntity u WHERE u.userId IN :userIds")
+    List<Integer> findExistingUserIds(@Param("userIds") Collection<Integer> userIds);
+
+    List<UserEntity> findByUserIdIn(Collection<Integer> userIds);
 }
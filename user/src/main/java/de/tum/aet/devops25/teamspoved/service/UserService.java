@@ -1,5 +1,6 @@
 package de.tum.aet.devops25.teamspoved.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -66,4 +67,40 @@ public class UserService {
         });
     }
 
+    /**
+     * Returns which of the given users exist, with a single query for the whole batch.
+     */
+    public List<Integer> getExistingUserIds(Collection<Integer> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return userRequestTimer.record(() -> {
+            try {
+                userRequestCounter.increment();
+                List<Integer> existing = userRepository.findExistingUserIds(userIds);
+                userFoundCounter.increment(existing.size());
+                return existing;
+            } catch (Exception e) {
+                userErrorCounter.increment();
+                throw e;
+            }
+        });
+    }
+
+    public List<UserEntity> getUsersByIds(Collection<Integer> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return userRequestTimer.record(() -> {
+            try {
+                userRequestCounter.increment();
+                List<UserEntity> users = userRepository.findByUserIdIn(userIds);
+                userFoundCounter.increment(users.size());
+                return users;
+            } catch (Exception e) {
+                userErrorCounter.increment();
+                throw e;
+            }
+        });
+    }
 }
@@ -0,0 +1,68 @@
+package de.tum.aet.devops25.teamspoved;
+
+import de.tum.aet.devops25.teamspoved.grpc.*;
+import de.tum.aet.devops25.teamspoved.model.*;
+import de.tum.aet.devops25.teamspoved.service.UserService;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class UserLookupGrpcServiceTest {
+    private UserService userService;
+    private UserLookupGrpcService grpcService;
+
+    @BeforeEach
+    public void setup() {
+        userService = mock(UserService.class);
+        grpcService = new UserLookupGrpcService(userService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUsersExistReturnsExistingIds() {
+        when(userService.getExistingUserIds(List.of(1, 2, 3))).thenReturn(List.of(1, 3));
+        StreamObserver<UsersExistResponse> observer = mock(StreamObserver.class);
+
+        grpcService.usersExist(UsersExistRequest.newBuilder().addAllUserIds(List.of(1, 2, 3)).build(), observer);
+
+        verify(observer).onNext(UsersExistResponse.newBuilder().addAllExistingUserIds(List.of(1, 3)).build());
+        verify(observer).onCompleted();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetUsersByRoleStreamsEveryUser() {
+        UserEntity worker = new UserEntity();
+        worker.setUserId(2);
+        worker.setName("Bob");
+        worker.setRole(Role.WORKER);
+        when(userService.getFilteredUsers(null, "WORKER", null)).thenReturn(List.of(worker));
+        StreamObserver<User> observer = mock(StreamObserver.class);
+
+        grpcService.getUsers(GetUsersRequest.newBuilder().setRole("WORKER").build(), observer);
+
+        verify(observer).onNext(User.newBuilder().setUserId(2).setName("Bob").setRole("WORKER").build());
+        verify(observer).onCompleted();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetUsersRejectsUnknownRole() {
+        StreamObserver<User> observer = mock(StreamObserver.class);
+
+        grpcService.getUsers(GetUsersRequest.newBuilder().setRole("ADMIN").build(), observer);
+
+        verify(observer).onError(any(StatusRuntimeException.class));
+        verify(observer, never()).onCompleted();
+        verifyNoInteractions(userService);
+        assertEquals(0, mockingDetails(observer).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("onNext")).count());
+    }
+}